@@ -0,0 +1,101 @@
+package com.example.sqlgenerator.benchmark;
+
+import com.example.sqlgenerator.config.GenerationExecutorConfig;
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.SQLServerDialect;
+import com.example.sqlgenerator.dialect.SQLiteDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.parser.SQLParserService;
+import com.example.sqlgenerator.service.DdlCache;
+import com.example.sqlgenerator.service.DdlScriptService;
+import com.example.sqlgenerator.service.GenerationMetrics;
+import com.example.sqlgenerator.service.SQLGeneratorService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Wires just the generation beans, without the web layer or JPA
+final class BenchmarkContext {
+
+    static final int COLUMNS_PER_TABLE = 20;
+
+    private BenchmarkContext() {
+    }
+
+    static AnnotationConfigApplicationContext create() {
+        LoggingSystem.get(BenchmarkContext.class.getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        // Same String -> Duration etc. conversions a Boot application gets for @Value fields
+        context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance());
+        // Measure generation itself, not DDL cache hits
+        context.getEnvironment().getPropertySources().addFirst(
+                new MapPropertySource("benchmark", Map.of("sql-generator.cache.enabled", "false")));
+        context.registerBean(SimpleMeterRegistry.class);
+        context.register(TypeMappingProperties.class, TypeMapping.class,
+                MySQLDialect.class, PostgreSQLDialect.class, SQLiteDialect.class, SQLServerDialect.class,
+                SqlDialectRegistry.class, GenerationMetrics.class, DdlCache.class, DdlScriptService.class,
+                SQLGeneratorService.class, SQLParserService.class, GenerationExecutorConfig.class);
+        context.refresh();
+        return context;
+    }
+
+    // totalColumns spread over tables of COLUMNS_PER_TABLE columns
+    static List<Table> tables(int totalColumns) {
+        List<Table> tables = new ArrayList<>();
+        for (int remaining = totalColumns, t = 0; remaining > 0; remaining -= COLUMNS_PER_TABLE, t++) {
+            tables.add(table("table_" + t, Math.min(COLUMNS_PER_TABLE, remaining)));
+        }
+        return tables;
+    }
+
+    static Table table(String name, int columnCount) {
+        Table table = new Table();
+        table.setName(name);
+        List<Column> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            Column column = new Column();
+            column.setName("column_" + i);
+            column.setType(i == 0 ? "entier" : (i % 3 == 0 ? "date" : "texte"));
+            column.setPrimaryKey(i == 0);
+            column.setAutoIncrement(i == 0);
+            column.setNullable(i % 2 == 1);
+            column.setUnique(i % 5 == 4);
+            columns.add(column);
+        }
+        table.setColumns(columns);
+        return table;
+    }
+
+    static TableDefinition definition(Table table) {
+        TableDefinition definition = new TableDefinition();
+        definition.setTableName(table.getName());
+        List<ColumnDefinition> columns = new ArrayList<>(table.getColumns().size());
+        for (Column col : table.getColumns()) {
+            ColumnDefinition column = new ColumnDefinition();
+            column.setName(col.getName());
+            column.setType(col.getType());
+            column.setPrimaryKey(col.isPrimaryKey());
+            column.setAutoIncrement(col.isAutoIncrement());
+            column.setNullable(col.isNullable());
+            column.setUnique(col.isUnique());
+            columns.add(column);
+        }
+        definition.setColumns(columns);
+        return definition;
+    }
+}
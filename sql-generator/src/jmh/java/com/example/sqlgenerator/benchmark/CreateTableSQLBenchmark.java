@@ -0,0 +1,59 @@
+package com.example.sqlgenerator.benchmark;
+
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.service.SQLGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SQLGeneratorService.generateCreateTableSQL, the /generate/simple path
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class CreateTableSQLBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int columns;
+
+    private AnnotationConfigApplicationContext context;
+    private SQLGeneratorService sqlGeneratorService;
+    private List<TableDefinition> definitions;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        sqlGeneratorService = context.getBean(SQLGeneratorService.class);
+        definitions = BenchmarkContext.tables(columns).stream()
+                .map(BenchmarkContext::definition)
+                .toList();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void generateCreateTableSQL(Blackhole blackhole) {
+        for (TableDefinition definition : definitions) {
+            blackhole.consume(sqlGeneratorService.generateCreateTableSQL(definition));
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.sqlgenerator.benchmark;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.service.DdlScriptService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Full /generate script (CREATE TABLEs plus relations) through each SqlDialect
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class DialectGenerationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int columns;
+
+    @Param({"MySQL", "PostgreSQL", "SQLite", "SQL Server"})
+    private String dialect;
+
+    private AnnotationConfigApplicationContext context;
+    private DdlScriptService ddlScriptService;
+    private SqlDialect sqlDialect;
+    private List<Table> tables;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        ddlScriptService = context.getBean(DdlScriptService.class);
+        sqlDialect = context.getBean(SqlDialectRegistry.class).resolve(dialect);
+        tables = BenchmarkContext.tables(columns);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String generateScript() {
+        return ddlScriptService.generate(tables, sqlDialect);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.sqlgenerator.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Closed-loop load test for POST /api/sql/generate against a running server: every client keeps
+ * one request in flight on its own keep-alive connection and sends the next as soon as the
+ * response is read. Not a JMH benchmark, start it after mvn -Pbenchmark compile with:
+ * java -cp target/classes com.example.sqlgenerator.benchmark.GenerateLoadTest [clients] [seconds] [url]
+ * Each client needs one file descriptor here and one on the server, so raise ulimit -n accordingly.
+ */
+public final class GenerateLoadTest {
+
+    private static final String BODY = "{\"dialect\":\"MySQL\",\"tables\":[{\"name\":\"users\",\"columns\":["
+            + "{\"name\":\"id\",\"type\":\"INT\",\"primaryKey\":true,\"autoIncrement\":true},"
+            + "{\"name\":\"email\",\"type\":\"VARCHAR(255)\",\"nullable\":false,\"unique\":true},"
+            + "{\"name\":\"created_at\",\"type\":\"TIMESTAMP\",\"nullable\":false}]}]}";
+
+    // Latencies above this land in the last bucket
+    private static final int MAX_MILLIS = 60_000;
+
+    private final HttpClient client;
+    private final HttpRequest request;
+    private final long warmupEnd;
+    private final long end;
+    private final AtomicLong[] histogram = new AtomicLong[MAX_MILLIS + 1];
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+    private final CountDownLatch finished;
+
+    private GenerateLoadTest(HttpClient client, URI uri, int clients, Duration warmup, Duration duration) {
+        this.client = client;
+        this.request = HttpRequest.newBuilder(uri)
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(MAX_MILLIS / 1000))
+                .POST(HttpRequest.BodyPublishers.ofString(BODY, StandardCharsets.UTF_8))
+                .build();
+        this.warmupEnd = System.nanoTime() + warmup.toNanos();
+        this.end = warmupEnd + duration.toNanos();
+        this.finished = new CountDownLatch(clients);
+        Arrays.setAll(histogram, i -> new AtomicLong());
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        URI uri = URI.create(args.length > 2 ? args[2] : "http://localhost:8080/api/sql/generate");
+
+        // The client itself is asynchronous, a few threads are enough to drive it
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(30))
+                .executor(executor)
+                .build();
+
+        GenerateLoadTest test = new GenerateLoadTest(client, uri, clients, Duration.ofSeconds(10), Duration.ofSeconds(seconds));
+        for (int i = 0; i < clients; i++) {
+            test.next();
+        }
+        test.finished.await();
+        executor.shutdownNow();
+        test.report(clients, seconds);
+    }
+
+    private void next() {
+        long start = System.nanoTime();
+        if (start - end >= 0) {
+            finished.countDown();
+            return;
+        }
+        client.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray()).whenComplete((response, failure) -> {
+            long now = System.nanoTime();
+            if (now - warmupEnd >= 0 && now - end < 0) {
+                if (failure != null || response.statusCode() != 200) {
+                    errors.incrementAndGet();
+                    firstError.compareAndSet(null, failure != null ? failure.toString() : "HTTP " + response.statusCode());
+                } else {
+                    completed.incrementAndGet();
+                    histogram[(int) Math.min(MAX_MILLIS, (now - start) / 1_000_000)].incrementAndGet();
+                }
+            }
+            next();
+        });
+    }
+
+    private void report(int clients, int seconds) {
+        long count = completed.get();
+        System.out.printf("clients=%d duration=%ds requests=%d errors=%d throughput=%.0f req/s p50=%dms p99=%dms p99.9=%dms max=%dms%n",
+                clients, seconds, count, errors.get(), count / (double) seconds,
+                percentile(count, 0.50), percentile(count, 0.99), percentile(count, 0.999), percentile(count, 1.0));
+        if (firstError.get() != null) {
+            System.out.println("first error: " + firstError.get());
+        }
+    }
+
+    private int percentile(long count, double quantile) {
+        long rank = (long) Math.ceil(count * quantile);
+        long seen = 0;
+        for (int millis = 0; millis <= MAX_MILLIS; millis++) {
+            seen += histogram[millis].get();
+            if (seen >= rank && seen > 0) {
+                return millis;
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.sqlgenerator.benchmark;
+
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.parser.SQLParserService;
+import com.example.sqlgenerator.service.SQLGeneratorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+// SQLParserService.validateSQL on one generated CREATE TABLE of the given width
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+public class ValidationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int columns;
+
+    private AnnotationConfigApplicationContext context;
+    private SQLParserService sqlParserService;
+    private String sql;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkContext.create();
+        sqlParserService = context.getBean(SQLParserService.class);
+
+        Table table = BenchmarkContext.table("wide_table", columns);
+        // Stick to INT/VARCHAR columns without AUTO_INCREMENT so the statement is in the grammar
+        for (Column column : table.getColumns()) {
+            column.setAutoIncrement(false);
+            if ("date".equals(column.getType())) {
+                column.setType("texte");
+            }
+        }
+        sql = context.getBean(SQLGeneratorService.class)
+                .generateCreateTableSQL(BenchmarkContext.definition(table));
+        sqlParserService.validateSQL(sql);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void validateSQL() {
+        sqlParserService.validateSQL(sql);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.sqlgenerator;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.dto.ExportResult;
+import com.example.sqlgenerator.dto.TableRequest;
+import com.example.sqlgenerator.service.SchemaExportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Exports a schema JSON (same body as POST /api/sql/generate) to .sql files without starting the web server.
+ * <pre>
+ * java -Dloader.main=com.example.sqlgenerator.SqlExportCli -cp sql-generator.jar \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher schema.json [output-dir] [--per-table] [--gzip]
+ * </pre>
+ */
+public class SqlExportCli {
+
+	public static void main(String[] args) throws Exception {
+		Path input = null;
+		Path output = null;
+		boolean perTable = false;
+		boolean gzip = false;
+
+		for (String arg : args) {
+			if (arg.equals("--per-table")) {
+				perTable = true;
+			} else if (arg.equals("--gzip")) {
+				gzip = true;
+			} else if (arg.startsWith("--")) {
+				// Left for Spring, e.g. --sql-generator.export.directory=...
+			} else if (input == null) {
+				input = Paths.get(arg);
+			} else {
+				output = Paths.get(arg);
+			}
+		}
+
+		if (input == null) {
+			System.err.println("Usage: SqlExportCli <schema.json> [output-dir] [--per-table] [--gzip]");
+			System.exit(2);
+		}
+
+		try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SqlGeneratorApplication.class)
+				.web(WebApplicationType.NONE)
+				.logStartupInfo(false)
+				.run(args)) {
+
+			TableRequest request;
+			try (InputStream in = Files.newInputStream(input)) {
+				request = context.getBean(ObjectMapper.class).readValue(in, TableRequest.class);
+			}
+			if (request.getTables() == null || request.getTables().isEmpty()) {
+				System.err.println("No tables provided in " + input);
+				System.exit(1);
+			}
+
+			SchemaExportService exportService = context.getBean(SchemaExportService.class);
+			SqlDialect dialect = context.getBean(SqlDialectRegistry.class).resolve(request.getDialect());
+			ExportResult result = output != null
+					? exportService.export(request.getTables(), dialect, perTable, gzip, output)
+					: exportService.export(request.getTables(), dialect, perTable, gzip);
+
+			System.out.println(result.getFiles().size() + " file(s), " + result.getBytes() + " bytes written to "
+					+ result.getDirectory());
+		}
+	}
+
+}
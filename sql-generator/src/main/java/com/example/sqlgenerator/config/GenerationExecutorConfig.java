@@ -0,0 +1,58 @@
+package com.example.sqlgenerator.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.ForkJoinPool;
+
+@Configuration
+public class GenerationExecutorConfig {
+
+    // Runs one task per schema; the concurrency limit blocks submitters once it is reached
+    @Bean
+    public AsyncTaskExecutor batchGenerationExecutor(
+            @Value("${sql-generator.batch.max-parallelism:8}") int maxParallelism) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sql-batch-");
+        executor.setConcurrencyLimit(Math.max(1, maxParallelism));
+        if (Runtime.version().feature() >= 21) {
+            executor.setVirtualThreads(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Runs StreamingResponseBody writers (/generate, /generate/stream, /generate/ingest). The default is
+     * Spring MVC's own: a new platform thread per response. With spring.threads.virtual.enabled on JDK 21+
+     * those become virtual threads; on older JDKs sql-generator.async.pool-size caps them with a pool.
+     */
+    @Bean
+    public AsyncTaskExecutor mvcAsyncExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${sql-generator.async.pool-size:0}") int poolSize) {
+        if (virtualThreads && Runtime.version().feature() >= 21) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("sql-mvc-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        if (poolSize > 0) {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setThreadNamePrefix("sql-mvc-");
+            executor.setCorePoolSize(poolSize);
+            executor.setMaxPoolSize(poolSize);
+            executor.setQueueCapacity(Integer.MAX_VALUE);
+            executor.initialize();
+            return executor;
+        }
+        return new SimpleAsyncTaskExecutor("MvcAsync");
+    }
+
+    // Splits the tables of one large request in parallel mode, see DdlScriptService
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool tableGenerationPool(
+            @Value("${sql-generator.parallel.parallelism:0}") int parallelism) {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.sqlgenerator.config;
+
+import com.example.sqlgenerator.controller.ReactiveSQLGeneratorHandler;
+import com.example.sqlgenerator.dto.ValidationError;
+import com.example.sqlgenerator.exception.SchemaValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServletHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+import static org.springframework.web.reactive.function.server.RequestPredicates.contentType;
+
+/**
+ * Serves the WebFlux endpoints under /api/reactive on the same Tomcat as Spring MVC. The adapter
+ * uses Servlet non-blocking I/O, so request reads and response writes follow the subscriber's
+ * demand instead of holding a thread per request.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ReactiveRoutesConfig {
+
+    private static final String PATH = "/api/reactive";
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveRoutes(ReactiveSQLGeneratorHandler handler) {
+        return RouterFunctions.route(
+                POST("/sql/generate").and(contentType(MediaType.APPLICATION_NDJSON)), handler::generate);
+    }
+
+    @Bean
+    public ServletRegistrationBean<ServletHttpHandlerAdapter> reactiveServlet(
+            RouterFunction<ServerResponse> reactiveRoutes, ObjectMapper objectMapper) {
+        // Same ObjectMapper as the MVC endpoints, so tables bind the same way
+        HandlerStrategies strategies = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .exceptionHandler(ReactiveRoutesConfig::handleSchemaError)
+                .build();
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(reactiveRoutes, strategies);
+
+        ServletRegistrationBean<ServletHttpHandlerAdapter> registration =
+                new ServletRegistrationBean<>(new ServletHttpHandlerAdapter(httpHandler), PATH + "/*");
+        registration.setName("reactiveServlet");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    // A bad first table fails before anything is written, so it can still be a 400 like the MVC endpoints
+    private static Mono<Void> handleSchemaError(ServerWebExchange exchange, Throwable ex) {
+        ServerHttpResponse response = exchange.getResponse();
+        if (!(ex instanceof SchemaValidationException schemaError) || response.isCommitted()) {
+            return Mono.error(ex);
+        }
+        StringBuilder body = new StringBuilder("Error: ").append(schemaError.getMessage()).append('\n');
+        for (ValidationError error : schemaError.getErrors()) {
+            body.append(error.getCode()).append(' ').append(error.getPath())
+                    .append(": ").append(error.getMessage()).append('\n');
+        }
+        response.setStatusCode(HttpStatus.BAD_REQUEST);
+        response.getHeaders().setContentType(new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8));
+        return response.writeWith(Mono.fromSupplier(
+                () -> response.bufferFactory().wrap(body.toString().getBytes(StandardCharsets.UTF_8))));
+    }
+}
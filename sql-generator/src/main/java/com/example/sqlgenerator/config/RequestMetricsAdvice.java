@@ -0,0 +1,76 @@
+package com.example.sqlgenerator.config;
+
+import com.example.sqlgenerator.dto.TableRequest;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.service.GenerationMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+import java.util.List;
+
+// Times Jackson binding of every @RequestBody and records the size of the bound schemas
+@ControllerAdvice
+public class RequestMetricsAdvice extends RequestBodyAdviceAdapter {
+
+    private static final String BIND_START = RequestMetricsAdvice.class.getName() + ".bindStart";
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(BIND_START, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Object start = RequestContextHolder.currentRequestAttributes()
+                .getAttribute(BIND_START, RequestAttributes.SCOPE_REQUEST);
+        if (start != null) {
+            metrics.record(GenerationMetrics.Stage.BIND, (Long) start);
+        }
+
+        if (body instanceof TableRequest request) {
+            record(request);
+        } else if (body instanceof List<?> list) {
+            for (Object item : list) {
+                if (item instanceof TableRequest request) {
+                    record(request);
+                }
+            }
+        }
+        return body;
+    }
+
+    private void record(TableRequest request) {
+        List<Table> tables = request.getTables();
+        if (tables == null) {
+            return;
+        }
+        long columns = 0;
+        for (Table table : tables) {
+            // Null entries are reported by SchemaValidator, not here
+            if (table != null && table.getColumns() != null) {
+                columns += table.getColumns().size();
+            }
+        }
+        metrics.recordRequest(tables.size(), columns);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.sqlgenerator.config;
+
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dto.TableRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.lang.reflect.Type;
+
+// Interns column types right after Jackson binds a TableRequest, so generators only see type ids
+@ControllerAdvice
+public class TypeResolvingRequestBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Autowired
+    private TypeMapping typeMapping;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return TableRequest.class.equals(targetType);
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter,
+                                Type targetType, Class<? extends HttpMessageConverter<?>> converterType) {
+        typeMapping.resolve(((TableRequest) body).getTables());
+        return body;
+    }
+}
@@ -1,14 +1,49 @@
 package com.example.sqlgenerator.config;
 
+import com.example.sqlgenerator.io.Utf8SinkHttpMessageConverter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
+import java.time.Duration;
+import java.util.List;
+
 @Configuration
 @EnableWebMvc
+// Skipped when the context runs without a web server, e.g. SqlExportCli
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class WebConfig implements WebMvcConfigurer {
 
+    @Autowired
+    @Qualifier("mvcAsyncExecutor")
+    private AsyncTaskExecutor mvcAsyncExecutor;
+
+    // 0 keeps the servlet container's default (30s on Tomcat)
+    @Value("${sql-generator.async.timeout:0}")
+    private Duration asyncTimeout;
+
+    // @EnableWebMvc turns off Boot's spring.mvc.async.* handling, so it is configured here
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+        if (!asyncTimeout.isZero()) {
+            configurer.setDefaultTimeout(asyncTimeout.toMillis());
+        }
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new Utf8SinkHttpMessageConverter());
+    }
+
     @Override
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**")
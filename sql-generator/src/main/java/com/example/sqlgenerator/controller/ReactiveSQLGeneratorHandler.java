@@ -0,0 +1,40 @@
+package com.example.sqlgenerator.controller;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.service.ReactiveGenerationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+// WebFlux handlers routed by ReactiveRoutesConfig, next to the MVC endpoints of SQLGeneratorController
+@Component
+public class ReactiveSQLGeneratorHandler {
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    @Autowired
+    private SqlDialectRegistry dialectRegistry;
+
+    @Autowired
+    private ReactiveGenerationService reactiveGenerationService;
+
+    // Body is NDJSON, one Table per line; the dialect comes from the query string
+    public Mono<ServerResponse> generate(ServerRequest request) {
+        SqlDialect dialect = dialectRegistry.resolve(request.queryParam("dialect").orElse(null));
+        Flux<DataBuffer> sql = reactiveGenerationService.generate(request.bodyToFlux(Table.class), dialect,
+                request.exchange().getResponse().bufferFactory());
+
+        return ServerResponse.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(sql, DataBuffer.class);
+    }
+}
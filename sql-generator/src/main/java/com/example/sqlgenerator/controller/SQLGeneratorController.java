@@ -1,19 +1,45 @@
 package com.example.sqlgenerator.controller;
 
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
 import com.example.sqlgenerator.dto.TableDefinition;
+import com.example.sqlgenerator.dto.BatchItemResult;
+import com.example.sqlgenerator.service.BatchGenerationService;
+import com.example.sqlgenerator.dto.SchemaDiffRequest;
+import com.example.sqlgenerator.service.DdlImportService;
+import com.example.sqlgenerator.service.DryRunService;
+import com.example.sqlgenerator.service.GenerationMetrics;
+import com.example.sqlgenerator.service.IndexAdvisor;
+import com.example.sqlgenerator.service.JavaCCSQLGeneratorService;
+import com.example.sqlgenerator.service.DdlScriptService;
+import com.example.sqlgenerator.service.SchemaDiffService;
+import com.example.sqlgenerator.service.SchemaExportService;
+import com.example.sqlgenerator.service.SchemaValidator;
+import com.example.sqlgenerator.service.SeedDataService;
 import com.example.sqlgenerator.service.SQLGeneratorService;
+import com.example.sqlgenerator.service.StreamingIngestService;
+import com.example.sqlgenerator.exception.InvalidRequestException;
 import com.example.sqlgenerator.exception.SQLParseException;
+import com.example.sqlgenerator.io.ByteBufferPool;
+import com.example.sqlgenerator.io.Utf8Sink;
 import com.example.sqlgenerator.dto.ErrorResponse;
+import com.example.sqlgenerator.dto.SeedRequest;
 import com.example.sqlgenerator.dto.TableRequest;
 import com.example.sqlgenerator.dto.ColumnRequest;
 import com.example.sqlgenerator.model.ColumnDefinition;
-import com.example.sqlgenerator.model.ForeignKeyDefinition;
 import com.example.sqlgenerator.model.Table;
-import com.example.sqlgenerator.model.Column;
 import com.example.sqlgenerator.model.TableRelation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.sql.SQLException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.ArrayList;
@@ -24,283 +50,341 @@ import org.springframework.http.MediaType;
 @CrossOrigin(origins = "http://localhost:4200")
 public class SQLGeneratorController {
 
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private static final Logger log = LoggerFactory.getLogger(SQLGeneratorController.class);
+
     @Autowired
     private SQLGeneratorService sqlGeneratorService;
 
-    @PostMapping(value = "/generate/simple", produces = MediaType.TEXT_PLAIN_VALUE)
+    @Autowired
+    private GenerationMetrics metrics;
+
+    @Autowired
+    private ByteBufferPool byteBufferPool;
+
+    @Autowired
+    private SqlDialectRegistry dialectRegistry;
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private BatchGenerationService batchGenerationService;
+
+    @Autowired
+    private SchemaDiffService schemaDiffService;
+
+    @Autowired
+    private DdlImportService ddlImportService;
+
+    @Autowired
+    private SchemaExportService schemaExportService;
+
+    @Autowired
+    private StreamingIngestService streamingIngestService;
+
+    @Autowired
+    private SchemaValidator schemaValidator;
+
+    @Autowired
+    private SeedDataService seedDataService;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private DryRunService dryRunService;
+
+    @Autowired
+    private JavaCCSQLGeneratorService javaCCSQLGeneratorService;
+
+    // SQL as text; errors are text too, or an ErrorResponse for clients that only accept JSON
+    @PostMapping(value = "/generate/simple", produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE})
     public ResponseEntity<String> generateSimpleSQL(@RequestBody TableRequest request) {
+        requireTables(request.getTables());
+        schemaValidator.validate(request.getTables());
         try {
-            if (request.getTables() == null || request.getTables().isEmpty()) {
-                return ResponseEntity.badRequest().body("Error: No tables provided");
-            }
-
-            StringBuilder fullSql = new StringBuilder();
-            for (Table table : request.getTables()) {
-                com.example.sqlgenerator.model.TableDefinition modelDef = convertTableToModel(table);
-                String sql = sqlGeneratorService.generateCreateTableSQL(modelDef);
-                fullSql.append(sql).append("\n\n");
+            if (request.isOrdered()) {
+                // Relations become inline FOREIGN KEY clauses, so the tables have to come in dependency order
+                List<com.example.sqlgenerator.model.TableDefinition> definitions = new ArrayList<>();
+                for (Table table : request.getTables()) {
+                    com.example.sqlgenerator.model.TableDefinition modelDef = sqlGeneratorService.toTableDefinition(table);
+                    if (table.getRelations() != null) {
+                        for (TableRelation relation : table.getRelations()) {
+                            modelDef.getForeignKeys().add(sqlGeneratorService.toForeignKeyDefinition(relation));
+                        }
+                    }
+                    definitions.add(modelDef);
+                }
+                return ResponseEntity.ok().contentType(TEXT_PLAIN_UTF8)
+                        .body(sqlGeneratorService.generateOrderedSQL(definitions));
             }
 
-            return ResponseEntity.ok(fullSql.toString());
+            return ResponseEntity.ok().contentType(TEXT_PLAIN_UTF8)
+                    .body(sqlGeneratorService.generateSimpleSQL(request.getTables()));
         } catch (Exception e) {
-            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+            log.warn("Simple SQL generation failed", e);
+            throw new InvalidRequestException(e.getMessage(), e);
         }
     }
 
-    @PostMapping(value = "/generate", produces = MediaType.TEXT_PLAIN_VALUE)
-    public ResponseEntity<String> generateSQL(@RequestBody TableRequest request) {
+    // DDL in the subset POST /import reads back, relations inline; sampled re-parsing checks the emitter
+    @PostMapping(value = "/generate/portable", produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<String> generatePortableSQL(@RequestBody TableRequest request) {
+        requireTables(request.getTables());
+        schemaValidator.validate(request.getTables());
         try {
-            if (request.getTables() == null || request.getTables().isEmpty()) {
-                return ResponseEntity.badRequest().body("Error: No tables provided");
+            StringBuilder sql = new StringBuilder();
+            for (Table table : request.getTables()) {
+                com.example.sqlgenerator.model.TableDefinition definition = sqlGeneratorService.toTableDefinition(table);
+                if (table.getRelations() != null) {
+                    for (TableRelation relation : table.getRelations()) {
+                        definition.getForeignKeys().add(sqlGeneratorService.toForeignKeyDefinition(relation));
+                    }
+                }
+                sql.append(javaCCSQLGeneratorService.generateSQL(definition)).append('\n');
             }
-
-            String dialect = request.getDialect() != null ? request.getDialect() : "MySQL";
-            String sql = generateSQLBasedOnDialect(request.getTables(), dialect);
-
-            return ResponseEntity.ok()
-                    .contentType(MediaType.TEXT_PLAIN)
-                    .body(sql);
+            return ResponseEntity.ok().contentType(TEXT_PLAIN_UTF8).body(sql.toString());
         } catch (Exception e) {
-            e.printStackTrace();
-            return ResponseEntity.badRequest().body("Error: " + e.getMessage());
+            log.warn("Portable SQL generation failed", e);
+            throw new InvalidRequestException(e.getMessage(), e);
         }
     }
 
-    private String generateSQLBasedOnDialect(List<Table> tables, String dialect) {
-        StringBuilder sql = new StringBuilder();
-
-        for (Table table : tables) {
-            switch (dialect) {
-                case "MySQL":
-                    sql.append(generateMySQLTable(table));
-                    break;
-                case "PostgreSQL":
-                    sql.append(generatePostgreSQLTable(table));
-                    break;
-                case "SQLite":
-                    sql.append(generateSQLiteTable(table));
-                    break;
-                case "SQL Server":
-                    sql.append(generateSQLServerTable(table));
-                    break;
-                default:
-                    sql.append(generateMySQLTable(table));
-            }
-            sql.append("\n\n");
-        }
+    @PostMapping(value = "/generate", produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> generateSQL(@RequestBody TableRequest request) {
+        requireTables(request.getTables());
+        SqlDialect dialect = dialectRegistry.resolve(request.getDialect());
+        schemaValidator.validate(request.getTables(), dialect);
 
-        for (Table table : tables) {
-            if (table.getRelations() != null) {
-                sql.append(generateRelations(table, dialect));
+        // Generated straight into pooled UTF-8 buffers; they are only written out once the
+        // whole script succeeded, so errors can still turn into a 400. Utf8SinkHttpMessageConverter
+        // writes them on the request thread and returns them to the pool.
+        Utf8Sink sql = Utf8Sink.buffered(byteBufferPool);
+        try {
+            ddlScriptService.write(request.getTables(), dialect, request.isParallel(), request.isOrdered(), sql);
+            if (request.isAdviseIndexes()) {
+                indexAdvisor.write(indexAdvisor.plan(request.getTables(), dialect), sql);
             }
+            sql.flush();
+            metrics.recordBytes(sql.size());
+        } catch (Exception e) {
+            sql.close();
+            log.warn("SQL generation failed", e);
+            throw new InvalidRequestException(e.getMessage(), e);
         }
 
-        return sql.toString();
-    }
-
-    private com.example.sqlgenerator.model.TableDefinition convertTableToModel(Table table) {
-        com.example.sqlgenerator.model.TableDefinition definition = new com.example.sqlgenerator.model.TableDefinition();
-        definition.setTableName(table.getName());
-
-        List<ColumnDefinition> columns = new ArrayList<>();
-        List<ForeignKeyDefinition> foreignKeys = new ArrayList<>();
-
-        // Convert columns and detect foreign keys
-        for (Column col : table.getColumns()) {
-            ColumnDefinition column = new ColumnDefinition();
-            column.setName(col.getName());
-            column.setType(col.getType());
-            column.setPrimaryKey(col.isPrimaryKey());
-            column.setAutoIncrement(col.isAutoIncrement());
-            column.setNullable(col.isNullable());
-            column.setUnique(col.isUnique());
-            column.setDefaultValue(col.getDefaultValue());
-            columns.add(column);
-        }
-
-        definition.setColumns(columns);
-        definition.setForeignKeys(foreignKeys);
-        return definition;
-    }
-
-    private ColumnDefinition convertColumnRequest(ColumnRequest request) {
-        ColumnDefinition column = new ColumnDefinition();
-        column.setName(request.getName());
-        column.setType(request.getType());
-        column.setPrimaryKey(request.isPrimaryKey());
-        column.setAutoIncrement(request.isAutoIncrement());
-        column.setNullable(!request.isRequired());
-        column.setUnique(request.isUnique());
-        column.setDefaultValue(request.getDefaultValue());
-        return column;
+        return ResponseEntity.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(sql);
     }
 
-    private String generateMySQLTable(Table table) {
-        try {
-            StringBuilder sql = new StringBuilder();
-            sql.append("CREATE TABLE ").append(table.getName()).append(" (\n");
-
-            // Add columns
-            for (int i = 0; i < table.getColumns().size(); i++) {
-                Column column = table.getColumns().get(i);
-                sql.append("  ").append(generateColumnDefinition(column, "MySQL"));
-                if (i < table.getColumns().size() - 1) {
-                    sql.append(",");
+    @PostMapping(value = "/generate/stream", produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<StreamingResponseBody> generateSQLStream(@RequestBody TableRequest request) {
+        requireTables(request.getTables());
+
+        List<Table> tables = request.getTables();
+        SqlDialect dialect = dialectRegistry.resolve(request.getDialect());
+        schemaValidator.validate(tables, dialect);
+        boolean parallel = request.isParallel();
+        boolean ordered = request.isOrdered();
+        boolean adviseIndexes = request.isAdviseIndexes();
+
+        // Each statement is encoded into one pooled buffer that is drained to the
+        // response whenever it fills, so memory does not grow with the size of the schema
+        StreamingResponseBody body = out -> {
+            try (Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                ddlScriptService.write(tables, dialect, parallel, ordered, sink);
+                if (adviseIndexes) {
+                    indexAdvisor.write(indexAdvisor.plan(tables, dialect), sink);
                 }
-                sql.append("\n");
+                sink.flush();
+                metrics.recordBytes(sink.size());
             }
+        };
 
-            sql.append(");");
-            return sql.toString();
-        } catch (Exception e) {
-            e.printStackTrace(); // Debug log
-            throw e;
-        }
+        return ResponseEntity.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(body);
     }
 
-    private String generatePostgreSQLTable(Table table) {
-        // Similar to MySQL but with PostgreSQL syntax
-        return generateMySQLTable(table); // For now, using MySQL syntax
+    // Same body as /generate, but tables are generated one by one while the JSON is still being read
+    @PostMapping(value = "/generate/ingest", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateSQLIngest(InputStream json,
+                                                                   @RequestParam(required = false) String dialect) {
+        StreamingResponseBody body = out -> {
+            try (Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                streamingIngestService.generate(json, dialect, sink);
+                sink.flush();
+                metrics.recordBytes(sink.size());
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(body);
     }
 
-    private String generateSQLiteTable(Table table) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("CREATE TABLE ").append(table.getName()).append(" (\n");
+    // Rows for the tables of the body, streamed; CSV (the SQL Server default) only works with /seed/export
+    @PostMapping(value = "/seed", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> generateSeedData(@RequestBody SeedRequest request) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            return ResponseEntity.badRequest().body(error("No tables provided"));
+        }
+        schemaValidator.validate(request.getTables());
 
-        // Add columns
-        for (int i = 0; i < table.getColumns().size(); i++) {
-            Column column = table.getColumns().get(i);
-            sql.append("  ").append(generateSQLiteColumnDefinition(column));
-            if (i < table.getColumns().size() - 1) {
-                sql.append(",");
+        SeedDataService.SeedPlan plan;
+        try {
+            plan = seedDataService.plan(request, dialectRegistry.resolve(request.getDialect()));
+            if (plan.getFormat() == SeedDataService.Format.CSV) {
+                return ResponseEntity.badRequest().body(error("CSV is written one file per table, use /api/sql/seed/export"));
             }
-            sql.append("\n");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(error(e.getMessage()));
         }
 
-        sql.append(");");
-        return sql.toString();
+        StreamingResponseBody body = out -> {
+            try (Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                seedDataService.write(plan, sink);
+                sink.flush();
+                metrics.recordBytes(sink.size());
+            }
+        };
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(body);
     }
 
-    private String generateSQLiteColumnDefinition(Column column) {
-        StringBuilder def = new StringBuilder();
-        def.append(column.getName()).append(" ");
-
-        // SQLite specific data types
-        switch (column.getType().toLowerCase()) {
-            case "entier":
-                def.append("INTEGER");
-                break;
-            case "texte":
-                def.append("TEXT");
-                break;
-            case "date":
-                def.append("DATETIME");
-                break;
-            default:
-                def.append("TEXT");
+    @PostMapping(value = "/seed/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> exportSeedData(@RequestBody SeedRequest request,
+                                            @RequestParam(defaultValue = "false") boolean gzip) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", "No tables provided"));
         }
+        schemaValidator.validate(request.getTables());
 
-        // SQLite specific constraints
-        if (column.isPrimaryKey()) {
-            def.append(" PRIMARY KEY");
-            if (column.isAutoIncrement()) {
-                def.append(" AUTOINCREMENT");
-            }
-        }
-        if (!column.isNullable()) {
-            def.append(" NOT NULL");
-        }
-        if (column.isUnique()) {
-            def.append(" UNIQUE");
+        try {
+            SeedDataService.SeedPlan plan = seedDataService.plan(request, dialectRegistry.resolve(request.getDialect()));
+            return ResponseEntity.ok(schemaExportService.exportSeed(plan, gzip));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", e.getMessage()));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new ErrorResponse("Export failed", e.getMessage()));
         }
-        if (column.getDefaultValue() != null && !column.getDefaultValue().isEmpty()) {
-            def.append(" DEFAULT ").append(column.getDefaultValue());
+    }
+
+    // Missing foreign key and query pattern indexes as JSON, with the declared indexes they make redundant
+    @PostMapping(value = "/indexes", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> adviseIndexes(@RequestBody TableRequest request) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", "No tables provided"));
         }
 
-        return def.toString();
-    }
+        schemaValidator.validate(request.getTables());
 
-    private String generateSQLServerTable(Table table) {
-        // Similar to MySQL but with SQL Server syntax
-        return generateMySQLTable(table); // For now, using MySQL syntax
+        SqlDialect dialect = dialectRegistry.resolve(request.getDialect());
+        return ResponseEntity.ok(indexAdvisor.plan(request.getTables(), dialect));
     }
 
-    private String generateRelations(Table table, String dialect) {
-        if (table.getRelations() == null || table.getRelations().isEmpty()) {
-            return "";
+    // Applies the /generate script to a throwaway H2 database and reports every statement's time or error
+    @PostMapping(value = "/dry-run", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> dryRun(@RequestBody TableRequest request) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", "No tables provided"));
         }
 
-        StringBuilder sql = new StringBuilder();
-        for (TableRelation relation : table.getRelations()) {
-            sql.append("ALTER TABLE ").append(relation.getSourceTable())
-                    .append(" ADD CONSTRAINT fk_").append(relation.getSourceTable())
-                    .append("_").append(relation.getTargetTable())
-                    .append(" FOREIGN KEY (").append(relation.getSourceColumn())
-                    .append(") REFERENCES ").append(relation.getTargetTable())
-                    .append("(").append(relation.getTargetColumn()).append(");\n");
+        SqlDialect dialect = dialectRegistry.resolve(request.getDialect());
+        schemaValidator.validate(request.getTables(), dialect);
+
+        try {
+            return ResponseEntity.ok(dryRunService.run(request.getTables(), dialect,
+                    request.isOrdered(), request.isAdviseIndexes()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", e.getMessage()));
+        } catch (IOException | SQLException e) {
+            log.warn("Dry run failed", e);
+            return ResponseEntity.internalServerError().body(new ErrorResponse("Dry run failed", e.getMessage()));
         }
-        return sql.toString();
     }
 
-    private String generateColumnDefinition(Column column, String dialect) {
-        StringBuilder def = new StringBuilder();
-        def.append(column.getName()).append(" ");
-
-        // Add data type
-        switch (dialect) {
-            case "MySQL":
-                def.append(getMySQLDataType(column));
-                break;
-            case "PostgreSQL":
-                def.append(getPostgreSQLDataType(column));
-                break;
-            default:
-                def.append(getMySQLDataType(column));
-        }
+    @PostMapping(value = "/generate/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchItemResult>> generateBatch(@RequestBody List<TableRequest> requests) {
+        return ResponseEntity.ok(batchGenerationService.generate(requests));
+    }
 
-        // Add constraints
-        if (!column.isNullable()) {
-            def.append(" NOT NULL");
-        }
-        if (column.isPrimaryKey()) {
-            def.append(" PRIMARY KEY");
+    @PostMapping(value = "/diff", produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<String> generateMigration(@RequestBody SchemaDiffRequest request) {
+        if (request.getPrevious() == null || request.getCurrent() == null) {
+            throw new InvalidRequestException("Both previous and current schemas are required");
         }
-        if (column.isAutoIncrement()) {
-            def.append(" AUTO_INCREMENT");
-        }
-        if (column.isUnique()) {
-            def.append(" UNIQUE");
+        // The previous schema is what is deployed, only the new one has to be consistent
+        SqlDialect dialect = dialectRegistry.resolve(request.getCurrent().getDialect());
+        schemaValidator.validate(request.getCurrent().getTables(), dialect);
+
+        try {
+            String sql = schemaDiffService.diff(request.getPrevious().getTables(), request.getCurrent().getTables(), dialect);
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(sql);
+        } catch (Exception e) {
+            log.warn("Schema diff failed", e);
+            throw new InvalidRequestException(e.getMessage(), e);
         }
-        if (column.getDefaultValue() != null && !column.getDefaultValue().isEmpty()) {
-            def.append(" DEFAULT ").append(column.getDefaultValue());
+    }
+
+    // Writes under sql-generator.export.directory and returns what was written, not the SQL itself
+    @PostMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> exportSQL(@RequestBody TableRequest request,
+                                       @RequestParam(defaultValue = "false") boolean perTable,
+                                       @RequestParam(defaultValue = "false") boolean gzip) {
+        if (request.getTables() == null || request.getTables().isEmpty()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", "No tables provided"));
         }
 
-        return def.toString();
+        SqlDialect dialect = dialectRegistry.resolve(request.getDialect());
+        schemaValidator.validate(request.getTables(), dialect);
+
+        try {
+            return ResponseEntity.ok(schemaExportService.export(request.getTables(), dialect, perTable, gzip));
+        } catch (IOException e) {
+            return ResponseEntity.internalServerError().body(new ErrorResponse("Export failed", e.getMessage()));
+        }
     }
 
-    private String getMySQLDataType(Column column) {
-        switch (column.getType().toLowerCase()) {
-            case "entier":
-                return "INT";
-            case "texte":
-                return "VARCHAR(255)";
-            case "date":
-                return "DATETIME";
-            default:
-                return "VARCHAR(255)";
+    // Body is the raw DDL script; it is parsed from the request reader without being buffered
+    @PostMapping(value = "/import", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importDDL(Reader ddl) {
+        try {
+            List<com.example.sqlgenerator.model.TableDefinition> tables = ddlImportService.importDdl(ddl);
+            schemaValidator.validateDefinitions(tables);
+            return ResponseEntity.ok(tables);
+        } catch (SQLParseException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid DDL", e.getMessage()));
         }
     }
 
-    private String getPostgreSQLDataType(Column column) {
-        switch (column.getType().toLowerCase()) {
-            case "entier":
-                return "INTEGER";
-            case "texte":
-                return "VARCHAR(255)";
-            case "date":
-                return "TIMESTAMP";
-            default:
-                return "VARCHAR(255)";
+    private static void requireTables(List<Table> tables) {
+        if (tables == null || tables.isEmpty()) {
+            throw new InvalidRequestException("No tables provided");
         }
     }
+
+    private StreamingResponseBody error(String message) {
+        return out -> out.write(("Error: " + message).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ColumnDefinition convertColumnRequest(ColumnRequest request) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setName(request.getName());
+        column.setType(request.getType());
+        column.setPrimaryKey(request.isPrimaryKey());
+        column.setAutoIncrement(request.isAutoIncrement());
+        column.setNullable(!request.isRequired());
+        column.setUnique(request.isUnique());
+        column.setDefaultValue(request.getDefaultValue());
+        return column;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package com.example.sqlgenerator.controller;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.dto.ErrorResponse;
+import com.example.sqlgenerator.dto.SchemaDelta;
+import com.example.sqlgenerator.dto.SchemaVersionInfo;
+import com.example.sqlgenerator.dto.TableRequest;
+import com.example.sqlgenerator.exception.SchemaNotFoundException;
+import com.example.sqlgenerator.io.ByteBufferPool;
+import com.example.sqlgenerator.io.Utf8Sink;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.service.DdlScriptService;
+import com.example.sqlgenerator.service.GenerationMetrics;
+import com.example.sqlgenerator.service.IndexAdvisor;
+import com.example.sqlgenerator.service.SchemaRegistryService;
+import com.example.sqlgenerator.service.SchemaValidator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Stored, versioned schemas. Clients upload a schema once (or a delta against a stored version)
+ * and then generate from it by id and version, without sending the tables again. A version is
+ * a number or "latest".
+ */
+@RestController
+@RequestMapping("/api/sql/schemas")
+@CrossOrigin(origins = "http://localhost:4200")
+public class SchemaRegistryController {
+
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaRegistryController.class);
+
+    @Autowired
+    private SchemaRegistryService schemaRegistryService;
+
+    @Autowired
+    private SqlDialectRegistry dialectRegistry;
+
+    @Autowired
+    private SchemaValidator schemaValidator;
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    @Autowired
+    private ByteBufferPool byteBufferPool;
+
+    // 201 with the new version, or 200 with the latest one when nothing changed; the dialect is ignored
+    @PostMapping(value = "/{schemaId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> save(@PathVariable String schemaId, @RequestBody TableRequest request) {
+        try {
+            return saved(schemaRegistryService.save(schemaId, request.getTables()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", e.getMessage()));
+        }
+    }
+
+    @PatchMapping(value = "/{schemaId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> applyDelta(@PathVariable String schemaId, @RequestBody SchemaDelta delta) {
+        try {
+            return saved(schemaRegistryService.applyDelta(schemaId, delta));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Invalid request", e.getMessage()));
+        }
+    }
+
+    @GetMapping(value = "/{schemaId}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<SchemaVersionInfo> versions(@PathVariable String schemaId) {
+        return schemaRegistryService.versions(schemaId);
+    }
+
+    // The stored table list, written as it was stored
+    @GetMapping(value = "/{schemaId}/versions/{version}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> tables(@PathVariable String schemaId, @PathVariable String version) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(schemaRegistryService.json(schemaId, versionOf(schemaId, version)));
+    }
+
+    // Same script as /api/sql/generate, from the cached tables of a stored version
+    @PostMapping(value = "/{schemaId}/versions/{version}/generate", produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<?> generate(@PathVariable String schemaId, @PathVariable String version,
+                                      @RequestParam(defaultValue = "MySQL") String dialect,
+                                      @RequestParam(defaultValue = "false") boolean ordered,
+                                      @RequestParam(defaultValue = "false") boolean adviseIndexes) {
+        CompactSchema schema = schemaRegistryService.schema(schemaId, versionOf(schemaId, version));
+        // Stored versions are validated without a dialect, its own rules are checked here
+        SqlDialect sqlDialect = dialectRegistry.resolve(dialect);
+        schemaValidator.validate(schema, sqlDialect);
+
+        Utf8Sink sql = Utf8Sink.buffered(byteBufferPool);
+        try {
+            ddlScriptService.write(schema, sqlDialect, ordered, sql);
+            if (adviseIndexes) {
+                indexAdvisor.write(indexAdvisor.plan(schema, sqlDialect), sql);
+            }
+            sql.flush();
+            metrics.recordBytes(sql.size());
+        } catch (Exception e) {
+            sql.close();
+            log.warn("SQL generation failed for schema {}@{}", schemaId, version, e);
+            return ResponseEntity.badRequest().contentType(TEXT_PLAIN_UTF8).body("Error: " + e.getMessage());
+        }
+
+        return ResponseEntity.ok()
+                .contentType(TEXT_PLAIN_UTF8)
+                .body(sql);
+    }
+
+    private int versionOf(String schemaId, String version) {
+        if ("latest".equals(version)) {
+            return schemaRegistryService.latestVersion(schemaId);
+        }
+        try {
+            return Integer.parseInt(version);
+        } catch (NumberFormatException e) {
+            throw new SchemaNotFoundException("Schema '" + schemaId + "' has no version " + version);
+        }
+    }
+
+    private static ResponseEntity<SchemaVersionInfo> saved(SchemaVersionInfo info) {
+        return ResponseEntity.status(info.isCreated() ? HttpStatus.CREATED : HttpStatus.OK).body(info);
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.PartitionBound;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+public abstract class AbstractSqlDialect implements SqlDialect {
+
+    private final String name;
+    private final TypeMapping typeMapping;
+    // Indexed by TypeMapping id, built once so the column path is a plain array read
+    private final String[] typeNames;
+
+    protected AbstractSqlDialect(String name, TypeMapping typeMapping,
+                                 Map<String, String> builtInTypes, String defaultTypeName) {
+        this.name = name;
+        this.typeMapping = typeMapping;
+        this.typeNames = typeMapping.tableFor(name, builtInTypes, defaultTypeName);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public void writeCreateTable(Table table, Appendable out) throws IOException {
+        writeCreateTable(TableView.of(table), List.of(), out);
+    }
+
+    @Override
+    public void writeCreateTable(TableView table, List<TableRelation> foreignKeys, Appendable out) throws IOException {
+        if (table.getPartition() != null) {
+            checkPartition(table);
+        }
+        writeBeforeCreateTable(table, out);
+        out.append("CREATE TABLE ").append(table.getName()).append(" (\n");
+
+        int columns = table.columnCount();
+        List<String> primaryKey = new ArrayList<>(1);
+        for (int i = 0; i < columns; i++) {
+            if (table.isPrimaryKey(i)) {
+                primaryKey.add(table.columnName(i));
+            }
+        }
+        // A key over several columns cannot be declared on each of them
+        boolean composite = primaryKey.size() > 1;
+
+        for (int i = 0; i < columns; i++) {
+            out.append(i == 0 ? "  " : ",\n  ");
+            writeColumn(table, i, !composite, true, out);
+        }
+        if (composite) {
+            out.append(",\n  ");
+            writePrimaryKey(table, primaryKey, out);
+        }
+        for (TableRelation foreignKey : foreignKeys) {
+            out.append(",\n  ");
+            writeForeignKey(foreignKey, out);
+        }
+
+        out.append("\n)");
+        writeTableOptions(table, out);
+        out.append(';');
+        writeAfterCreateTable(table, out);
+    }
+
+    @Override
+    public String columnType(TableView table, int column) {
+        return typeOf(table, column);
+    }
+
+    @Override
+    public void writeRelations(List<TableRelation> relations, Appendable out) throws IOException {
+        if (relations == null) {
+            return;
+        }
+        for (TableRelation relation : relations) {
+            writeAddConstraint(relation, out);
+            out.append('\n');
+        }
+    }
+
+    @Override
+    public void writeAddForeignKey(TableRelation relation, Appendable out) throws IOException {
+        writeAddConstraint(relation, out);
+    }
+
+    @Override
+    public void writeDropForeignKey(TableRelation relation, Appendable out) throws IOException {
+        out.append("ALTER TABLE ").append(relation.getSourceTable())
+                .append(" DROP CONSTRAINT ").append(foreignKeyName(relation)).append(';');
+    }
+
+    @Override
+    public void writeDropIndex(String table, String index, Appendable out) throws IOException {
+        out.append("DROP INDEX ").append(index).append(" ON ").append(table).append(';');
+    }
+
+    private void writeAddConstraint(TableRelation relation, Appendable out) throws IOException {
+        out.append("ALTER TABLE ").append(relation.getSourceTable()).append(" ADD ");
+        writeForeignKey(relation, out);
+        out.append(';');
+    }
+
+    // Same constraint text inline and in ALTER TABLE ... ADD
+    protected void writeForeignKey(TableRelation relation, Appendable out) throws IOException {
+        out.append("CONSTRAINT ").append(foreignKeyName(relation))
+                .append(" FOREIGN KEY (").append(relation.getSourceColumn())
+                .append(") REFERENCES ").append(relation.getTargetTable())
+                .append('(').append(relation.getTargetColumn()).append(')');
+    }
+
+    protected static String foreignKeyName(TableRelation relation) {
+        return "fk_" + relation.getSourceTable() + "_" + relation.getTargetTable();
+    }
+
+    // Without the key flags, only the column itself is written: type, nullability, identity and default
+    protected abstract void writeColumn(TableView table, int column, boolean primaryKey, boolean unique,
+                                        Appendable out) throws IOException;
+
+    // Table-level PRIMARY KEY of a composite key
+    protected void writePrimaryKey(TableView table, List<String> columns, Appendable out) throws IOException {
+        out.append("PRIMARY KEY (").append(String.join(", ", columns)).append(')');
+    }
+
+    protected String columnDefinition(TableView table, int column) throws IOException {
+        StringBuilder definition = new StringBuilder();
+        writeColumn(table, column, false, false, definition);
+        return definition.toString();
+    }
+
+    // A single ALTER TABLE with one clause per line, for dialects that apply them together
+    protected static void writeClauses(String table, List<String> clauses, Appendable out) throws IOException {
+        out.append("ALTER TABLE ").append(table);
+        for (int i = 0; i < clauses.size(); i++) {
+            out.append(i == 0 ? "\n  " : ",\n  ").append(clauses.get(i));
+        }
+        out.append(';');
+    }
+
+    // Statements the table depends on, e.g. a SQL Server partition scheme
+    protected void writeBeforeCreateTable(TableView table, Appendable out) throws IOException {
+    }
+
+    // Between the closing parenthesis and the semicolon: storage options and PARTITION BY
+    protected void writeTableOptions(TableView table, Appendable out) throws IOException {
+        if (table.getPartition() != null) {
+            throw new IllegalArgumentException(name + " has no table partitioning (table " + table.getName() + ")");
+        }
+    }
+
+    // Statements that complete the table, e.g. PostgreSQL partitions
+    protected void writeAfterCreateTable(TableView table, Appendable out) throws IOException {
+    }
+
+    // RANGE, LIST or HASH; the rest of the definition has been checked by writeCreateTable
+    protected static String partitionType(PartitionDefinition partition) {
+        return partition.getType().trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Partition name as given, or pN
+    protected static String partitionName(TableView table, int index) {
+        List<PartitionBound> bounds = table.getPartition().getPartitions();
+        String name = bounds != null && index < bounds.size() ? bounds.get(index).getName() : null;
+        return name != null && !name.isBlank() ? name : "p" + index;
+    }
+
+    // HASH partitions: count, or one per listed partition
+    protected static int partitionCount(PartitionDefinition partition) {
+        return partition.getCount() != null ? partition.getCount() : partition.getPartitions().size();
+    }
+
+    protected static boolean isMaxValue(PartitionBound bound) {
+        return bound.getValues().size() == 1 && bound.getValues().get(0).trim().equalsIgnoreCase("MAXVALUE");
+    }
+
+    private static void checkPartition(TableView table) {
+        PartitionDefinition partition = table.getPartition();
+        String where = " (table " + table.getName() + ")";
+        if (partition.getColumn() == null || partition.getColumn().isBlank()) {
+            throw new IllegalArgumentException("Partition column is required" + where);
+        }
+        String type = partition.getType() == null ? "" : partition.getType().trim().toUpperCase(Locale.ROOT);
+        switch (type) {
+            case "RANGE", "LIST" -> {
+                if (partition.getPartitions() == null || partition.getPartitions().isEmpty()) {
+                    throw new IllegalArgumentException(type + " partitioning needs at least one partition" + where);
+                }
+                for (PartitionBound bound : partition.getPartitions()) {
+                    if (bound.getValues() == null || bound.getValues().isEmpty()) {
+                        throw new IllegalArgumentException("Partition without values" + where);
+                    }
+                }
+            }
+            case "HASH" -> {
+                boolean listed = partition.getPartitions() != null && !partition.getPartitions().isEmpty();
+                if (partition.getCount() == null ? !listed : partition.getCount() < 1) {
+                    throw new IllegalArgumentException("HASH partitioning needs a count of at least 1" + where);
+                }
+            }
+            default -> throw new IllegalArgumentException(
+                    "Unknown partition type '" + partition.getType() + "', expected RANGE, LIST or HASH" + where);
+        }
+    }
+
+    protected String typeOf(TableView table, int column) {
+        return typeNames[typeMapping.idOf(table, column)];
+    }
+
+    protected void writeDefault(TableView table, int column, Appendable out) throws IOException {
+        String defaultValue = defaultOf(table, column);
+        if (defaultValue != null) {
+            out.append(" DEFAULT ").append(defaultValue);
+        }
+    }
+
+    // An empty default is written as no default at all
+    protected static String defaultOf(TableView table, int column) {
+        String defaultValue = table.defaultValue(column);
+        return defaultValue != null && !defaultValue.isEmpty() ? defaultValue : null;
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.PartitionBound;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.StorageOptions;
+import com.example.sqlgenerator.model.TableChange;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class MySQLDialect extends AbstractSqlDialect {
+
+    public MySQLDialect(TypeMapping typeMapping) {
+        super("MySQL", typeMapping, Map.of(
+                "entier", "INT",
+                "texte", "VARCHAR(255)",
+                "date", "DATETIME"), "VARCHAR(255)");
+    }
+
+    @Override
+    protected void writeColumn(TableView table, int column, boolean primaryKey, boolean unique,
+                               Appendable out) throws IOException {
+        out.append(table.columnName(column)).append(' ').append(typeOf(table, column));
+
+        if (!table.isNullable(column)) {
+            out.append(" NOT NULL");
+        }
+        if (primaryKey && table.isPrimaryKey(column)) {
+            out.append(" PRIMARY KEY");
+        }
+        if (table.isAutoIncrement(column)) {
+            out.append(" AUTO_INCREMENT");
+        }
+        if (unique && table.isUnique(column)) {
+            out.append(" UNIQUE");
+        }
+        writeDefault(table, column, out);
+    }
+
+    // MySQL applies all clauses of one ALTER TABLE together, so an AUTO_INCREMENT column
+    // can be added or modified in the same statement that adds its key
+    @Override
+    public void writeAlterTable(TableChange change, Appendable out) throws IOException {
+        TableView before = change.getBefore();
+        TableView after = change.getAfter();
+        List<String> clauses = new ArrayList<>();
+
+        // An inline UNIQUE creates an index named after its column
+        for (String column : change.getDroppedUniques()) {
+            clauses.add("DROP INDEX " + column);
+        }
+        if (change.isPrimaryKeyChanged() && !change.getPreviousPrimaryKey().isEmpty()) {
+            clauses.add("DROP PRIMARY KEY");
+        }
+        for (int column : change.getAddedColumns()) {
+            clauses.add("ADD COLUMN " + columnDefinition(after, column));
+        }
+        for (int column : change.getAlteredColumns().keySet()) {
+            clauses.add("MODIFY COLUMN " + columnDefinition(after, column));
+        }
+        for (int column : change.getDroppedColumns()) {
+            clauses.add("DROP COLUMN " + before.columnName(column));
+        }
+        if (change.isPrimaryKeyChanged() && !change.getPrimaryKey().isEmpty()) {
+            clauses.add("ADD PRIMARY KEY (" + String.join(", ", change.getPrimaryKey()) + ")");
+        }
+        for (String column : change.getAddedUniques()) {
+            clauses.add("ADD UNIQUE (" + column + ")");
+        }
+        writeClauses(change.getTableName(), clauses, out);
+    }
+
+    @Override
+    public void writeDropForeignKey(TableRelation relation, Appendable out) throws IOException {
+        out.append("ALTER TABLE ").append(relation.getSourceTable())
+                .append(" DROP FOREIGN KEY ").append(foreignKeyName(relation)).append(';');
+    }
+
+    @Override
+    protected void writeTableOptions(TableView table, Appendable out) throws IOException {
+        StorageOptions storage = table.getStorage();
+        if (storage != null) {
+            if (storage.getEngine() != null) {
+                out.append(" ENGINE=").append(storage.getEngine());
+            }
+            if (storage.getRowFormat() != null) {
+                out.append(" ROW_FORMAT=").append(storage.getRowFormat());
+            }
+            if (storage.getTablespace() != null) {
+                out.append(" TABLESPACE ").append(storage.getTablespace());
+            }
+        }
+
+        PartitionDefinition partition = table.getPartition();
+        if (partition == null) {
+            return;
+        }
+        String type = partitionType(partition);
+        if (type.equals("HASH")) {
+            out.append("\nPARTITION BY HASH (").append(partition.getColumn()).append(") PARTITIONS ")
+                    .append(Integer.toString(partitionCount(partition)));
+            return;
+        }
+
+        // Plain RANGE/LIST only take integer expressions; quoted bounds (dates, strings) need COLUMNS
+        out.append("\nPARTITION BY ").append(type).append(quotedBounds(partition) ? " COLUMNS(" : " (")
+                .append(partition.getColumn()).append(") (\n");
+        List<PartitionBound> bounds = partition.getPartitions();
+        for (int i = 0; i < bounds.size(); i++) {
+            out.append("  PARTITION ").append(partitionName(table, i))
+                    .append(type.equals("RANGE") ? " VALUES LESS THAN (" : " VALUES IN (")
+                    .append(String.join(", ", bounds.get(i).getValues())).append(')');
+            out.append(i < bounds.size() - 1 ? ",\n" : "\n");
+        }
+        out.append(')');
+    }
+
+    private static boolean quotedBounds(PartitionDefinition partition) {
+        for (PartitionBound bound : partition.getPartitions()) {
+            for (String value : bound.getValues()) {
+                if (value.trim().startsWith("'")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.StorageOptions;
+import com.example.sqlgenerator.model.TableChange;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Component
+public class PostgreSQLDialect extends AbstractSqlDialect {
+
+    public PostgreSQLDialect(TypeMapping typeMapping) {
+        super("PostgreSQL", typeMapping, Map.of(
+                "entier", "INTEGER",
+                "texte", "VARCHAR(255)",
+                "date", "TIMESTAMP"), "VARCHAR(255)");
+    }
+
+    @Override
+    protected void writeColumn(TableView table, int column, boolean primaryKey, boolean unique,
+                               Appendable out) throws IOException {
+        out.append(table.columnName(column)).append(' ').append(typeOf(table, column));
+
+        // PostgreSQL has no AUTO_INCREMENT, identity columns replace SERIAL since 10
+        if (table.isAutoIncrement(column)) {
+            out.append(" GENERATED BY DEFAULT AS IDENTITY");
+        }
+        if (!table.isNullable(column)) {
+            out.append(" NOT NULL");
+        }
+        writeDefault(table, column, out);
+        if (primaryKey && table.isPrimaryKey(column)) {
+            out.append(" PRIMARY KEY");
+        }
+        if (unique && table.isUnique(column)) {
+            out.append(" UNIQUE");
+        }
+    }
+
+    @Override
+    public void writeAlterTable(TableChange change, Appendable out) throws IOException {
+        TableView before = change.getBefore();
+        TableView after = change.getAfter();
+        String table = change.getTableName();
+        List<String> clauses = new ArrayList<>();
+
+        // Inline keys get PostgreSQL's default names, table_pkey and table_column_key
+        for (String column : change.getDroppedUniques()) {
+            clauses.add("DROP CONSTRAINT " + table + "_" + column + "_key");
+        }
+        if (change.isPrimaryKeyChanged() && !change.getPreviousPrimaryKey().isEmpty()) {
+            clauses.add("DROP CONSTRAINT " + table + "_pkey");
+        }
+        for (int column : change.getAddedColumns()) {
+            clauses.add("ADD COLUMN " + columnDefinition(after, column));
+        }
+        for (Map.Entry<Integer, Integer> altered : change.getAlteredColumns().entrySet()) {
+            int column = altered.getKey();
+            int previous = altered.getValue();
+            String alter = "ALTER COLUMN " + after.columnName(column);
+            boolean identity = after.isAutoIncrement(column);
+            if (before.isAutoIncrement(previous) && !identity) {
+                clauses.add(alter + " DROP IDENTITY");
+            }
+            String type = typeOf(after, column);
+            if (!typeOf(before, previous).equals(type)) {
+                clauses.add(alter + " TYPE " + type + " USING " + after.columnName(column) + "::" + type);
+            }
+            if (before.isNullable(previous) != after.isNullable(column)) {
+                clauses.add(alter + (after.isNullable(column) ? " DROP NOT NULL" : " SET NOT NULL"));
+            }
+            String defaultValue = defaultOf(after, column);
+            if (!Objects.equals(defaultOf(before, previous), defaultValue)) {
+                clauses.add(alter + (defaultValue == null ? " DROP DEFAULT" : " SET DEFAULT " + defaultValue));
+            }
+            // Identity needs NOT NULL and no default, so it is added last
+            if (!before.isAutoIncrement(previous) && identity) {
+                clauses.add(alter + " ADD GENERATED BY DEFAULT AS IDENTITY");
+            }
+        }
+        for (int column : change.getDroppedColumns()) {
+            clauses.add("DROP COLUMN " + before.columnName(column));
+        }
+        if (change.isPrimaryKeyChanged() && !change.getPrimaryKey().isEmpty()) {
+            clauses.add("ADD PRIMARY KEY (" + String.join(", ", change.getPrimaryKey()) + ")");
+        }
+        for (String column : change.getAddedUniques()) {
+            clauses.add("ADD UNIQUE (" + column + ")");
+        }
+        writeClauses(table, clauses, out);
+    }
+
+    @Override
+    public void writeDropIndex(String table, String index, Appendable out) throws IOException {
+        out.append("DROP INDEX ").append(index).append(';');
+    }
+
+    // A partitioned table has no storage of its own, so fillfactor and tablespace go on each partition
+    @Override
+    protected void writeTableOptions(TableView table, Appendable out) throws IOException {
+        PartitionDefinition partition = table.getPartition();
+        if (partition != null) {
+            out.append(" PARTITION BY ").append(partitionType(partition))
+                    .append(" (").append(partition.getColumn()).append(')');
+        } else {
+            writeStorage(table.getStorage(), out);
+        }
+    }
+
+    @Override
+    protected void writeAfterCreateTable(TableView table, Appendable out) throws IOException {
+        PartitionDefinition partition = table.getPartition();
+        if (partition == null) {
+            return;
+        }
+        String type = partitionType(partition);
+        int count = type.equals("HASH") ? partitionCount(partition) : partition.getPartitions().size();
+        String lower = "MINVALUE";
+        for (int i = 0; i < count; i++) {
+            // Partitions are tables of their own, so their names get the parent's as a prefix
+            out.append("\nCREATE TABLE ").append(table.getName()).append('_').append(partitionName(table, i))
+                    .append(" PARTITION OF ").append(table.getName()).append(" FOR VALUES ");
+            switch (type) {
+                case "RANGE" -> {
+                    String upper = String.join(", ", partition.getPartitions().get(i).getValues());
+                    out.append("FROM (").append(lower).append(") TO (").append(upper).append(')');
+                    lower = upper;
+                }
+                case "LIST" -> out.append("IN (")
+                        .append(String.join(", ", partition.getPartitions().get(i).getValues())).append(')');
+                default -> out.append("WITH (MODULUS ").append(Integer.toString(count))
+                        .append(", REMAINDER ").append(Integer.toString(i)).append(')');
+            }
+            writeStorage(table.getStorage(), out);
+            out.append(';');
+        }
+    }
+
+    private void writeStorage(StorageOptions storage, Appendable out) throws IOException {
+        if (storage == null) {
+            return;
+        }
+        if (storage.getFillFactor() != null) {
+            out.append(" WITH (fillfactor = ").append(storage.getFillFactor().toString()).append(')');
+        }
+        if (storage.getTablespace() != null) {
+            out.append(" TABLESPACE ").append(storage.getTablespace());
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.PartitionBound;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.StorageOptions;
+import com.example.sqlgenerator.model.TableChange;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Component
+public class SQLServerDialect extends AbstractSqlDialect {
+
+    public SQLServerDialect(TypeMapping typeMapping) {
+        super("SQL Server", typeMapping, Map.of(
+                "entier", "INT",
+                "texte", "NVARCHAR(255)",
+                "date", "DATETIME2"), "NVARCHAR(255)");
+    }
+
+    @Override
+    protected void writeColumn(TableView table, int column, boolean primaryKey, boolean unique,
+                               Appendable out) throws IOException {
+        out.append(table.columnName(column)).append(' ').append(typeOf(table, column));
+
+        // IDENTITY is a column property and has to come before the constraints
+        if (table.isAutoIncrement(column)) {
+            out.append(" IDENTITY(1,1)");
+        }
+        if (!table.isNullable(column)) {
+            out.append(" NOT NULL");
+        }
+        writeDefault(table, column, out);
+        if (primaryKey && table.isPrimaryKey(column)) {
+            out.append(" PRIMARY KEY");
+            writePrimaryKeyOptions(table.getStorage(), out);
+        }
+        if (unique && table.isUnique(column)) {
+            out.append(" UNIQUE");
+        }
+    }
+
+    // One statement per change: SQL Server takes a single ALTER COLUMN per statement and refuses it
+    // while a key, a unique constraint or a default depends on the column. Inline constraints have
+    // generated names, so they are looked up in the catalog before being dropped.
+    @Override
+    public void writeAlterTable(TableChange change, Appendable out) throws IOException {
+        TableView before = change.getBefore();
+        TableView after = change.getAfter();
+        String table = change.getTableName();
+
+        boolean rebuildPrimaryKey = change.isPrimaryKeyChanged();
+        Set<String> dropUniques = new LinkedHashSet<>(change.getDroppedUniques());
+        Set<String> addUniques = new LinkedHashSet<>(change.getAddedUniques());
+        List<String> dropDefaults = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> altered : change.getAlteredColumns().entrySet()) {
+            int column = altered.getKey();
+            int previous = altered.getValue();
+            String name = after.columnName(column);
+            if (before.isAutoIncrement(previous) != after.isAutoIncrement(column)) {
+                throw new IllegalArgumentException("SQL Server cannot add or remove IDENTITY on existing column "
+                        + table + "." + name);
+            }
+            rebuildPrimaryKey |= before.isPrimaryKey(previous);
+            if (before.isUnique(previous) && after.isUnique(column)) {
+                dropUniques.add(name);
+                addUniques.add(name);
+            }
+            if (defaultOf(before, previous) != null) {
+                dropDefaults.add(name);
+            }
+        }
+        for (int column : change.getDroppedColumns()) {
+            if (before.isUnique(column)) {
+                dropUniques.add(before.columnName(column));
+            }
+            if (defaultOf(before, column) != null) {
+                dropDefaults.add(before.columnName(column));
+            }
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (String column : dropUniques) {
+            statements.add(dropConstraint(table, "uq_" + table + "_" + column,
+                    "SELECT TOP 1 k.name FROM sys.key_constraints k"
+                            + " JOIN sys.index_columns ic ON ic.object_id = k.parent_object_id AND ic.index_id = k.unique_index_id"
+                            + " JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id"
+                            + " WHERE k.parent_object_id = OBJECT_ID('" + table + "') AND k.type = 'UQ' AND c.name = '" + column + "'"));
+        }
+        if (rebuildPrimaryKey && !change.getPreviousPrimaryKey().isEmpty()) {
+            statements.add(dropConstraint(table, "pk_" + table,
+                    "SELECT name FROM sys.key_constraints WHERE parent_object_id = OBJECT_ID('" + table + "') AND type = 'PK'"));
+        }
+        for (String column : dropDefaults) {
+            statements.add(dropConstraint(table, "df_" + table + "_" + column,
+                    "SELECT d.name FROM sys.default_constraints d"
+                            + " JOIN sys.columns c ON c.object_id = d.parent_object_id AND c.column_id = d.parent_column_id"
+                            + " WHERE d.parent_object_id = OBJECT_ID('" + table + "') AND c.name = '" + column + "'"));
+        }
+        if (!change.getAddedColumns().isEmpty()) {
+            List<String> definitions = new ArrayList<>();
+            for (int column : change.getAddedColumns()) {
+                definitions.add(columnDefinition(after, column));
+            }
+            statements.add("ALTER TABLE " + table + " ADD " + String.join(", ", definitions) + ";");
+        }
+        for (int column : change.getAlteredColumns().keySet()) {
+            String name = after.columnName(column);
+            statements.add("ALTER TABLE " + table + " ALTER COLUMN " + name + " " + typeOf(after, column)
+                    + (after.isNullable(column) ? " NULL;" : " NOT NULL;"));
+            String defaultValue = defaultOf(after, column);
+            if (defaultValue != null) {
+                statements.add("ALTER TABLE " + table + " ADD DEFAULT " + defaultValue + " FOR " + name + ";");
+            }
+        }
+        if (!change.getDroppedColumns().isEmpty()) {
+            List<String> names = new ArrayList<>();
+            for (int column : change.getDroppedColumns()) {
+                names.add(before.columnName(column));
+            }
+            statements.add("ALTER TABLE " + table + " DROP COLUMN " + String.join(", ", names) + ";");
+        }
+        if (rebuildPrimaryKey && !change.getPrimaryKey().isEmpty()) {
+            statements.add("ALTER TABLE " + table + " ADD PRIMARY KEY (" + String.join(", ", change.getPrimaryKey()) + ");");
+        }
+        for (String column : addUniques) {
+            statements.add("ALTER TABLE " + table + " ADD UNIQUE (" + column + ");");
+        }
+        out.append(String.join("\n", statements));
+    }
+
+    private static String dropConstraint(String table, String variable, String lookup) {
+        return "DECLARE @" + variable + " sysname = (" + lookup + ");\n"
+                + "IF @" + variable + " IS NOT NULL EXEC('ALTER TABLE " + table + " DROP CONSTRAINT ' + @" + variable + ");";
+    }
+
+    @Override
+    protected void writePrimaryKey(TableView table, List<String> columns, Appendable out) throws IOException {
+        super.writePrimaryKey(table, columns, out);
+        writePrimaryKeyOptions(table.getStorage(), out);
+    }
+
+    private void writePrimaryKeyOptions(StorageOptions storage, Appendable out) throws IOException {
+        if (storage == null) {
+            return;
+        }
+        if (storage.getClusteredPrimaryKey() != null) {
+            out.append(storage.getClusteredPrimaryKey() ? " CLUSTERED" : " NONCLUSTERED");
+        }
+        if (storage.getFillFactor() != null) {
+            out.append(" WITH (FILLFACTOR = ").append(storage.getFillFactor().toString()).append(')');
+        }
+    }
+
+    // SQL Server partitions through a function and a scheme; RANGE RIGHT keeps MySQL's "less than" bounds
+    @Override
+    protected void writeBeforeCreateTable(TableView table, Appendable out) throws IOException {
+        PartitionDefinition partition = table.getPartition();
+        if (partition == null) {
+            return;
+        }
+        if (!partitionType(partition).equals("RANGE")) {
+            throw new IllegalArgumentException("SQL Server only supports RANGE partitioning (table " + table.getName() + ")");
+        }
+        int column = columnIndex(table, partition.getColumn());
+        if (column < 0) {
+            throw new IllegalArgumentException("Partition column " + partition.getColumn()
+                    + " is not a column of " + table.getName());
+        }
+
+        List<String> boundaries = new ArrayList<>();
+        for (PartitionBound bound : partition.getPartitions()) {
+            if (!isMaxValue(bound)) {
+                boundaries.add(String.join(", ", bound.getValues()));
+            }
+        }
+        StorageOptions storage = table.getStorage();
+        String fileGroup = storage != null && storage.getTablespace() != null ? storage.getTablespace() : "PRIMARY";
+
+        out.append("CREATE PARTITION FUNCTION pf_").append(table.getName())
+                .append(" (").append(typeOf(table, column)).append(") AS RANGE RIGHT FOR VALUES (")
+                .append(String.join(", ", boundaries)).append(");\n");
+        out.append("CREATE PARTITION SCHEME ps_").append(table.getName())
+                .append(" AS PARTITION pf_").append(table.getName())
+                .append(" ALL TO ([").append(fileGroup).append("]);\n");
+    }
+
+    @Override
+    protected void writeTableOptions(TableView table, Appendable out) throws IOException {
+        PartitionDefinition partition = table.getPartition();
+        StorageOptions storage = table.getStorage();
+        if (partition != null) {
+            out.append(" ON ps_").append(table.getName()).append('(').append(partition.getColumn()).append(')');
+        } else if (storage != null && storage.getTablespace() != null) {
+            out.append(" ON [").append(storage.getTablespace()).append(']');
+        }
+    }
+
+    private static int columnIndex(TableView table, String name) {
+        for (int i = 0; i < table.columnCount(); i++) {
+            if (table.columnName(i).equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
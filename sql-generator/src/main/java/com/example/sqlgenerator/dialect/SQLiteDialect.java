@@ -0,0 +1,88 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.TableChange;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Component
+public class SQLiteDialect extends AbstractSqlDialect {
+
+    public SQLiteDialect(TypeMapping typeMapping) {
+        super("SQLite", typeMapping, Map.of(
+                "entier", "INTEGER",
+                "texte", "TEXT",
+                "date", "DATETIME"), "TEXT");
+    }
+
+    // SQLite's ALTER TABLE only adds and drops plain columns; anything else means rebuilding the table
+    @Override
+    public void writeAlterTable(TableChange change, Appendable out) throws IOException {
+        TableView before = change.getBefore();
+        TableView after = change.getAfter();
+        String table = change.getTableName();
+        if (!change.getAlteredColumns().isEmpty() || change.isPrimaryKeyChanged()
+                || !change.getDroppedUniques().isEmpty() || !change.getAddedUniques().isEmpty()) {
+            throw rebuild(table, "alter columns or keys");
+        }
+
+        List<String> statements = new ArrayList<>();
+        for (int column : change.getAddedColumns()) {
+            if (!after.isNullable(column) && defaultOf(after, column) == null) {
+                throw rebuild(table, "add NOT NULL column " + after.columnName(column) + " without a default");
+            }
+            statements.add("ALTER TABLE " + table + " ADD COLUMN " + columnDefinition(after, column) + ";");
+        }
+        for (int column : change.getDroppedColumns()) {
+            if (before.isUnique(column)) {
+                throw rebuild(table, "drop UNIQUE column " + before.columnName(column));
+            }
+            statements.add("ALTER TABLE " + table + " DROP COLUMN " + before.columnName(column) + ";");
+        }
+        out.append(String.join("\n", statements));
+    }
+
+    @Override
+    public void writeAddForeignKey(TableRelation relation, Appendable out) {
+        throw rebuild(relation.getSourceTable(), "add a foreign key");
+    }
+
+    @Override
+    public void writeDropForeignKey(TableRelation relation, Appendable out) {
+        throw rebuild(relation.getSourceTable(), "drop a foreign key");
+    }
+
+    @Override
+    public void writeDropIndex(String table, String index, Appendable out) throws IOException {
+        out.append("DROP INDEX ").append(index).append(';');
+    }
+
+    private static IllegalArgumentException rebuild(String table, String what) {
+        return new IllegalArgumentException("SQLite cannot " + what + " in table " + table + ", the table has to be rebuilt");
+    }
+
+    @Override
+    protected void writeColumn(TableView table, int column, boolean primaryKey, boolean unique,
+                               Appendable out) throws IOException {
+        out.append(table.columnName(column)).append(' ').append(typeOf(table, column));
+
+        // SQLite only allows AUTOINCREMENT right after PRIMARY KEY
+        if (primaryKey && table.isPrimaryKey(column)) {
+            out.append(" PRIMARY KEY");
+            if (table.isAutoIncrement(column)) {
+                out.append(" AUTOINCREMENT");
+            }
+        }
+        if (!table.isNullable(column)) {
+            out.append(" NOT NULL");
+        }
+        if (unique && table.isUnique(column)) {
+            out.append(" UNIQUE");
+        }
+        writeDefault(table, column, out);
+    }
+}
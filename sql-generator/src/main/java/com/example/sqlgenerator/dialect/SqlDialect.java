@@ -0,0 +1,35 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableChange;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import java.io.IOException;
+import java.util.List;
+
+public interface SqlDialect {
+
+    // Name used by TableRequest.dialect, e.g. "MySQL" or "SQL Server"
+    String getName();
+
+    void writeCreateTable(Table table, Appendable out) throws IOException;
+
+    // CREATE TABLE with the given relations as table-level FOREIGN KEY constraints
+    void writeCreateTable(TableView table, List<TableRelation> foreignKeys, Appendable out) throws IOException;
+
+    // SQL type this dialect writes for the column, after logical type mapping
+    String columnType(TableView table, int column);
+
+    // One ALTER TABLE ... ADD CONSTRAINT per relation; null is treated as empty
+    void writeRelations(List<TableRelation> relations, Appendable out) throws IOException;
+
+    // Migration statements for one table whose columns or keys changed; columns are written
+    // without inline keys, PRIMARY KEY and UNIQUE changes become statements of their own
+    void writeAlterTable(TableChange change, Appendable out) throws IOException;
+
+    void writeAddForeignKey(TableRelation relation, Appendable out) throws IOException;
+
+    void writeDropForeignKey(TableRelation relation, Appendable out) throws IOException;
+
+    void writeDropIndex(String table, String index, Appendable out) throws IOException;
+}
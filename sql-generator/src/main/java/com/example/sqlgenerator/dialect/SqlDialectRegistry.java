@@ -0,0 +1,30 @@
+package com.example.sqlgenerator.dialect;
+
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+public class SqlDialectRegistry {
+
+    public static final String DEFAULT_DIALECT = "MySQL";
+
+    private final Map<String, SqlDialect> dialects = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final SqlDialect defaultDialect;
+
+    public SqlDialectRegistry(List<SqlDialect> dialects) {
+        for (SqlDialect dialect : dialects) {
+            this.dialects.put(dialect.getName(), dialect);
+        }
+        this.defaultDialect = this.dialects.get(DEFAULT_DIALECT);
+    }
+
+    // Unknown or missing names fall back to MySQL, as the controller always did
+    public SqlDialect resolve(String name) {
+        if (name == null) {
+            return defaultDialect;
+        }
+        return dialects.getOrDefault(name, defaultDialect);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Component
+public class TypeMapping {
+
+    public static final int UNRESOLVED = -1;
+    public static final int UNKNOWN = 0;
+    public static final int ENTIER = 1;
+    public static final int TEXTE = 2;
+    public static final int DATE = 3;
+
+    // Case-insensitive so resolving a type never allocates a lowercased copy
+    private final Map<String, Integer> ids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Map<String, String>> extraTypes;
+
+    public TypeMapping(TypeMappingProperties properties) {
+        register("unknown");
+        register("entier");
+        register("texte");
+        register("date");
+
+        extraTypes = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        extraTypes.putAll(properties.getTypes());
+        for (String logicalType : extraTypes.keySet()) {
+            register(logicalType);
+        }
+    }
+
+    private void register(String logicalType) {
+        if (!ids.containsKey(logicalType)) {
+            ids.put(logicalType, names.size());
+            names.add(logicalType);
+        }
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    public int idOf(String type) {
+        if (type == null) {
+            return UNKNOWN;
+        }
+        Integer id = ids.get(type);
+        return id != null ? id : UNKNOWN;
+    }
+
+    public int idOf(Column column) {
+        int id = column.getTypeId();
+        if (id == UNRESOLVED) {
+            id = idOf(column.getType());
+            column.setTypeId(id);
+        }
+        return id;
+    }
+
+    // Views are read-only, so an unresolved id is looked up without being stored
+    public int idOf(TableView table, int column) {
+        int id = table.typeId(column);
+        return id != UNRESOLVED ? id : idOf(table.columnType(column));
+    }
+
+    public int idOf(ColumnDefinition column) {
+        int id = column.getTypeId();
+        if (id == UNRESOLVED) {
+            id = idOf(column.getType());
+            column.setTypeId(id);
+        }
+        return id;
+    }
+
+    // Null tables and columns are skipped, SchemaValidator reports them
+    public void resolve(List<Table> tables) {
+        if (tables == null) {
+            return;
+        }
+        for (Table table : tables) {
+            if (table == null || table.getColumns() == null) {
+                continue;
+            }
+            for (Column column : table.getColumns()) {
+                if (column != null) {
+                    idOf(column);
+                }
+            }
+        }
+    }
+
+    /**
+     * Builds the id-indexed output table for one dialect. Configured mappings win over
+     * the dialect's built-in ones; ids without either map to {@code defaultTypeName}.
+     */
+    public String[] tableFor(String dialectName, Map<String, String> builtIns, String defaultTypeName) {
+        String dialectKey = dialectKey(dialectName);
+        String[] table = new String[names.size()];
+        for (int id = 0; id < names.size(); id++) {
+            String logicalType = names.get(id);
+            String typeName = null;
+            Map<String, String> configured = extraTypes.get(logicalType);
+            if (configured != null) {
+                typeName = configured.get(dialectKey);
+            }
+            if (typeName == null) {
+                typeName = builtIns.get(logicalType);
+            }
+            table[id] = typeName != null ? typeName : defaultTypeName;
+        }
+        return table;
+    }
+
+    static String dialectKey(String dialectName) {
+        return dialectName.replace(" ", "").toLowerCase(Locale.ROOT);
+    }
+}
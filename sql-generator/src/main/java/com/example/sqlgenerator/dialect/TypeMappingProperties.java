@@ -0,0 +1,23 @@
+package com.example.sqlgenerator.dialect;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Extra logical types, e.g. sql-generator.types.decimal.mysql=DECIMAL(10,2)
+@Component
+@ConfigurationProperties(prefix = "sql-generator")
+public class TypeMappingProperties {
+
+    // logical type -> dialect key (mysql, postgresql, sqlite, sqlserver, generic) -> SQL type
+    private Map<String, Map<String, String>> types = new LinkedHashMap<>();
+
+    public Map<String, Map<String, String>> getTypes() {
+        return types;
+    }
+
+    public void setTypes(Map<String, Map<String, String>> types) {
+        this.types = types;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.sqlgenerator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+    private int index;
+    private String sql;
+    private String error; // null when generation succeeded
+}
@@ -0,0 +1,29 @@
+package com.example.sqlgenerator.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class DryRunResult {
+    private String dialect;
+    private String mode; // H2 compatibility mode the script ran in
+    private int statementCount;
+    private int failureCount;
+    private double elapsedMillis; // wall time of all batches, including the JDBC round trips
+    private List<StatementResult> statements; // in script order
+
+    @Data
+    @AllArgsConstructor
+    public static class StatementResult {
+        private int line; // first line of the statement in the script
+        private String sql;
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Double millis; // execution time inside H2, null when the statement failed
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private String error;
+    }
+}
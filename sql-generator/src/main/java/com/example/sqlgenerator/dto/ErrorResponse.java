@@ -1,11 +1,20 @@
 package com.example.sqlgenerator.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.AllArgsConstructor;
 
+import java.util.List;
+
 @Data
 @AllArgsConstructor
 public class ErrorResponse {
     private String error;
     private String message;
-}
\ No newline at end of file
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ValidationError> details; // only set for schema validation errors
+
+    public ErrorResponse(String error, String message) {
+        this(error, message, null);
+    }
+}
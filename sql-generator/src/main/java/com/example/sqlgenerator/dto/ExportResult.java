@@ -0,0 +1,13 @@
+package com.example.sqlgenerator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ExportResult {
+    private String directory;
+    private List<String> files; // relative to directory, in write order
+    private long bytes; // on disk, i.e. compressed when gzip was requested
+}
@@ -0,0 +1,32 @@
+package com.example.sqlgenerator.dto;
+
+import com.example.sqlgenerator.model.IndexDefinition;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class IndexPlan {
+    private List<AdvisedIndex> indexes = new ArrayList<>(); // in table order
+    private List<RedundantIndex> redundant = new ArrayList<>(); // declared indexes that can be dropped
+
+    @Data
+    @AllArgsConstructor
+    public static class AdvisedIndex {
+        private String table;
+        private IndexDefinition index;
+        private String reason; // e.g. "foreign key to customers(id)" or "query by_customer"
+        private String sql;
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RedundantIndex {
+        private String table;
+        private String indexName;
+        private List<String> columns;
+        private String coveredBy; // index whose leading columns are these, or PRIMARY KEY
+    }
+}
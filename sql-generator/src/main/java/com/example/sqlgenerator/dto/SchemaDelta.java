@@ -0,0 +1,14 @@
+package com.example.sqlgenerator.dto;
+
+import com.example.sqlgenerator.model.Table;
+import lombok.Data;
+
+import java.util.List;
+
+// Changes against a stored version: tables are matched by name
+@Data
+public class SchemaDelta {
+    private Integer baseVersion; // must be the latest version, null applies the delta to whichever is latest
+    private List<Table> tables; // replaced in place when the name exists, appended otherwise
+    private List<String> removeTables;
+}
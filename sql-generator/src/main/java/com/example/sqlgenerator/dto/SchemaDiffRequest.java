@@ -0,0 +1,9 @@
+package com.example.sqlgenerator.dto;
+
+import lombok.Data;
+
+@Data
+public class SchemaDiffRequest {
+    private TableRequest previous;
+    private TableRequest current;
+}
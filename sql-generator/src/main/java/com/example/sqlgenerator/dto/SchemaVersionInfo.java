@@ -0,0 +1,20 @@
+package com.example.sqlgenerator.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+public class SchemaVersionInfo {
+    private String schemaId;
+    private int version;
+    private String contentHash;
+    private Integer baseVersion; // set for versions created by a delta upload
+    private int tableCount;
+    @JsonFormat(shape = JsonFormat.Shape.STRING)
+    private Instant createdAt;
+    private boolean created; // false when an upload matched the latest version and was not stored again
+}
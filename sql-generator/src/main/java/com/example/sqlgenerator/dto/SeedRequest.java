@@ -0,0 +1,18 @@
+package com.example.sqlgenerator.dto;
+
+import com.example.sqlgenerator.model.Table;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class SeedRequest {
+    private List<Table> tables;
+    private String dialect = "MySQL";
+    private long rows = 1000; // per table
+    private Map<String, Long> rowsPerTable; // overrides rows for the named tables
+    private Integer batchSize; // rows per INSERT / COPY block / BULK INSERT batch, see sql-generator.seed.batch-size
+    private String format; // insert, copy or csv; null picks the dialect's bulk format
+    private long seed = 42; // same seed, same data
+}
@@ -6,6 +6,9 @@ import com.example.sqlgenerator.model.Table;
 public class TableRequest {
     private List<Table> tables;
     private String dialect = "MySQL"; // Default value
+    private boolean parallel; // Opt-in, see sql-generator.parallel.min-tables
+    private boolean ordered; // Opt-in: tables in foreign-key order with inlined constraints
+    private boolean adviseIndexes; // Opt-in: append the IndexAdvisor plan to the script
 
     public List<Table> getTables() {
         return tables;
@@ -22,4 +25,28 @@ public class TableRequest {
     public void setDialect(String dialect) {
         this.dialect = dialect;
     }
-}
\ No newline at end of file
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    public boolean isOrdered() {
+        return ordered;
+    }
+
+    public void setOrdered(boolean ordered) {
+        this.ordered = ordered;
+    }
+
+    public boolean isAdviseIndexes() {
+        return adviseIndexes;
+    }
+
+    public void setAdviseIndexes(boolean adviseIndexes) {
+        this.adviseIndexes = adviseIndexes;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.sqlgenerator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ValidationError {
+    private String code;    // e.g. DUPLICATE_COLUMN, UNKNOWN_TABLE
+    private String path;    // where in the request, e.g. tables[2].relations[0].targetColumn
+    private String message;
+}
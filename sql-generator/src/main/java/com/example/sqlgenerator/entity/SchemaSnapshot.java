@@ -0,0 +1,44 @@
+package com.example.sqlgenerator.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Data;
+
+import java.time.Instant;
+
+// One immutable version of a registered schema; the tables are kept as the JSON a request would send
+@Data
+@Entity
+@Table(name = "schema_snapshot", uniqueConstraints = @UniqueConstraint(columnNames = {"schema_id", "version"}))
+public class SchemaSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "schema_id", nullable = false, length = 100)
+    private String schemaId;
+
+    @Column(nullable = false)
+    private int version;
+
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash; // SHA-256 of tablesJson, hex
+
+    private Integer baseVersion; // version a delta upload was applied to, null for full uploads
+
+    private int tableCount;
+
+    @Lob
+    @Column(name = "tables_json", nullable = false)
+    private String tablesJson;
+
+    @Column(nullable = false)
+    private Instant createdAt;
+}
@@ -1,17 +1,33 @@
 package com.example.sqlgenerator.exception;
 
+import com.example.sqlgenerator.dto.ErrorResponse;
+import com.example.sqlgenerator.dto.ValidationError;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.method.HandlerMethod;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    private static final MediaType TEXT_PLAIN_UTF8 = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
         Map<String, String> errors = new HashMap<>();
@@ -22,4 +38,78 @@ public class GlobalExceptionHandler {
         });
         return ResponseEntity.badRequest().body(errors);
     }
-}
\ No newline at end of file
+
+    // Clients of SQL endpoints that take text get the errors as text, one per line
+    @ExceptionHandler(SchemaValidationException.class)
+    public ResponseEntity<?> handleSchemaValidationException(SchemaValidationException ex, HandlerMethod handler,
+                                                             HttpServletRequest request) {
+        if (textResponse(handler, request)) {
+            StringBuilder body = new StringBuilder("Error: ").append(ex.getMessage()).append('\n');
+            for (ValidationError error : ex.getErrors()) {
+                body.append(error.getCode()).append(' ').append(error.getPath())
+                        .append(": ").append(error.getMessage()).append('\n');
+            }
+            return ResponseEntity.badRequest()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body(body.toString());
+        }
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("Invalid schema", ex.getMessage(), ex.getErrors()));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<?> handleInvalidRequestException(InvalidRequestException ex, HandlerMethod handler,
+                                                           HttpServletRequest request) {
+        if (textResponse(handler, request)) {
+            return ResponseEntity.badRequest()
+                    .contentType(TEXT_PLAIN_UTF8)
+                    .body("Error: " + ex.getMessage());
+        }
+        return ResponseEntity.badRequest()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("Invalid request", ex.getMessage()));
+    }
+
+    @ExceptionHandler(SchemaNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleSchemaNotFoundException(SchemaNotFoundException ex) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("Schema not found", ex.getMessage()));
+    }
+
+    @ExceptionHandler(SchemaVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handleSchemaVersionConflictException(SchemaVersionConflictException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new ErrorResponse("Version conflict", ex.getMessage()));
+    }
+
+    // Text when the first type the client accepts among those the endpoint produces is text/plain
+    private static boolean textResponse(HandlerMethod handler, HttpServletRequest request) {
+        RequestMapping mapping = handler != null
+                ? AnnotatedElementUtils.findMergedAnnotation(handler.getMethod(), RequestMapping.class) : null;
+        if (mapping == null || mapping.produces().length == 0) {
+            return false;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            accepted = new ArrayList<>();
+        }
+        if (accepted.isEmpty()) {
+            accepted.add(MediaType.ALL);
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType accept : accepted) {
+            for (String produces : mapping.produces()) {
+                MediaType type = MediaType.parseMediaType(produces);
+                if (accept.isCompatibleWith(type)) {
+                    return MediaType.TEXT_PLAIN.isCompatibleWith(type);
+                }
+            }
+        }
+        return false;
+    }
+}
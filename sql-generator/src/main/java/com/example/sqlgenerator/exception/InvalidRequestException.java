@@ -0,0 +1,13 @@
+package com.example.sqlgenerator.exception;
+
+// A request the generator cannot turn into SQL: no tables, or a schema the dialect rejects while writing it
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sqlgenerator.exception;
+
+// Unknown schema id or version in the schema registry
+public class SchemaNotFoundException extends RuntimeException {
+
+    public SchemaNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.sqlgenerator.exception;
+
+import com.example.sqlgenerator.dto.ValidationError;
+
+import java.util.List;
+
+public class SchemaValidationException extends RuntimeException {
+
+    private final List<ValidationError> errors;
+    private final int errorCount;
+
+    // errors may be capped; errorCount is the total that was found
+    public SchemaValidationException(List<ValidationError> errors, int errorCount) {
+        super(errorCount + (errorCount == 1 ? " schema error" : " schema errors")
+                + ", first: " + errors.get(0).getMessage());
+        this.errors = errors;
+        this.errorCount = errorCount;
+    }
+
+    public List<ValidationError> getErrors() {
+        return errors;
+    }
+
+    public int getErrorCount() {
+        return errorCount;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.sqlgenerator.exception;
+
+// A registry upload that was based on, or raced with, a version that is no longer the latest
+public class SchemaVersionConflictException extends RuntimeException {
+
+    public SchemaVersionConflictException(String message) {
+        super(message);
+    }
+}
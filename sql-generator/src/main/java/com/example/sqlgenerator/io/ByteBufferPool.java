@@ -0,0 +1,60 @@
+package com.example.sqlgenerator.io;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Fixed-size heap buffers shared by the response writers
+@Component
+public class ByteBufferPool {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql-generator.buffer.size:8192}")
+    private int bufferSize;
+
+    @Value("${sql-generator.buffer.pool-size:64}")
+    private int poolSize;
+
+    private BlockingQueue<ByteBuffer> pool;
+
+    private Counter poolHits;
+    private Counter poolMisses;
+
+    @PostConstruct
+    void init() {
+        pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        poolHits = Counter.builder("sql.buffer.pool")
+                .tag("result", "hit")
+                .description("Output buffers taken from the pool")
+                .register(meterRegistry);
+        poolMisses = Counter.builder("sql.buffer.pool")
+                .tag("result", "miss")
+                .description("Output buffers that had to be allocated")
+                .register(meterRegistry);
+        meterRegistry.gauge("sql.buffer.pool.idle", pool, BlockingQueue::size);
+    }
+
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = pool.poll();
+        if (buffer != null) {
+            poolHits.increment();
+            return buffer;
+        }
+        poolMisses.increment();
+        // Heap buffers, so the backing array can be written to an OutputStream without a copy
+        return ByteBuffer.allocate(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer) {
+        buffer.clear();
+        pool.offer(buffer);
+    }
+}
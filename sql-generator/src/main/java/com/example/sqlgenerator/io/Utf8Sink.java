@@ -0,0 +1,169 @@
+package com.example.sqlgenerator.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appendable that encodes straight to UTF-8 bytes in pooled buffers, so generated SQL
+ * never goes through an intermediate String. A streaming sink drains its single buffer
+ * into the target stream whenever it fills up; a buffered sink keeps taking buffers
+ * until {@link #writeTo(OutputStream)} hands them all over at once.
+ */
+public class Utf8Sink implements Appendable, Closeable {
+
+    private final ByteBufferPool pool;
+    private final OutputStream target;
+    private final List<ByteBuffer> filled = new ArrayList<>();
+    private ByteBuffer buffer;
+    private long size;
+    private char highSurrogate;
+
+    private Utf8Sink(ByteBufferPool pool, OutputStream target) {
+        this.pool = pool;
+        this.target = target;
+        this.buffer = pool.acquire();
+    }
+
+    public static Utf8Sink streaming(ByteBufferPool pool, OutputStream target) {
+        return new Utf8Sink(pool, target);
+    }
+
+    public static Utf8Sink buffered(ByteBufferPool pool) {
+        return new Utf8Sink(pool, null);
+    }
+
+    @Override
+    public Utf8Sink append(CharSequence csq) throws IOException {
+        if (csq == null) {
+            return append("null", 0, 4);
+        }
+        return append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Utf8Sink append(CharSequence csq, int start, int end) throws IOException {
+        if (csq == null) {
+            return append("null", start, end);
+        }
+        for (int i = start; i < end; i++) {
+            char c = csq.charAt(i);
+            // ASCII fast path; identifiers and keywords almost never leave it
+            if (c < 0x80 && highSurrogate == 0 && buffer.hasRemaining()) {
+                buffer.put((byte) c);
+                size++;
+            } else {
+                append(c);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public Utf8Sink append(char c) throws IOException {
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+            if (Character.isLowSurrogate(c)) {
+                int codePoint = Character.toCodePoint(high, c);
+                ensureRemaining(4);
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+                size += 4;
+                return this;
+            }
+            // Unpaired surrogate, same replacement as String.getBytes(UTF_8)
+            put1('?');
+        }
+
+        if (c < 0x80) {
+            put1(c);
+        } else if (c < 0x800) {
+            ensureRemaining(2);
+            buffer.put((byte) (0xC0 | (c >> 6)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+            size += 2;
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            put1('?');
+        } else {
+            ensureRemaining(3);
+            buffer.put((byte) (0xE0 | (c >> 12)));
+            buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+            buffer.put((byte) (0x80 | (c & 0x3F)));
+            size += 3;
+        }
+        return this;
+    }
+
+    // Bytes written so far, including any already drained to the target
+    public long size() {
+        return size;
+    }
+
+    public void flush() throws IOException {
+        finishSurrogate();
+        if (target != null) {
+            drain();
+            target.flush();
+        }
+    }
+
+    // Buffered sinks only: copies every buffer to the stream in order
+    public void writeTo(OutputStream out) throws IOException {
+        finishSurrogate();
+        for (ByteBuffer full : filled) {
+            out.write(full.array(), full.arrayOffset(), full.position());
+        }
+        out.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+    }
+
+    // Returns every buffer to the pool; does not close the target stream
+    @Override
+    public void close() {
+        for (ByteBuffer full : filled) {
+            pool.release(full);
+        }
+        filled.clear();
+        if (buffer != null) {
+            pool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    private void put1(char c) throws IOException {
+        ensureRemaining(1);
+        buffer.put((byte) c);
+        size++;
+    }
+
+    private void finishSurrogate() throws IOException {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            put1('?');
+        }
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes) {
+            return;
+        }
+        if (target != null) {
+            drain();
+        } else {
+            filled.add(buffer);
+            buffer = pool.acquire();
+        }
+    }
+
+    private void drain() throws IOException {
+        target.write(buffer.array(), buffer.arrayOffset(), buffer.position());
+        buffer.clear();
+    }
+}
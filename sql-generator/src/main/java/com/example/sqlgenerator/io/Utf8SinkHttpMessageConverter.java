@@ -0,0 +1,51 @@
+package com.example.sqlgenerator.io;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a buffered {@link Utf8Sink} as a text/plain UTF-8 body on the request thread and then
+ * returns its buffers to the pool. Unlike a StreamingResponseBody this needs no async dispatch,
+ * which roughly halves the cost of a small /generate request.
+ */
+public class Utf8SinkHttpMessageConverter extends AbstractHttpMessageConverter<Utf8Sink> {
+
+    public Utf8SinkHttpMessageConverter() {
+        super(StandardCharsets.UTF_8, MediaType.TEXT_PLAIN, MediaType.ALL);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Utf8Sink.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Utf8Sink readInternal(Class<? extends Utf8Sink> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Utf8Sink cannot be read", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Utf8Sink sink, MediaType contentType) {
+        return sink.size();
+    }
+
+    @Override
+    protected void writeInternal(Utf8Sink sink, HttpOutputMessage outputMessage) throws IOException {
+        try {
+            sink.writeTo(outputMessage.getBody());
+        } finally {
+            sink.close();
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.sqlgenerator.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class Column {
     private String name;
     private String type;
@@ -8,6 +10,8 @@ public class Column {
     private boolean nullable = true;
     private boolean unique;
     private String defaultValue;
+    // Interned TypeMapping id, -1 until resolved
+    private int typeId = -1;
 
     // Getters and setters
     public String getName() {
@@ -30,6 +34,7 @@ public class Column {
             throw new IllegalArgumentException("Type cannot be null or empty");
         }
         this.type = type;
+        this.typeId = -1;
     }
 
     public boolean isPrimaryKey() {
@@ -71,4 +76,14 @@ public class Column {
     public void setDefaultValue(String defaultValue) {
         this.defaultValue = defaultValue;
     }
+
+    @JsonIgnore
+    public int getTypeId() {
+        return typeId;
+    }
+
+    @JsonIgnore
+    public void setTypeId(int typeId) {
+        this.typeId = typeId;
+    }
 }
\ No newline at end of file
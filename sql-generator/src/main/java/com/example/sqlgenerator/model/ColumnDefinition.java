@@ -1,5 +1,7 @@
 package com.example.sqlgenerator.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 public class ColumnDefinition {
     private String name;
     private String type;
@@ -8,6 +10,8 @@ public class ColumnDefinition {
     private boolean nullable = true;
     private boolean unique;
     private String defaultValue;
+    // Interned TypeMapping id, -1 until resolved
+    private int typeId = -1;
 
     public String getName() {
         return name;
@@ -23,6 +27,7 @@ public class ColumnDefinition {
 
     public void setType(String type) {
         this.type = type;
+        this.typeId = -1;
     }
 
     public boolean isPrimaryKey() {
@@ -64,4 +69,14 @@ public class ColumnDefinition {
     public void setDefaultValue(String defaultValue) {
         this.defaultValue = defaultValue;
     }
+
+    @JsonIgnore
+    public int getTypeId() {
+        return typeId;
+    }
+
+    @JsonIgnore
+    public void setTypeId(int typeId) {
+        this.typeId = typeId;
+    }
 }
\ No newline at end of file
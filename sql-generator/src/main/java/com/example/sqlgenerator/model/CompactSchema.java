@@ -0,0 +1,35 @@
+package com.example.sqlgenerator.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Read-only schema of CompactTables sharing one StringInterner
+public final class CompactSchema {
+
+    private final List<CompactTable> tables;
+    private final int distinctStrings;
+
+    private CompactSchema(List<CompactTable> tables, int distinctStrings) {
+        this.tables = tables;
+        this.distinctStrings = distinctStrings;
+    }
+
+    // Type ids are copied as they are, so resolve them on the tables first to keep them
+    public static CompactSchema of(List<Table> tables) {
+        StringInterner interner = new StringInterner();
+        List<CompactTable> compact = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            compact.add(CompactTable.of(TableView.of(table), interner));
+        }
+        return new CompactSchema(Collections.unmodifiableList(compact), interner.size());
+    }
+
+    public List<CompactTable> getTables() {
+        return tables;
+    }
+
+    public int getDistinctStrings() {
+        return distinctStrings;
+    }
+}
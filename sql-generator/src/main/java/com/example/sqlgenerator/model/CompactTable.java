@@ -0,0 +1,153 @@
+package com.example.sqlgenerator.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable table with its columns laid out in parallel arrays: one interned name and type per
+ * column, the TypeMapping id, and the four column flags packed into a byte. Defaults are only
+ * allocated when at least one column has one.
+ */
+public final class CompactTable implements TableView {
+
+    private final String name;
+    private final String[] names;
+    private final String[] types;
+    private final int[] typeIds;
+    private final byte[] flags;
+    private final String[] defaults;
+    private final List<TableRelation> relations;
+    private final List<IndexDefinition> indexes;
+    // Shared with the source table, they are rare and small
+    private final PartitionDefinition partition;
+    private final StorageOptions storage;
+    private final List<QueryPattern> queries;
+
+    private CompactTable(String name, String[] names, String[] types, int[] typeIds, byte[] flags,
+                         String[] defaults, List<TableRelation> relations, List<IndexDefinition> indexes,
+                         PartitionDefinition partition, StorageOptions storage, List<QueryPattern> queries) {
+        this.name = name;
+        this.names = names;
+        this.types = types;
+        this.typeIds = typeIds;
+        this.flags = flags;
+        this.defaults = defaults;
+        this.relations = relations;
+        this.indexes = indexes;
+        this.partition = partition;
+        this.storage = storage;
+        this.queries = queries;
+    }
+
+    public static CompactTable of(TableView table, StringInterner interner) {
+        int count = table.columnCount();
+        String[] names = new String[count];
+        String[] types = new String[count];
+        int[] typeIds = new int[count];
+        byte[] flags = new byte[count];
+        String[] defaults = null;
+
+        for (int i = 0; i < count; i++) {
+            names[i] = interner.intern(table.columnName(i));
+            types[i] = interner.intern(table.columnType(i));
+            typeIds[i] = table.typeId(i);
+            flags[i] = table.flags(i);
+            String defaultValue = table.defaultValue(i);
+            if (defaultValue != null) {
+                if (defaults == null) {
+                    defaults = new String[count];
+                }
+                defaults[i] = interner.intern(defaultValue);
+            }
+        }
+
+        return new CompactTable(interner.intern(table.getName()), names, types, typeIds, flags, defaults,
+                relations(table.getRelations(), interner), indexes(table.getIndexes()),
+                table.getPartition(), table.getStorage(), table.getQueries());
+    }
+
+    private static List<TableRelation> relations(List<TableRelation> relations, StringInterner interner) {
+        if (relations == null || relations.isEmpty()) {
+            return List.of();
+        }
+        List<TableRelation> copies = new ArrayList<>(relations.size());
+        for (TableRelation relation : relations) {
+            TableRelation copy = new TableRelation();
+            copy.setSourceTable(interner.intern(relation.getSourceTable()));
+            copy.setSourceColumn(interner.intern(relation.getSourceColumn()));
+            copy.setTargetTable(interner.intern(relation.getTargetTable()));
+            copy.setTargetColumn(interner.intern(relation.getTargetColumn()));
+            copy.setRelationType(interner.intern(relation.getRelationType()));
+            copies.add(copy);
+        }
+        return Collections.unmodifiableList(copies);
+    }
+
+    private static List<IndexDefinition> indexes(List<IndexDefinition> indexes) {
+        if (indexes == null || indexes.isEmpty()) {
+            return List.of();
+        }
+        return Collections.unmodifiableList(new ArrayList<>(indexes));
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public int columnCount() {
+        return names.length;
+    }
+
+    @Override
+    public String columnName(int column) {
+        return names[column];
+    }
+
+    @Override
+    public String columnType(int column) {
+        return types[column];
+    }
+
+    @Override
+    public int typeId(int column) {
+        return typeIds[column];
+    }
+
+    @Override
+    public byte flags(int column) {
+        return flags[column];
+    }
+
+    @Override
+    public String defaultValue(int column) {
+        return defaults != null ? defaults[column] : null;
+    }
+
+    @Override
+    public List<TableRelation> getRelations() {
+        return relations;
+    }
+
+    @Override
+    public List<IndexDefinition> getIndexes() {
+        return indexes;
+    }
+
+    @Override
+    public PartitionDefinition getPartition() {
+        return partition;
+    }
+
+    @Override
+    public StorageOptions getStorage() {
+        return storage;
+    }
+
+    @Override
+    public List<QueryPattern> getQueries() {
+        return queries;
+    }
+}
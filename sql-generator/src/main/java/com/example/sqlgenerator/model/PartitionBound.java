@@ -0,0 +1,13 @@
+package com.example.sqlgenerator.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PartitionBound {
+    private String name;
+    // RANGE: one exclusive upper bound, MAXVALUE for the last partition; LIST: the values.
+    // Written as given, so string and date literals need their quotes
+    private List<String> values;
+}
@@ -0,0 +1,14 @@
+package com.example.sqlgenerator.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// PARTITION BY clause of a table; dialects without partitioning reject it
+@Data
+public class PartitionDefinition {
+    private String type; // RANGE, LIST or HASH
+    private String column; // partitioning column (or expression, MySQL and PostgreSQL only)
+    private List<PartitionBound> partitions; // RANGE and LIST, in order
+    private Integer count; // HASH: number of partitions
+}
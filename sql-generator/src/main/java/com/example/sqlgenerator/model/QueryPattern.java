@@ -0,0 +1,14 @@
+package com.example.sqlgenerator.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Declared access path of a table; IndexAdvisor derives a composite index from it
+@Data
+public class QueryPattern {
+    private String name; // optional, shown as the reason for the index
+    private List<String> where; // equality predicates
+    private List<String> orderBy; // range predicate or sort, after the equality columns
+    private List<String> select; // other columns read, appended so the index covers the query
+}
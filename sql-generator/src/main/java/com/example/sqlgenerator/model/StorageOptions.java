@@ -0,0 +1,13 @@
+package com.example.sqlgenerator.model;
+
+import lombok.Data;
+
+// Physical layout hints; each dialect writes the ones it has and ignores the rest
+@Data
+public class StorageOptions {
+    private String engine; // MySQL, e.g. InnoDB
+    private String rowFormat; // MySQL ROW_FORMAT, e.g. DYNAMIC or COMPRESSED
+    private String tablespace; // MySQL and PostgreSQL tablespace, SQL Server filegroup
+    private Integer fillFactor; // PostgreSQL table fillfactor, SQL Server primary key FILLFACTOR
+    private Boolean clusteredPrimaryKey; // SQL Server: false for PRIMARY KEY NONCLUSTERED
+}
@@ -0,0 +1,26 @@
+package com.example.sqlgenerator.model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Canonical instance per distinct string, so the millions of repeated column names and type
+ * names of a large schema are stored once. Scoped to one schema build rather than the JVM-wide
+ * String.intern pool, so the table goes away with the schema. Not thread-safe.
+ */
+public class StringInterner {
+
+    private final Map<String, String> strings = new HashMap<>();
+
+    public String intern(String value) {
+        if (value == null) {
+            return null;
+        }
+        String existing = strings.putIfAbsent(value, value);
+        return existing != null ? existing : value;
+    }
+
+    public int size() {
+        return strings.size();
+    }
+}
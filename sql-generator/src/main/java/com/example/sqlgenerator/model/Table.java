@@ -6,6 +6,10 @@ public class Table {
     private String name;
     private List<Column> columns;
     private List<TableRelation> relations;
+    private List<IndexDefinition> indexes;
+    private PartitionDefinition partition; // optional
+    private StorageOptions storage; // optional
+    private List<QueryPattern> queries; // optional, only read by IndexAdvisor
 
     public String getName() {
         return name;
@@ -30,4 +34,36 @@ public class Table {
     public void setRelations(List<TableRelation> relations) {
         this.relations = relations;
     }
-}
\ No newline at end of file
+
+    public List<IndexDefinition> getIndexes() {
+        return indexes;
+    }
+
+    public void setIndexes(List<IndexDefinition> indexes) {
+        this.indexes = indexes;
+    }
+
+    public PartitionDefinition getPartition() {
+        return partition;
+    }
+
+    public void setPartition(PartitionDefinition partition) {
+        this.partition = partition;
+    }
+
+    public StorageOptions getStorage() {
+        return storage;
+    }
+
+    public void setStorage(StorageOptions storage) {
+        this.storage = storage;
+    }
+
+    public List<QueryPattern> getQueries() {
+        return queries;
+    }
+
+    public void setQueries(List<QueryPattern> queries) {
+        this.queries = queries;
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.sqlgenerator.model;
+
+import java.util.List;
+
+// TableView straight over a request's Table and its Column beans
+final class TableBeanView implements TableView {
+
+    private final Table table;
+    private final List<Column> columns;
+
+    TableBeanView(Table table) {
+        if (table.getColumns() == null || table.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Table " + table.getName() + " has no columns");
+        }
+        this.table = table;
+        this.columns = table.getColumns();
+    }
+
+    @Override
+    public String getName() {
+        return table.getName();
+    }
+
+    @Override
+    public int columnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String columnName(int column) {
+        return columns.get(column).getName();
+    }
+
+    @Override
+    public String columnType(int column) {
+        return columns.get(column).getType();
+    }
+
+    @Override
+    public int typeId(int column) {
+        return columns.get(column).getTypeId();
+    }
+
+    @Override
+    public byte flags(int column) {
+        Column c = columns.get(column);
+        return TableView.flags(c.isPrimaryKey(), c.isAutoIncrement(), c.isNullable(), c.isUnique());
+    }
+
+    @Override
+    public String defaultValue(int column) {
+        return columns.get(column).getDefaultValue();
+    }
+
+    @Override
+    public boolean isPrimaryKey(int column) {
+        return columns.get(column).isPrimaryKey();
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) {
+        return columns.get(column).isAutoIncrement();
+    }
+
+    @Override
+    public boolean isNullable(int column) {
+        return columns.get(column).isNullable();
+    }
+
+    @Override
+    public boolean isUnique(int column) {
+        return columns.get(column).isUnique();
+    }
+
+    @Override
+    public List<TableRelation> getRelations() {
+        return table.getRelations();
+    }
+
+    @Override
+    public List<IndexDefinition> getIndexes() {
+        return table.getIndexes();
+    }
+
+    @Override
+    public PartitionDefinition getPartition() {
+        return table.getPartition();
+    }
+
+    @Override
+    public StorageOptions getStorage() {
+        return table.getStorage();
+    }
+
+    @Override
+    public List<QueryPattern> getQueries() {
+        return table.getQueries();
+    }
+}
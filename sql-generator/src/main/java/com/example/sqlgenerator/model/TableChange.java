@@ -0,0 +1,37 @@
+package com.example.sqlgenerator.model;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Column and key changes of one table between two schema versions, written by SqlDialect.writeAlterTable
+@Data
+public class TableChange {
+    private TableView before;
+    private TableView after;
+    private List<Integer> addedColumns = new ArrayList<>(); // indexes into after
+    private Map<Integer, Integer> alteredColumns = new LinkedHashMap<>(); // after index -> before index
+    private List<Integer> droppedColumns = new ArrayList<>(); // indexes into before
+    private boolean primaryKeyChanged;
+    private List<String> previousPrimaryKey = new ArrayList<>();
+    private List<String> primaryKey = new ArrayList<>();
+    private List<String> droppedUniques = new ArrayList<>(); // columns that stay but lose UNIQUE
+    private List<String> addedUniques = new ArrayList<>(); // new or existing columns that gain UNIQUE
+
+    public TableChange(TableView before, TableView after) {
+        this.before = before;
+        this.after = after;
+    }
+
+    public String getTableName() {
+        return after.getName();
+    }
+
+    public boolean isEmpty() {
+        return addedColumns.isEmpty() && alteredColumns.isEmpty() && droppedColumns.isEmpty()
+                && !primaryKeyChanged && droppedUniques.isEmpty() && addedUniques.isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.sqlgenerator.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// TableView straight over a TableDefinition and its ColumnDefinition beans
+final class TableDefinitionView implements TableView {
+
+    private final TableDefinition table;
+    private final List<ColumnDefinition> columns;
+
+    TableDefinitionView(TableDefinition table) {
+        if (table.getColumns() == null || table.getColumns().isEmpty()) {
+            throw new IllegalArgumentException("Table " + table.getTableName() + " has no columns");
+        }
+        this.table = table;
+        this.columns = table.getColumns();
+    }
+
+    @Override
+    public String getName() {
+        return table.getTableName();
+    }
+
+    @Override
+    public int columnCount() {
+        return columns.size();
+    }
+
+    @Override
+    public String columnName(int column) {
+        return columns.get(column).getName();
+    }
+
+    @Override
+    public String columnType(int column) {
+        return columns.get(column).getType();
+    }
+
+    @Override
+    public int typeId(int column) {
+        return columns.get(column).getTypeId();
+    }
+
+    @Override
+    public byte flags(int column) {
+        ColumnDefinition c = columns.get(column);
+        return TableView.flags(c.isPrimaryKey(), c.isAutoIncrement(), c.isNullable(), c.isUnique());
+    }
+
+    @Override
+    public String defaultValue(int column) {
+        return columns.get(column).getDefaultValue();
+    }
+
+    @Override
+    public boolean isPrimaryKey(int column) {
+        return columns.get(column).isPrimaryKey();
+    }
+
+    @Override
+    public boolean isAutoIncrement(int column) {
+        return columns.get(column).isAutoIncrement();
+    }
+
+    @Override
+    public boolean isNullable(int column) {
+        return columns.get(column).isNullable();
+    }
+
+    @Override
+    public boolean isUnique(int column) {
+        return columns.get(column).isUnique();
+    }
+
+    // Foreign keys only exist as ForeignKeyDefinitions here, so they are converted on demand
+    @Override
+    public List<TableRelation> getRelations() {
+        if (table.getForeignKeys() == null) {
+            return null;
+        }
+        List<TableRelation> relations = new ArrayList<>(table.getForeignKeys().size());
+        for (ForeignKeyDefinition fk : table.getForeignKeys()) {
+            TableRelation relation = new TableRelation();
+            relation.setSourceTable(table.getTableName());
+            relation.setSourceColumn(fk.getColumnName());
+            relation.setTargetTable(fk.getReferenceTable());
+            relation.setTargetColumn(fk.getReferenceColumn());
+            relations.add(relation);
+        }
+        return relations;
+    }
+
+    @Override
+    public List<IndexDefinition> getIndexes() {
+        return table.getIndexes();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.sqlgenerator.model;
+
+import java.util.List;
+
+/**
+ * Read-only, index-based view of a table's columns. Generators iterate this instead of a
+ * particular bean type, so a Table, a TableDefinition or a CompactTable is written without
+ * being converted first.
+ */
+public interface TableView {
+
+    // Column flag bits, as packed by CompactTable
+    byte PRIMARY_KEY = 1;
+    byte AUTO_INCREMENT = 2;
+    byte NULLABLE = 4;
+    byte UNIQUE = 8;
+
+    String getName();
+
+    int columnCount();
+
+    String columnName(int column);
+
+    String columnType(int column);
+
+    // TypeMapping id, or TypeMapping.UNRESOLVED when it has not been looked up yet
+    int typeId(int column);
+
+    byte flags(int column);
+
+    String defaultValue(int column);
+
+    List<TableRelation> getRelations();
+
+    List<IndexDefinition> getIndexes();
+
+    // Partitioning and storage options; only request tables carry them
+    default PartitionDefinition getPartition() {
+        return null;
+    }
+
+    default StorageOptions getStorage() {
+        return null;
+    }
+
+    // Declared query patterns, only read by IndexAdvisor
+    default List<QueryPattern> getQueries() {
+        return null;
+    }
+
+    default boolean isPrimaryKey(int column) {
+        return (flags(column) & PRIMARY_KEY) != 0;
+    }
+
+    default boolean isAutoIncrement(int column) {
+        return (flags(column) & AUTO_INCREMENT) != 0;
+    }
+
+    default boolean isNullable(int column) {
+        return (flags(column) & NULLABLE) != 0;
+    }
+
+    default boolean isUnique(int column) {
+        return (flags(column) & UNIQUE) != 0;
+    }
+
+    static TableView of(Table table) {
+        return new TableBeanView(table);
+    }
+
+    static TableView of(TableDefinition table) {
+        return new TableDefinitionView(table);
+    }
+
+    static byte flags(boolean primaryKey, boolean autoIncrement, boolean nullable, boolean unique) {
+        return (byte) ((primaryKey ? PRIMARY_KEY : 0)
+                | (autoIncrement ? AUTO_INCREMENT : 0)
+                | (nullable ? NULLABLE : 0)
+                | (unique ? UNIQUE : 0));
+    }
+}
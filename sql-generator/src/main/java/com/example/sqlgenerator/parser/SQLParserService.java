@@ -1,19 +1,100 @@
 package com.example.sqlgenerator.parser;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.io.Reader;
 import java.io.StringReader;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import com.example.sqlgenerator.exception.SQLParseException;
+import com.example.sqlgenerator.parser.ast.SchemaNode;
+import com.example.sqlgenerator.parser.ast.TableNode;
 import com.example.sqlgenerator.parser.generated.SQLParser;
+import com.example.sqlgenerator.service.GenerationMetrics;
 
 @Service
 public class SQLParserService {
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    @Value("${sql-generator.parser.pool-size:16}")
+    private int poolSize;
+
+    // Idle parsers; each keeps its char stream and token manager buffers across ReInit calls
+    private BlockingQueue<SQLParser> pool;
+
+    private Counter poolHits;
+    private Counter poolMisses;
+
+    @PostConstruct
+    void init() {
+        pool = new ArrayBlockingQueue<>(Math.max(1, poolSize));
+        poolHits = Counter.builder("sql.parser.pool")
+                .tag("result", "hit")
+                .description("Validations served by a pooled parser")
+                .register(meterRegistry);
+        poolMisses = Counter.builder("sql.parser.pool")
+                .tag("result", "miss")
+                .description("Validations that had to allocate a new parser")
+                .register(meterRegistry);
+        meterRegistry.gauge("sql.parser.pool.idle", pool, BlockingQueue::size);
+    }
+
     public void validateSQL(String sql) {
+        parseTable(sql);
+    }
+
+    // One CREATE TABLE plus its CREATE INDEX statements
+    public TableNode parseTable(String sql) {
+        long start = System.nanoTime();
         try (StringReader reader = new StringReader(sql)) {
-            SQLParser parser = new SQLParser(reader);
-            parser.TableDefinition();
+            SQLParser parser = acquire(reader);
+            try {
+                return parser.TableDefinition();
+            } finally {
+                // Parsers are reset by ReInit on the next acquire, so failed ones can be reused too
+                pool.offer(parser);
+                metrics.record(GenerationMetrics.Stage.VALIDATE, start);
+            }
         } catch (Exception e) {
+            metrics.validateFailed();
             throw new SQLParseException("SQL validation failed: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    // A full DDL script, read in a single pass straight from the reader
+    public SchemaNode parseScript(Reader reader) {
+        long start = System.nanoTime();
+        try {
+            SQLParser parser = acquire(reader);
+            try {
+                return parser.Script();
+            } finally {
+                pool.offer(parser);
+                metrics.record(GenerationMetrics.Stage.PARSE, start);
+            }
+        } catch (Exception e) {
+            metrics.parseFailed();
+            throw new SQLParseException("SQL parsing failed: " + e.getMessage(), e);
+        }
+    }
+
+    private SQLParser acquire(Reader reader) {
+        SQLParser parser = pool.poll();
+        if (parser == null) {
+            poolMisses.increment();
+            return new SQLParser(reader);
+        }
+        poolHits.increment();
+        parser.ReInit(reader);
+        return parser;
+    }
+}
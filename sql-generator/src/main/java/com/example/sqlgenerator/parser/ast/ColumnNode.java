@@ -0,0 +1,5 @@
+package com.example.sqlgenerator.parser.ast;
+
+public record ColumnNode(String name, String type, boolean notNull, boolean primaryKey,
+                         boolean unique, boolean autoIncrement, String defaultValue) {
+}
@@ -0,0 +1,6 @@
+package com.example.sqlgenerator.parser.ast;
+
+// name is null when the constraint was not named
+public record ForeignKeyNode(String name, String table, String column,
+                             String referenceTable, String referenceColumn) {
+}
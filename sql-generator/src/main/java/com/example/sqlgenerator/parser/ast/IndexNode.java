@@ -0,0 +1,11 @@
+package com.example.sqlgenerator.parser.ast;
+
+import java.util.List;
+
+// name is null for unnamed table-level UNIQUE constraints
+public record IndexNode(String name, String table, List<String> columns, boolean unique) {
+
+    public IndexNode {
+        columns = List.copyOf(columns);
+    }
+}
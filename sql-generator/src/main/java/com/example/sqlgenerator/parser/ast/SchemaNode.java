@@ -0,0 +1,37 @@
+package com.example.sqlgenerator.parser.ast;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public record SchemaNode(List<TableNode> tables) {
+
+    public SchemaNode {
+        tables = List.copyOf(tables);
+    }
+
+    /**
+     * Groups standalone CREATE INDEX and ALTER TABLE ... FOREIGN KEY statements under the
+     * table they belong to, in one pass over each list. Statements for tables that are not
+     * created in the same script are dropped.
+     */
+    public static SchemaNode of(List<TableNode> tables, List<IndexNode> indexes, List<ForeignKeyNode> foreignKeys) {
+        Map<String, List<IndexNode>> indexesByTable = new HashMap<>();
+        for (IndexNode index : indexes) {
+            indexesByTable.computeIfAbsent(index.table(), name -> new ArrayList<>()).add(index);
+        }
+        Map<String, List<ForeignKeyNode>> foreignKeysByTable = new HashMap<>();
+        for (ForeignKeyNode foreignKey : foreignKeys) {
+            foreignKeysByTable.computeIfAbsent(foreignKey.table(), name -> new ArrayList<>()).add(foreignKey);
+        }
+
+        List<TableNode> merged = new ArrayList<>(tables.size());
+        for (TableNode table : tables) {
+            merged.add(table.with(
+                    indexesByTable.getOrDefault(table.name(), List.of()),
+                    foreignKeysByTable.getOrDefault(table.name(), List.of())));
+        }
+        return new SchemaNode(merged);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.sqlgenerator.parser.ast;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public record TableNode(String name, List<ColumnNode> columns, List<String> primaryKey,
+                        List<ForeignKeyNode> foreignKeys, List<IndexNode> indexes) {
+
+    public TableNode {
+        columns = List.copyOf(columns);
+        primaryKey = List.copyOf(primaryKey);
+        foreignKeys = List.copyOf(foreignKeys);
+        indexes = List.copyOf(indexes);
+    }
+
+    // Attaches CREATE INDEX / ALTER TABLE statements that followed the CREATE TABLE
+    public TableNode with(List<IndexNode> moreIndexes, List<ForeignKeyNode> moreForeignKeys) {
+        if (moreIndexes.isEmpty() && moreForeignKeys.isEmpty()) {
+            return this;
+        }
+        List<IndexNode> allIndexes = new ArrayList<>(indexes);
+        allIndexes.addAll(moreIndexes);
+        List<ForeignKeyNode> allForeignKeys = new ArrayList<>(foreignKeys);
+        allForeignKeys.addAll(moreForeignKeys);
+        return new TableNode(name, columns, primaryKey, allForeignKeys, allIndexes);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.sqlgenerator.repository;
+
+import com.example.sqlgenerator.dto.SchemaVersionInfo;
+import com.example.sqlgenerator.entity.SchemaSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SchemaSnapshotRepository extends JpaRepository<SchemaSnapshot, Long> {
+
+    Optional<SchemaSnapshot> findBySchemaIdAndVersion(String schemaId, int version);
+
+    Optional<SchemaSnapshot> findFirstBySchemaIdOrderByVersionDesc(String schemaId);
+
+    @Query("select max(s.version) from SchemaSnapshot s where s.schemaId = :schemaId")
+    Optional<Integer> findLatestVersion(@Param("schemaId") String schemaId);
+
+    // Version list without the table JSON
+    @Query("select new com.example.sqlgenerator.dto.SchemaVersionInfo(s.schemaId, s.version, s.contentHash,"
+            + " s.baseVersion, s.tableCount, s.createdAt, false)"
+            + " from SchemaSnapshot s where s.schemaId = :schemaId order by s.version")
+    List<SchemaVersionInfo> findVersions(@Param("schemaId") String schemaId);
+}
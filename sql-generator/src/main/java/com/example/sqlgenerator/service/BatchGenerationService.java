@@ -0,0 +1,61 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.dto.BatchItemResult;
+import com.example.sqlgenerator.dto.TableRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+@Service
+public class BatchGenerationService {
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private SqlDialectRegistry dialectRegistry;
+
+    @Autowired
+    private SchemaValidator schemaValidator;
+
+    @Autowired
+    @Qualifier("batchGenerationExecutor")
+    private AsyncTaskExecutor batchGenerationExecutor;
+
+    // Results keep the order of the requests; a failing schema only fails its own item
+    public List<BatchItemResult> generate(List<TableRequest> requests) {
+        List<Future<String>> futures = new ArrayList<>(requests.size());
+        for (TableRequest request : requests) {
+            futures.add(batchGenerationExecutor.submit(() -> generateOne(request)));
+        }
+
+        List<BatchItemResult> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(new BatchItemResult(i, futures.get(i).get(), null));
+            } catch (ExecutionException e) {
+                results.add(new BatchItemResult(i, null, e.getCause().getMessage()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(new BatchItemResult(i, null, "Interrupted"));
+            }
+        }
+        return results;
+    }
+
+    private String generateOne(TableRequest request) {
+        if (request == null || request.getTables() == null || request.getTables().isEmpty()) {
+            throw new IllegalArgumentException("No tables provided");
+        }
+        SqlDialect dialect = dialectRegistry.resolve(request.getDialect());
+        schemaValidator.validate(request.getTables(), dialect);
+        return ddlScriptService.generate(request.getTables(), dialect, request.isParallel(), request.isOrdered());
+    }
+}
@@ -0,0 +1,244 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.PartitionBound;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.StorageOptions;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded LRU cache of generated CREATE TABLE fragments, keyed by the dialect and a SHA-256
+ * of the normalized table (name, columns and relations). Entries older than the TTL are
+ * dropped on access and whenever the cache is written to.
+ */
+@Component
+public class DdlCache {
+
+    private static final byte FIELD_SEPARATOR = 0x1f;
+    private static final byte RECORD_SEPARATOR = 0x1e;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql-generator.cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${sql-generator.cache.max-entries:10000}")
+    private int maxEntries;
+
+    @Value("${sql-generator.cache.ttl:PT1H}")
+    private Duration ttl;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    // Approximate: two bytes per cached char plus the hex key
+    private long footprintBytes;
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("sql.ddl.cache.requests", this, cache -> cache.counts()[0])
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("sql.ddl.cache.requests", this, cache -> cache.counts()[1])
+                .tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("sql.ddl.cache.evictions", this, cache -> cache.counts()[2])
+                .register(meterRegistry);
+        Gauge.builder("sql.ddl.cache.hit.ratio", this, DdlCache::hitRatio).register(meterRegistry);
+        Gauge.builder("sql.ddl.cache.size", this, DdlCache::size).register(meterRegistry);
+        Gauge.builder("sql.ddl.cache.memory", this, DdlCache::footprintBytes)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    public void writeCreateTable(SqlDialect dialect, Table table, Appendable out) throws IOException {
+        if (!enabled) {
+            dialect.writeCreateTable(table, out);
+            return;
+        }
+        out.append(lookup(dialect, table).createTable);
+    }
+
+    private Entry lookup(SqlDialect dialect, Table table) throws IOException {
+        String key = key(dialect, table);
+        long now = System.nanoTime();
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && now - entry.createdAt < ttl.toNanos()) {
+                hits++;
+                return entry;
+            }
+            if (entry != null) {
+                remove(key, entry);
+            }
+            misses++;
+        }
+
+        StringBuilder createTable = new StringBuilder();
+        dialect.writeCreateTable(table, createTable);
+        Entry entry = new Entry(createTable.toString(), now);
+
+        synchronized (this) {
+            Entry previous = entries.put(key, entry);
+            if (previous != null) {
+                footprintBytes -= footprint(key, previous);
+            }
+            footprintBytes += footprint(key, entry);
+            evictExpiredAndOverflow(now);
+        }
+        return entry;
+    }
+
+    private void evictExpiredAndOverflow(long now) {
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            boolean expired = now - eldest.getValue().createdAt >= ttl.toNanos();
+            if (!expired && entries.size() <= maxEntries) {
+                break;
+            }
+            footprintBytes -= footprint(eldest.getKey(), eldest.getValue());
+            evictions++;
+            it.remove();
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        entries.remove(key);
+        footprintBytes -= footprint(key, entry);
+        evictions++;
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        footprintBytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long footprintBytes() {
+        return footprintBytes;
+    }
+
+    public synchronized double hitRatio() {
+        long total = hits + misses;
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    private synchronized long[] counts() {
+        return new long[] {hits, misses, evictions};
+    }
+
+    private static long footprint(String key, Entry entry) {
+        return 2L * (key.length() + entry.createTable.length());
+    }
+
+    static String key(SqlDialect dialect, Table table) {
+        MessageDigest digest = sha256();
+        update(digest, dialect.getName());
+        update(digest, table.getName());
+        if (table.getColumns() != null) {
+            for (Column column : table.getColumns()) {
+                digest.update(RECORD_SEPARATOR);
+                update(digest, column.getName());
+                update(digest, column.getType());
+                update(digest, column.getDefaultValue());
+                digest.update((byte) ((column.isPrimaryKey() ? 1 : 0)
+                        | (column.isAutoIncrement() ? 2 : 0)
+                        | (column.isNullable() ? 4 : 0)
+                        | (column.isUnique() ? 8 : 0)));
+            }
+        }
+        if (table.getRelations() != null) {
+            for (TableRelation relation : table.getRelations()) {
+                digest.update(RECORD_SEPARATOR);
+                update(digest, relation.getSourceTable());
+                update(digest, relation.getSourceColumn());
+                update(digest, relation.getTargetTable());
+                update(digest, relation.getTargetColumn());
+                update(digest, relation.getRelationType());
+            }
+        }
+        PartitionDefinition partition = table.getPartition();
+        if (partition != null) {
+            // Tagged, so these records cannot be mistaken for a relation
+            digest.update(RECORD_SEPARATOR);
+            digest.update((byte) 'P');
+            update(digest, partition.getType());
+            update(digest, partition.getColumn());
+            update(digest, partition.getCount() != null ? partition.getCount().toString() : null);
+            if (partition.getPartitions() != null) {
+                for (PartitionBound bound : partition.getPartitions()) {
+                    update(digest, bound.getName());
+                    if (bound.getValues() != null) {
+                        for (String value : bound.getValues()) {
+                            update(digest, value);
+                        }
+                    }
+                    digest.update(FIELD_SEPARATOR);
+                }
+            }
+        }
+        StorageOptions storage = table.getStorage();
+        if (storage != null) {
+            digest.update(RECORD_SEPARATOR);
+            digest.update((byte) 'S');
+            update(digest, storage.getEngine());
+            update(digest, storage.getRowFormat());
+            update(digest, storage.getTablespace());
+            update(digest, storage.getFillFactor() != null ? storage.getFillFactor().toString() : null);
+            update(digest, storage.getClusteredPrimaryKey() != null ? storage.getClusteredPrimaryKey().toString() : null);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Length-prefixed, so null, "" and values that contain a separator never hash alike
+    private static void update(MessageDigest digest, String value) {
+        if (value == null) {
+            updateInt(digest, -1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        updateInt(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void updateInt(MessageDigest digest, int value) {
+        digest.update((byte) (value >>> 24));
+        digest.update((byte) (value >>> 16));
+        digest.update((byte) (value >>> 8));
+        digest.update((byte) value);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(String createTable, long createdAt) {
+    }
+}
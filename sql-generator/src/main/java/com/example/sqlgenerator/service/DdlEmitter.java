@@ -0,0 +1,191 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.parser.generated.SQLParserConstants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Writes CREATE TABLE / CREATE INDEX text that the SQLGrammar TableDefinition production always accepts.
+ * Every piece is checked or quoted as it is written, so the result does not need to be parsed again;
+ * input that cannot be expressed in the grammar is rejected up front.
+ */
+@Component
+public class DdlEmitter {
+
+    private static final Pattern PLAIN_IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    // Same shape as the grammar's DataType: a word, optional (n[,n...]), then more words
+    private static final Pattern DATA_TYPE = Pattern.compile(
+            "([A-Za-z_][A-Za-z0-9_]*)(\\(\\d+(?:\\.\\d+)?(?:,\\d+(?:\\.\\d+)?)*\\))?((?: [A-Za-z_][A-Za-z0-9_]*)*)");
+
+    // Keyword tokens of the generated parser; plain identifiers must not collide with them
+    private static final Set<String> KEYWORDS = new HashSet<>();
+
+    static {
+        for (String image : SQLParserConstants.tokenImage) {
+            if (image.length() > 2 && image.charAt(0) == '"' && Character.isLetter(image.charAt(1))) {
+                KEYWORDS.add(image.substring(1, image.length() - 1));
+            }
+        }
+    }
+
+    @Autowired
+    private TypeMapping typeMapping;
+
+    @Autowired
+    private SQLGeneratorService sqlGeneratorService;
+
+    // CREATE TABLE followed by the table's CREATE INDEX statements
+    public String createTable(TableDefinition table) {
+        StringBuilder sql = new StringBuilder();
+        String tableName = table.getTableName();
+
+        sql.append("CREATE TABLE ");
+        identifier(sql, tableName);
+        sql.append(" (\n");
+
+        List<ColumnDefinition> columns = table.getColumns();
+        if (columns == null || columns.isEmpty()) {
+            throw new IllegalArgumentException("Table " + tableName + " has no columns");
+        }
+
+        boolean first = true;
+        for (ColumnDefinition column : columns) {
+            first = separator(sql, first);
+            column(sql, column);
+        }
+
+        if (table.getForeignKeys() != null) {
+            for (ForeignKeyDefinition fk : table.getForeignKeys()) {
+                first = separator(sql, first);
+                sql.append("    FOREIGN KEY (");
+                identifier(sql, fk.getColumnName());
+                sql.append(") REFERENCES ");
+                identifier(sql, fk.getReferenceTable());
+                sql.append('(');
+                identifier(sql, fk.getReferenceColumn());
+                sql.append(')');
+            }
+        }
+        sql.append("\n);\n");
+
+        if (table.getIndexes() != null && !table.getIndexes().isEmpty()) {
+            sql.append('\n');
+            for (IndexDefinition index : table.getIndexes()) {
+                sql.append('\n');
+                index(sql, tableName, index);
+            }
+            sql.append('\n');
+        }
+
+        return sql.toString();
+    }
+
+    private void column(StringBuilder sql, ColumnDefinition column) {
+        sql.append("    ");
+        identifier(sql, column.getName());
+        sql.append(' ');
+        dataType(sql, sqlGeneratorService.typeName(column));
+
+        if (column.isPrimaryKey() && column.isAutoIncrement()) {
+            sql.append(" AUTO_INCREMENT PRIMARY KEY");
+        } else {
+            if (!column.isNullable()) {
+                sql.append(" NOT NULL");
+            }
+            if (column.isUnique()) {
+                sql.append(" UNIQUE");
+            }
+        }
+
+        // Only date defaults are written, as in SQLGeneratorService
+        if (column.getDefaultValue() != null && typeMapping.idOf(column) == TypeMapping.DATE) {
+            sql.append(" DEFAULT CURRENT_TIMESTAMP");
+        }
+    }
+
+    private void index(StringBuilder sql, String tableName, IndexDefinition index) {
+        List<String> columnNames = index.getColumnNames();
+        if (columnNames == null || columnNames.isEmpty()) {
+            throw new IllegalArgumentException("Index on " + tableName + " has no columns");
+        }
+
+        String indexName = index.getIndexName() != null ? index.getIndexName()
+                : (index.isUnique() ? "uq_" : "idx_") + tableName + "_" + String.join("_", columnNames);
+
+        sql.append("CREATE ");
+        if (index.isUnique()) {
+            sql.append("UNIQUE ");
+        }
+        sql.append("INDEX ");
+        identifier(sql, indexName);
+        sql.append(" ON ");
+        identifier(sql, tableName);
+        sql.append('(');
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            identifier(sql, columnNames.get(i));
+        }
+        sql.append(");");
+    }
+
+    // Plain names are written as-is, anything else is quoted with backticks
+    private void identifier(StringBuilder sql, String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Missing identifier");
+        }
+        if (PLAIN_IDENTIFIER.matcher(name).matches() && !KEYWORDS.contains(name.toUpperCase(Locale.ROOT))) {
+            sql.append(name);
+        } else if (name.indexOf('`') < 0) {
+            sql.append('`').append(name).append('`');
+        } else {
+            throw new IllegalArgumentException("Identifier cannot be quoted: " + name);
+        }
+    }
+
+    private void dataType(StringBuilder sql, String type) {
+        if (type == null) {
+            throw new IllegalArgumentException("Missing column type");
+        }
+        Matcher matcher = DATA_TYPE.matcher(type.trim());
+        if (!matcher.matches() || !isTypeWord(matcher.group(1)) || !areTypeWords(matcher.group(3))) {
+            throw new IllegalArgumentException("Unsupported column type: " + type);
+        }
+        sql.append(type.trim());
+    }
+
+    // INT and VARCHAR are their own tokens; any other keyword is not a valid type name
+    private boolean isTypeWord(String word) {
+        String upper = word.toUpperCase(Locale.ROOT);
+        return upper.equals("INT") || upper.equals("VARCHAR") || !KEYWORDS.contains(upper);
+    }
+
+    private boolean areTypeWords(String words) {
+        for (String word : words.trim().split(" ")) {
+            if (!word.isEmpty() && KEYWORDS.contains(word.toUpperCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean separator(StringBuilder sql, boolean first) {
+        if (!first) {
+            sql.append(",\n");
+        }
+        return false;
+    }
+}
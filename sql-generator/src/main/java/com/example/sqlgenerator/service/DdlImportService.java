@@ -0,0 +1,84 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.parser.SQLParserService;
+import com.example.sqlgenerator.parser.ast.ColumnNode;
+import com.example.sqlgenerator.parser.ast.ForeignKeyNode;
+import com.example.sqlgenerator.parser.ast.IndexNode;
+import com.example.sqlgenerator.parser.ast.SchemaNode;
+import com.example.sqlgenerator.parser.ast.TableNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Reverse-engineers existing DDL into the model, straight from the parser's AST
+@Service
+public class DdlImportService {
+
+    @Autowired
+    private SQLParserService sqlParserService;
+
+    public List<TableDefinition> importDdl(Reader ddl) {
+        SchemaNode schema = sqlParserService.parseScript(ddl);
+
+        List<TableDefinition> definitions = new ArrayList<>(schema.tables().size());
+        for (TableNode table : schema.tables()) {
+            definitions.add(toTableDefinition(table));
+        }
+        return definitions;
+    }
+
+    private TableDefinition toTableDefinition(TableNode table) {
+        TableDefinition definition = new TableDefinition();
+        definition.setTableName(table.name());
+
+        // Table-level PRIMARY KEY (...) marks its columns
+        Set<String> primaryKey = new HashSet<>(table.primaryKey());
+
+        List<ColumnDefinition> columns = new ArrayList<>(table.columns().size());
+        for (ColumnNode node : table.columns()) {
+            ColumnDefinition column = new ColumnDefinition();
+            column.setName(node.name());
+            // Kept as declared; unknown types are written back as-is by SQLGeneratorService
+            column.setType(node.type());
+            boolean isPrimaryKey = node.primaryKey() || primaryKey.contains(node.name());
+            column.setPrimaryKey(isPrimaryKey);
+            column.setAutoIncrement(node.autoIncrement());
+            column.setNullable(!node.notNull() && !isPrimaryKey);
+            column.setUnique(node.unique());
+            column.setDefaultValue(node.defaultValue());
+            columns.add(column);
+        }
+        definition.setColumns(columns);
+
+        List<ForeignKeyDefinition> foreignKeys = new ArrayList<>(table.foreignKeys().size());
+        for (ForeignKeyNode node : table.foreignKeys()) {
+            ForeignKeyDefinition foreignKey = new ForeignKeyDefinition();
+            foreignKey.setColumnName(node.column());
+            foreignKey.setReferenceTable(node.referenceTable());
+            foreignKey.setReferenceColumn(node.referenceColumn());
+            foreignKeys.add(foreignKey);
+        }
+        definition.setForeignKeys(foreignKeys);
+
+        List<IndexDefinition> indexes = new ArrayList<>(table.indexes().size());
+        for (IndexNode node : table.indexes()) {
+            IndexDefinition index = new IndexDefinition();
+            index.setIndexName(node.name() != null ? node.name()
+                    : (node.unique() ? "uq_" : "idx_") + table.name() + "_" + String.join("_", node.columns()));
+            index.setColumnNames(node.columns());
+            index.setUnique(node.unique());
+            indexes.add(index);
+        }
+        definition.setIndexes(indexes);
+
+        return definition;
+    }
+}
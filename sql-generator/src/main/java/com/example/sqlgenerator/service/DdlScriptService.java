@@ -0,0 +1,270 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.model.CompactTable;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+
+@Service
+public class DdlScriptService {
+
+    // Tables per fork/join leaf task
+    private static final int SPLIT_THRESHOLD = 256;
+
+    @Autowired
+    private DdlCache ddlCache;
+
+    @Autowired
+    private SQLGeneratorService sqlGeneratorService;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    @Autowired
+    @Qualifier("tableGenerationPool")
+    private ForkJoinPool tableGenerationPool;
+
+    /**
+     * Requests below this size are generated sequentially even when they ask for parallel
+     * mode. A 20-column table takes about 1.2 us to generate; parallel mode adds roughly 40%
+     * per table for the intermediate fragments, so on a single core it is always slower.
+     * It only pays off once every worker gets at least one full leaf task, i.e. from about
+     * SPLIT_THRESHOLD x cores tables (around 2,000 on an 8-core box).
+     */
+    @Value("${sql-generator.parallel.min-tables:2000}")
+    private int parallelMinTables;
+
+    public String generate(List<Table> tables, SqlDialect dialect) {
+        return generate(tables, dialect, false);
+    }
+
+    public String generate(List<Table> tables, SqlDialect dialect, boolean parallel) {
+        return generate(tables, dialect, parallel, false);
+    }
+
+    public String generate(List<Table> tables, SqlDialect dialect, boolean parallel, boolean ordered) {
+        StringBuilder sql = new StringBuilder();
+        try {
+            write(tables, dialect, parallel, ordered, sql);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sql.toString();
+    }
+
+    public void write(List<Table> tables, SqlDialect dialect, Appendable out) throws IOException {
+        write(tables, dialect, false, out);
+    }
+
+    public void write(List<Table> tables, SqlDialect dialect, boolean parallel, boolean ordered,
+                      Appendable out) throws IOException {
+        if (ordered) {
+            writeOrdered(tables, dialect, out);
+        } else {
+            write(tables, dialect, parallel, out);
+        }
+    }
+
+    // All CREATE TABLE statements first, then the relation block
+    public void write(List<Table> tables, SqlDialect dialect, boolean parallel, Appendable out) throws IOException {
+        long start = System.nanoTime();
+        if (parallel && tables.size() >= parallelMinTables) {
+            // Fragments land in their input slot, so joining them keeps the output deterministic
+            String[] fragments = new String[tables.size()];
+            tableGenerationPool.invoke(new CreateTableTask(tables, dialect, fragments, 0, tables.size()));
+            for (int i = 0; i < fragments.length; i++) {
+                out.append(fragments[i]).append("\n\n");
+                writeIndexes(tables.get(i).getName(), tables.get(i).getIndexes(), out);
+            }
+        } else {
+            for (Table table : tables) {
+                writeTable(table, dialect, out);
+            }
+        }
+        start = metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
+
+        writeRelations(tables, dialect, out);
+        metrics.record(GenerationMetrics.Stage.RELATIONS, start);
+    }
+
+    // CREATE TABLE and its indexes, without the table's foreign keys
+    public void writeTable(Table table, SqlDialect dialect, Appendable out) throws IOException {
+        writeTable(table, dialect, true, out);
+    }
+
+    public void writeTable(Table table, SqlDialect dialect, boolean cached, Appendable out) throws IOException {
+        if (cached) {
+            ddlCache.writeCreateTable(dialect, table, out);
+        } else {
+            dialect.writeCreateTable(table, out);
+        }
+        out.append("\n\n");
+        writeIndexes(table.getName(), table.getIndexes(), out);
+    }
+
+    public void write(CompactSchema schema, SqlDialect dialect, boolean ordered, Appendable out) throws IOException {
+        if (ordered) {
+            writeOrdered(schema, dialect, out);
+        } else {
+            write(schema, dialect, out);
+        }
+    }
+
+    // Same layout as write(), straight from the compact model and without DdlCache
+    public void write(CompactSchema schema, SqlDialect dialect, Appendable out) throws IOException {
+        long start = System.nanoTime();
+        for (CompactTable table : schema.getTables()) {
+            writeTable(table, dialect, out);
+        }
+        start = metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
+
+        for (CompactTable table : schema.getTables()) {
+            dialect.writeRelations(table.getRelations(), out);
+        }
+        metrics.record(GenerationMetrics.Stage.RELATIONS, start);
+    }
+
+    public void writeRelations(List<Table> tables, SqlDialect dialect, Appendable out) throws IOException {
+        for (Table table : tables) {
+            dialect.writeRelations(table.getRelations(), out);
+        }
+    }
+
+    /**
+     * Tables in foreign-key dependency order, each CREATE TABLE carrying its own constraints.
+     * Only relations between tables of the same cycle are left for trailing ALTER TABLE
+     * statements, preceded by a comment naming the tables of each cycle. Always sequential.
+     */
+    public void writeOrdered(List<Table> tables, SqlDialect dialect, Appendable out) throws IOException {
+        writeOrdered(tables, Table::getName, Table::getRelations, TableView::of,
+                (table, sql) -> writeTable(table, dialect, sql), dialect, out);
+    }
+
+    public void writeOrdered(CompactSchema schema, SqlDialect dialect, Appendable out) throws IOException {
+        writeOrdered(schema.getTables(), CompactTable::getName, CompactTable::getRelations, table -> table,
+                (table, sql) -> writeTable(table, dialect, sql), dialect, out);
+    }
+
+    private <T> void writeOrdered(List<T> tables, Function<T, String> names,
+                                  Function<T, List<TableRelation>> relations, Function<T, TableView> views,
+                                  TableWriter<T> plain, SqlDialect dialect, Appendable out) throws IOException {
+        long start = System.nanoTime();
+        TableDependencyOrder<T> order = TableDependencyOrder.of(tables, names,
+                table -> targetsOf(relations.apply(table)));
+        start = metrics.record(GenerationMetrics.Stage.ORDER, start);
+        List<TableRelation> deferred = new ArrayList<>();
+
+        for (T table : order.ordered()) {
+            String name = names.apply(table);
+            List<TableRelation> inline = new ArrayList<>();
+            if (relations.apply(table) != null) {
+                for (TableRelation relation : relations.apply(table)) {
+                    // A relation filed under another table cannot go into this CREATE TABLE
+                    boolean own = name != null && name.equals(relation.getSourceTable());
+                    if (own && !order.isDeferred(relation.getSourceTable(), relation.getTargetTable())) {
+                        inline.add(relation);
+                    } else {
+                        deferred.add(relation);
+                    }
+                }
+            }
+
+            if (inline.isEmpty()) {
+                plain.write(table, out);
+            } else {
+                TableView view = views.apply(table);
+                dialect.writeCreateTable(view, inline, out);
+                out.append("\n\n");
+                writeIndexes(name, view.getIndexes(), out);
+            }
+        }
+        start = metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
+
+        for (List<String> cycle : order.cycles()) {
+            out.append("-- Foreign key cycle: ").append(String.join(", ", cycle)).append('\n');
+        }
+        dialect.writeRelations(deferred, out);
+        metrics.record(GenerationMetrics.Stage.RELATIONS, start);
+    }
+
+    private void writeTable(CompactTable table, SqlDialect dialect, Appendable out) throws IOException {
+        dialect.writeCreateTable(table, List.of(), out);
+        out.append("\n\n");
+        writeIndexes(table.getName(), table.getIndexes(), out);
+    }
+
+    static List<String> targetsOf(List<TableRelation> relations) {
+        if (relations == null) {
+            return List.of();
+        }
+        List<String> targets = new ArrayList<>(relations.size());
+        for (TableRelation relation : relations) {
+            targets.add(relation.getTargetTable());
+        }
+        return targets;
+    }
+
+    private interface TableWriter<T> {
+        void write(T table, Appendable out) throws IOException;
+    }
+
+    private void writeIndexes(String tableName, List<IndexDefinition> indexes, Appendable out) throws IOException {
+        if (indexes == null || indexes.isEmpty()) {
+            return;
+        }
+        for (IndexDefinition index : indexes) {
+            sqlGeneratorService.writeCreateIndex(tableName, index, out);
+            out.append('\n');
+        }
+        out.append('\n');
+    }
+
+    private class CreateTableTask extends RecursiveAction {
+        private final List<Table> tables;
+        private final SqlDialect dialect;
+        private final String[] fragments;
+        private final int from;
+        private final int to;
+
+        CreateTableTask(List<Table> tables, SqlDialect dialect, String[] fragments, int from, int to) {
+            this.tables = tables;
+            this.dialect = dialect;
+            this.fragments = fragments;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SPLIT_THRESHOLD) {
+                try {
+                    for (int i = from; i < to; i++) {
+                        StringBuilder fragment = new StringBuilder();
+                        ddlCache.writeCreateTable(dialect, tables.get(i), fragment);
+                        fragments[i] = fragment.toString();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CreateTableTask(tables, dialect, fragments, from, middle),
+                    new CreateTableTask(tables, dialect, fragments, middle, to));
+        }
+    }
+}
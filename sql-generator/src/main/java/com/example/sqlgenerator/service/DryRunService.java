@@ -0,0 +1,229 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dto.DryRunResult;
+import com.example.sqlgenerator.model.Table;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.sql.BatchUpdateException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Applies a generated script to a private in-memory H2 database running in the compatibility
+ * mode of the dialect. Statements are sent as JDBC batches; H2 keeps executing a batch past a
+ * failing statement and returns one exception per failure, so every broken statement is reported,
+ * not just the first. Execution times come from H2's own QUERY_STATISTICS, which are per
+ * statement even inside a batch. The database is dropped when its connection closes.
+ * H2 has no SQLite mode and no partitions or tablespaces, so SQLite is rejected and a schema's
+ * partition and storage options are left out of the script it runs.
+ */
+@Service
+public class DryRunService {
+
+    private static final Map<String, String> MODES = Map.of(
+            "MySQL", "MySQL",
+            "PostgreSQL", "PostgreSQL",
+            "SQL Server", "MSSQLServer");
+
+    private static final AtomicLong DATABASES = new AtomicLong();
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private IndexAdvisor indexAdvisor;
+
+    @Value("${sql-generator.dry-run.batch-size:500}")
+    private int batchSize;
+
+    // The script /generate would return for these tables, minus partitioning and storage options
+    public DryRunResult run(List<Table> tables, SqlDialect dialect, boolean ordered, boolean adviseIndexes)
+            throws IOException, SQLException {
+        modeOf(dialect);
+        List<Table> logical = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            logical.add(withoutPhysicalLayout(table));
+        }
+        StringBuilder sql = new StringBuilder();
+        ddlScriptService.write(logical, dialect, false, ordered, sql);
+        if (adviseIndexes) {
+            indexAdvisor.write(indexAdvisor.plan(logical, dialect), sql);
+        }
+        return run(sql.toString(), dialect);
+    }
+
+    public DryRunResult run(String script, SqlDialect dialect) throws SQLException {
+        String mode = modeOf(dialect);
+        List<String> statements = new ArrayList<>();
+        List<Integer> lines = new ArrayList<>();
+        split(script, statements, lines);
+
+        String[] errors = new String[statements.size()];
+        String url = "jdbc:h2:mem:dryrun" + DATABASES.incrementAndGet() + ";MODE=" + mode
+                + ";QUERY_STATISTICS=TRUE;QUERY_STATISTICS_MAX_ENTRIES=" + Math.max(100, statements.size());
+        Map<String, Double> millis;
+        double elapsedMillis;
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            long start = System.nanoTime();
+            for (int from = 0; from < statements.size(); from += batchSize) {
+                int to = Math.min(from + batchSize, statements.size());
+                for (int i = from; i < to; i++) {
+                    statement.addBatch(statements.get(i));
+                }
+                try {
+                    statement.executeBatch();
+                } catch (BatchUpdateException e) {
+                    recordFailures(e, from, errors);
+                }
+            }
+            elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+            millis = executionTimes(statement);
+        }
+
+        List<DryRunResult.StatementResult> results = new ArrayList<>(statements.size());
+        int failures = 0;
+        for (int i = 0; i < statements.size(); i++) {
+            if (errors[i] != null) {
+                failures++;
+            }
+            results.add(new DryRunResult.StatementResult(lines.get(i), statements.get(i),
+                    errors[i] == null ? millis.get(statements.get(i)) : null, errors[i]));
+        }
+        return new DryRunResult(dialect.getName(), mode, statements.size(), failures, elapsedMillis, results);
+    }
+
+    private static String modeOf(SqlDialect dialect) {
+        String mode = MODES.get(dialect.getName());
+        if (mode == null) {
+            throw new IllegalArgumentException("H2 has no compatibility mode for " + dialect.getName());
+        }
+        return mode;
+    }
+
+    private static Table withoutPhysicalLayout(Table table) {
+        if (table.getPartition() == null && table.getStorage() == null) {
+            return table;
+        }
+        Table copy = new Table();
+        copy.setName(table.getName());
+        copy.setColumns(table.getColumns());
+        copy.setRelations(table.getRelations());
+        copy.setIndexes(table.getIndexes());
+        copy.setQueries(table.getQueries());
+        return copy;
+    }
+
+    // Update counts mark the failed statements, the chained exceptions follow in the same order
+    private static void recordFailures(BatchUpdateException e, int offset, String[] errors) {
+        int[] counts = e.getUpdateCounts();
+        SQLException next = e.getNextException();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.EXECUTE_FAILED) {
+                errors[offset + i] = next != null ? firstLine(next.getMessage()) : firstLine(e.getMessage());
+                next = next != null ? next.getNextException() : null;
+            }
+        }
+    }
+
+    // Average time per distinct statement text; identical statements share one entry
+    private static Map<String, Double> executionTimes(Statement statement) throws SQLException {
+        Map<String, Double> millis = new HashMap<>();
+        try (ResultSet rows = statement.executeQuery(
+                "SELECT SQL_STATEMENT, AVERAGE_EXECUTION_TIME FROM INFORMATION_SCHEMA.QUERY_STATISTICS")) {
+            while (rows.next()) {
+                millis.put(rows.getString(1), rows.getDouble(2));
+            }
+        }
+        return millis;
+    }
+
+    // H2 appends the statement to the message, the report already has it
+    private static String firstLine(String message) {
+        int end = message.indexOf('\n');
+        return end < 0 ? message : message.substring(0, end).replaceFirst("; SQL statement:$", "");
+    }
+
+    /**
+     * Splits on semicolons outside quotes and comments. Comments are dropped, statements keep
+     * their text otherwise, so they match H2's statistics entries.
+     */
+    static void split(String script, List<String> statements, List<Integer> lines) {
+        StringBuilder current = new StringBuilder();
+        int line = 1;
+        int startLine = 1;
+        int length = script.length();
+        for (int i = 0; i < length; i++) {
+            char c = script.charAt(i);
+            if (c == '-' && i + 1 < length && script.charAt(i + 1) == '-') {
+                while (i < length && script.charAt(i) != '\n') {
+                    i++;
+                }
+                i--;
+                continue;
+            }
+            if (c == '/' && i + 1 < length && script.charAt(i + 1) == '*') {
+                int end = script.indexOf("*/", i + 2);
+                end = end < 0 ? length : end + 2;
+                for (int j = i; j < end; j++) {
+                    if (script.charAt(j) == '\n') {
+                        line++;
+                    }
+                }
+                i = end - 1;
+                continue;
+            }
+            if (current.length() == 0 && Character.isWhitespace(c)) {
+                if (c == '\n') {
+                    line++;
+                }
+                continue;
+            }
+            if (current.length() == 0) {
+                startLine = line;
+            }
+            if (c == '\'' || c == '"' || c == '`' || c == '[') {
+                char close = c == '[' ? ']' : c;
+                current.append(c);
+                // A doubled quote inside a literal is an escaped quote, the loop just continues past it
+                while (++i < length) {
+                    char q = script.charAt(i);
+                    current.append(q);
+                    if (q == '\n') {
+                        line++;
+                    }
+                    if (q == close) {
+                        break;
+                    }
+                }
+                continue;
+            }
+            if (c == ';') {
+                statements.add(current.toString().stripTrailing());
+                lines.add(startLine);
+                current.setLength(0);
+                continue;
+            }
+            if (c == '\n') {
+                line++;
+            }
+            current.append(c);
+        }
+        if (!current.toString().isBlank()) {
+            statements.add(current.toString().stripTrailing());
+            lines.add(startLine);
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.sqlgenerator.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage timers and per-request sizes shared by the controller and the generation services.
+ * Stages are recorded as sql.generate.stage{stage=...}; together with http.server.requests
+ * they show where a slow request spent its time.
+ */
+@Component
+public class GenerationMetrics {
+
+    public enum Stage {
+        BIND,           // Jackson reading and binding the request body
+        ORDER,          // foreign-key ordering (ordered=true)
+        CREATE_TABLES,  // CREATE TABLE and CREATE INDEX statements
+        RELATIONS,      // trailing ALTER TABLE ... FOREIGN KEY block
+        VALIDATE,       // JavaCC re-parse of generated SQL
+        PARSE,          // JavaCC parse of imported DDL
+        SCHEMA_CHECK,   // SchemaValidator: duplicate names and dangling references
+        INDEX_PLAN      // IndexAdvisor: secondary indexes from relations and query patterns
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Timer[] stages = new Timer[Stage.values().length];
+    private DistributionSummary tables;
+    private DistributionSummary columns;
+    private DistributionSummary bytes;
+    private Counter validateFailures;
+    private Counter parseFailures;
+
+    @PostConstruct
+    void init() {
+        for (Stage stage : Stage.values()) {
+            stages[stage.ordinal()] = Timer.builder("sql.generate.stage")
+                    .description("Time spent in one stage of handling a request")
+                    .tag("stage", stage.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry);
+        }
+        tables = DistributionSummary.builder("sql.request.tables")
+                .description("Tables per request")
+                .register(meterRegistry);
+        columns = DistributionSummary.builder("sql.request.columns")
+                .description("Columns per request")
+                .register(meterRegistry);
+        bytes = DistributionSummary.builder("sql.response.bytes")
+                .description("UTF-8 bytes of generated SQL per response")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        validateFailures = Counter.builder("sql.parse.failures")
+                .description("Statements rejected by the JavaCC grammar")
+                .tag("operation", "validate")
+                .register(meterRegistry);
+        parseFailures = Counter.builder("sql.parse.failures")
+                .description("Statements rejected by the JavaCC grammar")
+                .tag("operation", "import")
+                .register(meterRegistry);
+    }
+
+    // Records the time since start and returns now, so consecutive stages can be chained
+    public long record(Stage stage, long start) {
+        long now = System.nanoTime();
+        stages[stage.ordinal()].record(now - start, TimeUnit.NANOSECONDS);
+        return now;
+    }
+
+    public void recordRequest(int tableCount, long columnCount) {
+        tables.record(tableCount);
+        columns.record(columnCount);
+    }
+
+    public void recordBytes(long byteCount) {
+        bytes.record(byteCount);
+    }
+
+    public void validateFailed() {
+        validateFailures.increment();
+    }
+
+    public void parseFailed() {
+        parseFailures.increment();
+    }
+}
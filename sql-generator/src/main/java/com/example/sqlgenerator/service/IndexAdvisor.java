@@ -0,0 +1,260 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dto.IndexPlan;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.QueryPattern;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Plans the secondary indexes a schema is missing: one per foreign key column that no index
+ * starts with, and one composite index per declared query pattern (equality columns, then the
+ * range or sort columns, then the selected columns so the query is answered from the index).
+ * A candidate whose columns are a prefix of another index is dropped, and declared indexes in
+ * that situation are reported as redundant. On MySQL foreign keys get no index of their own,
+ * InnoDB creates one for every constraint that has no usable index.
+ */
+@Service
+public class IndexAdvisor {
+
+    // Key columns per index in MySQL and SQL Server; PostgreSQL allows 32
+    private static final int MAX_COLUMNS = 16;
+
+    // PostgreSQL truncates longer identifiers, the shortest limit of the supported dialects
+    private static final int MAX_NAME_LENGTH = 63;
+
+    @Autowired
+    private SQLGeneratorService sqlGeneratorService;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    public IndexPlan plan(List<Table> tables, SqlDialect dialect) {
+        if (tables == null) {
+            return new IndexPlan();
+        }
+        List<TableView> views = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            views.add(TableView.of(table));
+        }
+        return planViews(views, dialect);
+    }
+
+    public IndexPlan plan(CompactSchema schema, SqlDialect dialect) {
+        return planViews(schema.getTables(), dialect);
+    }
+
+    private IndexPlan planViews(List<? extends TableView> tables, SqlDialect dialect) {
+        long start = System.nanoTime();
+        IndexPlan plan = new IndexPlan();
+        boolean implicitForeignKeyIndexes = dialect.getName().equalsIgnoreCase("MySQL");
+
+        // A relation may be filed under either of its tables, the index belongs to the source
+        Map<String, List<ForeignKeyDefinition>> foreignKeys = new HashMap<>();
+        if (!implicitForeignKeyIndexes) {
+            for (TableView table : tables) {
+                if (table.getRelations() == null) {
+                    continue;
+                }
+                for (TableRelation relation : table.getRelations()) {
+                    foreignKeys.computeIfAbsent(relation.getSourceTable(), name -> new ArrayList<>())
+                            .add(sqlGeneratorService.toForeignKeyDefinition(relation));
+                }
+            }
+        }
+
+        // PostgreSQL index names share one namespace per schema with tables and the other indexes
+        Set<String> names = new HashSet<>();
+        for (TableView table : tables) {
+            names.add(table.getName());
+            if (table.getIndexes() != null) {
+                for (IndexDefinition index : table.getIndexes()) {
+                    names.add(index.getIndexName());
+                }
+            }
+        }
+
+        for (TableView table : tables) {
+            planTable(table, foreignKeys.getOrDefault(table.getName(), List.of()), names, plan);
+        }
+        metrics.record(GenerationMetrics.Stage.INDEX_PLAN, start);
+        return plan;
+    }
+
+    // Advised CREATE INDEX statements, each after a comment with its reason, then the redundant indexes
+    public void write(IndexPlan plan, Appendable out) throws IOException {
+        for (IndexPlan.AdvisedIndex index : plan.getIndexes()) {
+            out.append("-- ").append(index.getTable()).append(": ").append(index.getReason()).append('\n')
+                    .append(index.getSql()).append('\n');
+        }
+        for (IndexPlan.RedundantIndex index : plan.getRedundant()) {
+            out.append("-- Redundant: ").append(index.getIndexName())
+                    .append(" ON ").append(index.getTable())
+                    .append('(').append(String.join(", ", index.getColumns())).append(')')
+                    .append(" is covered by ").append(index.getCoveredBy()).append('\n');
+        }
+        if (!plan.getIndexes().isEmpty() || !plan.getRedundant().isEmpty()) {
+            out.append('\n');
+        }
+    }
+
+    private void planTable(TableView table, List<ForeignKeyDefinition> foreignKeys, Set<String> names, IndexPlan plan) {
+        // What the table already has: primary key and UNIQUE columns, then the declared indexes
+        List<Candidate> indexes = new ArrayList<>();
+        List<String> primaryKey = new ArrayList<>();
+        for (int i = 0; i < table.columnCount(); i++) {
+            String column = table.columnName(i);
+            if (table.isPrimaryKey(i)) {
+                primaryKey.add(column);
+            } else if (table.isUnique(i)) {
+                indexes.add(new Candidate("UNIQUE (" + column + ")", List.of(column), true, null));
+            }
+        }
+        if (!primaryKey.isEmpty()) {
+            indexes.add(0, new Candidate("PRIMARY KEY", primaryKey, true, null));
+        }
+        if (table.getIndexes() != null) {
+            for (IndexDefinition index : table.getIndexes()) {
+                if (index.getColumnNames() != null && !index.getColumnNames().isEmpty()) {
+                    indexes.add(new Candidate(index.getIndexName(), index.getColumnNames(), index.isUnique(), null));
+                }
+            }
+        }
+        int existing = indexes.size();
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (ForeignKeyDefinition fk : foreignKeys) {
+            if (fk.getColumnName() != null) {
+                candidates.add(new Candidate(null, List.of(fk.getColumnName()), false,
+                        "foreign key to " + fk.getReferenceTable() + "(" + fk.getReferenceColumn() + ")"));
+            }
+        }
+        if (table.getQueries() != null) {
+            for (QueryPattern query : table.getQueries()) {
+                List<String> columns = columnsOf(query);
+                if (!columns.isEmpty()) {
+                    candidates.add(new Candidate(null, columns, false,
+                            query.getName() != null ? "query " + query.getName() : "query on " + table.getName()));
+                }
+            }
+        }
+
+        // Longest first, so a candidate that another one extends is dropped instead of emitted next to it
+        List<Candidate> bySize = new ArrayList<>(candidates);
+        bySize.sort(Comparator.comparingInt(candidate -> -candidate.columns.size()));
+        for (Candidate candidate : bySize) {
+            if (coveringIndex(candidate.columns, indexes) == null) {
+                candidate.accepted = true;
+                indexes.add(candidate);
+            }
+        }
+
+        for (Candidate candidate : candidates) {
+            if (!candidate.accepted) {
+                continue;
+            }
+            IndexDefinition index = new IndexDefinition();
+            index.setIndexName(indexName(table.getName(), candidate.columns, names));
+            index.setColumnNames(candidate.columns);
+            candidate.name = index.getIndexName();
+            plan.getIndexes().add(new IndexPlan.AdvisedIndex(table.getName(), index, candidate.reason,
+                    sqlGeneratorService.generateCreateIndexSQL(table.getName(), index)));
+        }
+
+        // A unique index enforces a constraint, so it is never redundant; of two identical lists the first is kept
+        for (int i = 0; i < existing; i++) {
+            Candidate declared = indexes.get(i);
+            if (declared.unique) {
+                continue;
+            }
+            for (int j = 0; j < indexes.size(); j++) {
+                Candidate other = indexes.get(j);
+                if (j != i && startsWith(other.columns, declared.columns)
+                        && (other.columns.size() > declared.columns.size() || other.unique || j < i)) {
+                    plan.getRedundant().add(new IndexPlan.RedundantIndex(table.getName(), declared.name,
+                            declared.columns, other.name));
+                    break;
+                }
+            }
+        }
+    }
+
+    private static List<String> columnsOf(QueryPattern query) {
+        Set<String> columns = new LinkedHashSet<>();
+        addAll(columns, query.getWhere());
+        addAll(columns, query.getOrderBy());
+        int keyColumns = columns.size();
+        addAll(columns, query.getSelect());
+        List<String> list = new ArrayList<>(columns);
+        if (list.size() > MAX_COLUMNS) {
+            // Too wide to cover the query, index the predicate and sort columns only
+            list = list.subList(0, Math.min(keyColumns, MAX_COLUMNS));
+        }
+        return list;
+    }
+
+    private static void addAll(Set<String> columns, List<String> names) {
+        if (names != null) {
+            columns.addAll(names);
+        }
+    }
+
+    private static Candidate coveringIndex(List<String> columns, List<Candidate> indexes) {
+        for (Candidate index : indexes) {
+            if (startsWith(index.columns, columns)) {
+                return index;
+            }
+        }
+        return null;
+    }
+
+    private static boolean startsWith(List<String> columns, List<String> prefix) {
+        return columns.size() >= prefix.size() && columns.subList(0, prefix.size()).equals(prefix);
+    }
+
+    // idx_<table>_<columns>, shortened with a hash when too long and numbered when taken
+    private static String indexName(String table, List<String> columns, Set<String> taken) {
+        String name = "idx_" + table + "_" + String.join("_", columns);
+        if (name.length() > MAX_NAME_LENGTH) {
+            name = name.substring(0, MAX_NAME_LENGTH - 9) + "_" + String.format("%08x", name.hashCode());
+        }
+        String unique = name;
+        for (int n = 2; !taken.add(unique); n++) {
+            // The number replaces the end of a long name rather than pushing it past the limit
+            String suffix = "_" + n;
+            unique = name.substring(0, Math.min(name.length(), MAX_NAME_LENGTH - suffix.length())) + suffix;
+        }
+        return unique;
+    }
+
+    private static final class Candidate {
+        private String name;
+        private final List<String> columns;
+        private final boolean unique;
+        private final String reason; // null for indexes the table already has
+        private boolean accepted;
+
+        Candidate(String name, List<String> columns, boolean unique, String reason) {
+            this.name = name;
+            this.columns = columns;
+            this.unique = unique;
+            this.reason = reason;
+        }
+    }
+}
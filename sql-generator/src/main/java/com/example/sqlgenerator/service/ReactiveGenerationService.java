@@ -0,0 +1,83 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reactive counterpart of StreamingIngestService: one DDL fragment per incoming table, then the
+ * relation block once the input completes. Fragments are only generated on demand, so a slow
+ * consumer stops both generation and the reading of further tables. Each table is checked on its
+ * own before it is written, so a bad one ends the stream with a SchemaValidationException instead
+ * of a script that stops short; references to other tables can only fail in the relation block.
+ */
+@Service
+public class ReactiveGenerationService {
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private SchemaValidator schemaValidator;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    public Flux<DataBuffer> generate(Flux<Table> tables, SqlDialect dialect, DataBufferFactory bufferFactory) {
+        return Flux.defer(() -> {
+            // Per subscription, touched only by the serialized map/concatWith signals
+            List<TableRelation> relations = new ArrayList<>();
+            long[] counts = new long[3]; // tables, columns, bytes
+            long start = System.nanoTime();
+
+            Flux<DataBuffer> createTables = tables.map(table -> {
+                schemaValidator.validateTable(table, (int) counts[0]);
+                StringBuilder fragment = new StringBuilder();
+                try {
+                    // One-off schemas would only churn DdlCache, so they bypass it
+                    ddlScriptService.writeTable(table, dialect, false, fragment);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                counts[0]++;
+                counts[1] += table.getColumns() != null ? table.getColumns().size() : 0;
+                if (table.getRelations() != null) {
+                    relations.addAll(table.getRelations());
+                }
+                return encode(fragment, bufferFactory, counts);
+            });
+
+            Mono<DataBuffer> relationBlock = Mono.fromCallable(() -> {
+                long relationsStart = metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
+                metrics.recordRequest((int) counts[0], counts[1]);
+
+                StringBuilder block = new StringBuilder();
+                dialect.writeRelations(relations, block);
+                metrics.record(GenerationMetrics.Stage.RELATIONS, relationsStart);
+                // An empty Mono when there are no relations
+                return block.length() > 0 ? encode(block, bufferFactory, counts) : null;
+            });
+
+            return createTables.concatWith(relationBlock)
+                    .doOnComplete(() -> metrics.recordBytes(counts[2]));
+        });
+    }
+
+    private DataBuffer encode(CharSequence sql, DataBufferFactory bufferFactory, long[] counts) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(sql.length()).write(sql, StandardCharsets.UTF_8);
+        counts[2] += buffer.readableByteCount();
+        return buffer;
+    }
+}
@@ -1,10 +1,19 @@
 package com.example.sqlgenerator.service;
 
+import com.example.sqlgenerator.dialect.TypeMapping;
 import com.example.sqlgenerator.model.TableDefinition;
 import com.example.sqlgenerator.model.ColumnDefinition;
 import com.example.sqlgenerator.model.IndexDefinition;
 import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Set;
@@ -15,50 +24,72 @@ import java.util.HashMap;
 @Service
 public class SQLGeneratorService {
 
+    @Autowired
+    private TypeMapping typeMapping;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    // Indexed by TypeMapping id; null means the declared type is written as-is
+    private String[] typeNames;
+
+    @PostConstruct
+    void init() {
+        typeNames = typeMapping.tableFor("generic", Map.of(
+                "entier", "INT",
+                "texte", "VARCHAR(255)",
+                "date", "DATE"), null);
+    }
+
+    // Generic CREATE TABLE statements in input order; relations are not part of this output
+    public String generateSimpleSQL(List<Table> tables) {
+        long start = System.nanoTime();
+        StringBuilder sql = new StringBuilder();
+        for (Table table : tables) {
+            sql.append(generateCreateTableSQL(TableView.of(table), List.of())).append("\n\n");
+        }
+        metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
+        return sql.toString();
+    }
+
     public String generateCreateTableSQL(TableDefinition table) {
+        return generateCreateTableSQL(TableView.of(table), table.getForeignKeys());
+    }
+
+    // Works on any TableView, so request Tables are written without a TableDefinition copy
+    public String generateCreateTableSQL(TableView table, List<ForeignKeyDefinition> foreignKeys) {
         StringBuilder sql = new StringBuilder();
-        sql.append("CREATE TABLE ").append(table.getTableName()).append(" (\n");
+        sql.append("CREATE TABLE ").append(table.getName()).append(" (\n");
 
         List<String> columnDefs = new ArrayList<>();
 
         // Add regular columns
-        for (ColumnDefinition column : table.getColumns()) {
+        for (int i = 0; i < table.columnCount(); i++) {
             StringBuilder columnDef = new StringBuilder();
-            columnDef.append("    ").append(column.getName()).append(" ");
+            columnDef.append("    ").append(table.columnName(i)).append(" ");
 
             // Handle data type
-            switch (column.getType().toLowerCase()) {
-                case "entier":
-                    columnDef.append("INT");
-                    break;
-                case "texte":
-                    columnDef.append("VARCHAR(255)");
-                    break;
-                case "date":
-                    columnDef.append("DATE");
-                    break;
-                default:
-                    columnDef.append(column.getType());
-            }
+            int typeId = typeMapping.idOf(table, i);
+            String typeName = typeNames[typeId];
+            columnDef.append(typeName != null ? typeName : table.columnType(i));
 
             // Handle primary key with auto increment
-            if (column.isPrimaryKey() && column.isAutoIncrement()) {
+            if (table.isPrimaryKey(i) && table.isAutoIncrement(i)) {
                 columnDef.append(" AUTO_INCREMENT PRIMARY KEY");
             } else {
                 // Not null constraint
-                if (!column.isNullable()) {
+                if (!table.isNullable(i)) {
                     columnDef.append(" NOT NULL");
                 }
 
                 // Unique constraint
-                if (column.isUnique()) {
+                if (table.isUnique(i)) {
                     columnDef.append(" UNIQUE");
                 }
             }
 
             // Default value for dates
-            if (column.getDefaultValue() != null &&
-                    column.getType().toLowerCase().equals("date")) {
+            if (table.defaultValue(i) != null && typeId == TypeMapping.DATE) {
                 columnDef.append(" DEFAULT CURRENT_TIMESTAMP");
             }
 
@@ -66,8 +97,8 @@ public class SQLGeneratorService {
         }
 
         // Add foreign key constraints at the end
-        if (table.getForeignKeys() != null) {
-            for (ForeignKeyDefinition fk : table.getForeignKeys()) {
+        if (foreignKeys != null) {
+            for (ForeignKeyDefinition fk : foreignKeys) {
                 columnDefs.add(String.format("    FOREIGN KEY (%s) REFERENCES %s(%s)",
                         fk.getColumnName(),
                         fk.getReferenceTable(),
@@ -81,26 +112,82 @@ public class SQLGeneratorService {
         return sql.toString();
     }
 
-    public String generateAlterTableSQL(String tableName, List<ColumnDefinition> columnsToAdd) {
-        StringBuilder sql = new StringBuilder();
-        sql.append("ALTER TABLE ").append(tableName).append("\n");
+    // Definitions in foreign-key order; keys between tables of a cycle move to trailing ALTER TABLE statements
+    public String generateOrderedSQL(List<TableDefinition> tables) {
+        long start = System.nanoTime();
+        TableDependencyOrder<TableDefinition> order = TableDependencyOrder.of(
+                tables, TableDefinition::getTableName, SQLGeneratorService::referencesOf);
+        start = metrics.record(GenerationMetrics.Stage.ORDER, start);
 
-        for (int i = 0; i < columnsToAdd.size(); i++) {
-            var column = columnsToAdd.get(i);
-            sql.append("ADD COLUMN ").append(column.getName())
-                    .append(" ").append(column.getType());
+        StringBuilder sql = new StringBuilder();
+        List<TableRelation> deferred = new ArrayList<>();
 
-            if (!column.isNullable()) {
-                sql.append(" NOT NULL");
+        for (TableDefinition table : order.ordered()) {
+            TableDefinition definition = table;
+            if (!order.cycles().isEmpty() && table.getForeignKeys() != null) {
+                List<ForeignKeyDefinition> inline = new ArrayList<>();
+                for (ForeignKeyDefinition fk : table.getForeignKeys()) {
+                    if (order.isDeferred(table.getTableName(), fk.getReferenceTable())) {
+                        deferred.add(toRelation(table.getTableName(), fk));
+                    } else {
+                        inline.add(fk);
+                    }
+                }
+                // Copy rather than touch the caller's definition
+                definition = new TableDefinition();
+                definition.setTableName(table.getTableName());
+                definition.setColumns(table.getColumns());
+                definition.setIndexes(table.getIndexes());
+                definition.setForeignKeys(inline);
             }
+            sql.append(generateCreateTableSQL(definition)).append("\n\n");
+        }
+        start = metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
 
-            if (column.isUnique()) {
-                sql.append(" UNIQUE");
-            }
+        for (List<String> cycle : order.cycles()) {
+            sql.append("-- Foreign key cycle: ").append(String.join(", ", cycle)).append('\n');
+        }
+        for (TableRelation relation : deferred) {
+            sql.append(generateAddForeignKeySQL(relation)).append('\n');
+        }
+        metrics.record(GenerationMetrics.Stage.RELATIONS, start);
+        return sql.toString();
+    }
 
-            if (column.getDefaultValue() != null) {
-                sql.append(" DEFAULT ").append(column.getDefaultValue());
+    private static List<String> referencesOf(TableDefinition table) {
+        List<String> references = new ArrayList<>();
+        if (table.getForeignKeys() != null) {
+            for (ForeignKeyDefinition fk : table.getForeignKeys()) {
+                references.add(fk.getReferenceTable());
             }
+        }
+        return references;
+    }
+
+    private TableRelation toRelation(String tableName, ForeignKeyDefinition fk) {
+        TableRelation relation = new TableRelation();
+        relation.setSourceTable(tableName);
+        relation.setSourceColumn(fk.getColumnName());
+        relation.setTargetTable(fk.getReferenceTable());
+        relation.setTargetColumn(fk.getReferenceColumn());
+        return relation;
+    }
+
+    public ForeignKeyDefinition toForeignKeyDefinition(TableRelation relation) {
+        ForeignKeyDefinition fk = new ForeignKeyDefinition();
+        fk.setColumnName(relation.getSourceColumn());
+        fk.setReferenceTable(relation.getTargetTable());
+        fk.setReferenceColumn(relation.getTargetColumn());
+        return fk;
+    }
+
+    public String generateAlterTableSQL(String tableName, List<ColumnDefinition> columnsToAdd) {
+        StringBuilder sql = new StringBuilder();
+        sql.append("ALTER TABLE ").append(tableName).append("\n");
+
+        for (int i = 0; i < columnsToAdd.size(); i++) {
+            sql.append("ADD COLUMN ");
+            appendAlterColumn(sql, columnsToAdd.get(i));
 
             if (i < columnsToAdd.size() - 1) {
                 sql.append(",\n");
@@ -110,20 +197,101 @@ public class SQLGeneratorService {
         return sql.toString();
     }
 
+    private void appendAlterColumn(StringBuilder sql, ColumnDefinition column) {
+        sql.append(column.getName())
+                .append(" ").append(typeName(column));
+
+        if (!column.isNullable()) {
+            sql.append(" NOT NULL");
+        }
+
+        if (column.isUnique()) {
+            sql.append(" UNIQUE");
+        }
+
+        if (column.getDefaultValue() != null) {
+            sql.append(" DEFAULT ").append(column.getDefaultValue());
+        }
+    }
+
+    // Generic type name for a column, or the declared type when it is not a known one
+    public String typeName(ColumnDefinition column) {
+        String typeName = typeNames[typeMapping.idOf(column)];
+        return typeName != null ? typeName : column.getType();
+    }
+
     public String generateDropTableSQL(String tableName) {
         return "DROP TABLE IF EXISTS " + tableName + ";";
     }
 
     public String generateCreateIndexSQL(String tableName, IndexDefinition index) {
         StringBuilder sql = new StringBuilder();
-        sql.append("CREATE ");
+        try {
+            writeCreateIndex(tableName, index, sql);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sql.toString();
+    }
+
+    public void writeCreateIndex(String tableName, IndexDefinition index, Appendable out) throws IOException {
+        out.append("CREATE ");
         if (index.isUnique()) {
-            sql.append("UNIQUE ");
+            out.append("UNIQUE ");
         }
-        sql.append("INDEX ").append(index.getIndexName())
+        out.append("INDEX ").append(index.getIndexName())
                 .append(" ON ").append(tableName)
-                .append("(").append(String.join(", ", index.getColumnNames()))
-                .append(");");
-        return sql.toString();
+                .append('(');
+        List<String> columnNames = index.getColumnNames();
+        for (int i = 0; i < columnNames.size(); i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            out.append(columnNames.get(i));
+        }
+        out.append(");");
+    }
+
+    public String generateAddForeignKeySQL(TableRelation relation) {
+        return "ALTER TABLE " + relation.getSourceTable()
+                + " ADD CONSTRAINT " + foreignKeyName(relation)
+                + " FOREIGN KEY (" + relation.getSourceColumn()
+                + ") REFERENCES " + relation.getTargetTable()
+                + "(" + relation.getTargetColumn() + ");";
+    }
+
+    // Same constraint name the dialects use when emitting relations
+    public String foreignKeyName(TableRelation relation) {
+        return "fk_" + relation.getSourceTable() + "_" + relation.getTargetTable();
+    }
+
+    public TableDefinition toTableDefinition(Table table) {
+        TableDefinition definition = new TableDefinition();
+        definition.setTableName(table.getName());
+
+        List<ColumnDefinition> columns = new ArrayList<>();
+        List<ForeignKeyDefinition> foreignKeys = new ArrayList<>();
+
+        for (Column col : table.getColumns()) {
+            columns.add(toColumnDefinition(col));
+        }
+
+        definition.setColumns(columns);
+        definition.setForeignKeys(foreignKeys);
+        definition.setIndexes(table.getIndexes());
+        return definition;
+    }
+
+    public ColumnDefinition toColumnDefinition(Column col) {
+        ColumnDefinition column = new ColumnDefinition();
+        column.setName(col.getName());
+        column.setType(col.getType());
+        column.setTypeId(col.getTypeId());
+        column.setPrimaryKey(col.isPrimaryKey());
+        column.setAutoIncrement(col.isAutoIncrement());
+        column.setNullable(col.isNullable());
+        column.setUnique(col.isUnique());
+        column.setDefaultValue(col.getDefaultValue());
+        return column;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,259 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableChange;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Computes the migration between two versions of a schema. Tables, columns, indexes and
+ * relations are matched through hash maps keyed by name, so the diff is linear in the size
+ * of both schemas. Statements are ordered so that nothing is dropped while still referenced:
+ * foreign keys and indexes go first, then tables (referencing ones before what they reference),
+ * then column changes and new tables, created referenced-first with their foreign keys inline,
+ * and foreign keys between existing tables last. The statements are written by the target dialect.
+ */
+@Service
+public class SchemaDiffService {
+
+    @Autowired
+    private SQLGeneratorService sqlGeneratorService;
+
+    public String diff(List<Table> previous, List<Table> current, SqlDialect dialect) {
+        Map<String, Table> before = byName(previous);
+        Map<String, Table> after = byName(current);
+
+        List<String> dropForeignKeys = new ArrayList<>();
+        List<String> dropIndexes = new ArrayList<>();
+        List<String> dropTables = new ArrayList<>();
+        List<String> createTables = new ArrayList<>();
+        List<String> alterTables = new ArrayList<>();
+        List<String> createIndexes = new ArrayList<>();
+        List<String> addForeignKeys = new ArrayList<>();
+
+        try {
+            // Referencing tables are dropped first; a foreign key only goes on its own when its
+            // table stays, or when the dropped tables reference each other in a cycle
+            List<Table> dropped = new ArrayList<>();
+            Set<String> droppedNames = new HashSet<>();
+            for (Table old : before.values()) {
+                if (!after.containsKey(old.getName())) {
+                    dropped.add(old);
+                    droppedNames.add(old.getName());
+                }
+            }
+            TableDependencyOrder<Table> dropOrder = TableDependencyOrder.of(dropped, Table::getName,
+                    table -> DdlScriptService.targetsOf(table.getRelations()));
+            Set<String> droppedForeignKeys = new HashSet<>();
+            for (Table old : dropped) {
+                for (TableRelation relation : nullSafe(old.getRelations())) {
+                    boolean kept = !droppedNames.contains(relation.getSourceTable());
+                    if ((kept || dropOrder.isDeferred(relation.getSourceTable(), relation.getTargetTable()))
+                            && droppedForeignKeys.add(relationKey(relation))) {
+                        dropForeignKeys.add(write(out -> dialect.writeDropForeignKey(relation, out)));
+                    }
+                }
+            }
+            List<Table> dropping = dropOrder.ordered();
+            for (int i = dropping.size() - 1; i >= 0; i--) {
+                dropTables.add(sqlGeneratorService.generateDropTableSQL(dropping.get(i).getName()));
+            }
+
+            List<Table> created = new ArrayList<>();
+            for (Table table : after.values()) {
+                if (!before.containsKey(table.getName())) {
+                    created.add(table);
+                }
+            }
+            TableDependencyOrder<Table> createOrder = TableDependencyOrder.of(created, Table::getName,
+                    table -> DdlScriptService.targetsOf(table.getRelations()));
+            for (Table table : createOrder.ordered()) {
+                // Inline like the full script, which is also the only way SQLite declares a foreign key
+                List<TableRelation> inline = new ArrayList<>();
+                for (TableRelation relation : nullSafe(table.getRelations())) {
+                    if (table.getName().equals(relation.getSourceTable())
+                            && !createOrder.isDeferred(relation.getSourceTable(), relation.getTargetTable())) {
+                        inline.add(relation);
+                    } else {
+                        addForeignKeys.add(write(out -> dialect.writeAddForeignKey(relation, out)));
+                    }
+                }
+                createTables.add(write(out -> dialect.writeCreateTable(TableView.of(table), inline, out)));
+                for (IndexDefinition index : nullSafe(table.getIndexes())) {
+                    createIndexes.add(sqlGeneratorService.generateCreateIndexSQL(table.getName(), index));
+                }
+            }
+
+            for (Table table : after.values()) {
+                Table old = before.get(table.getName());
+                if (old == null) {
+                    continue;
+                }
+
+                TableChange change = diffColumns(TableView.of(old), TableView.of(table), dialect);
+                if (!change.isEmpty()) {
+                    alterTables.add(write(out -> dialect.writeAlterTable(change, out)));
+                }
+                diffIndexes(old, table, dialect, dropIndexes, createIndexes);
+                diffRelations(old, table, dialect, droppedForeignKeys, dropForeignKeys, addForeignKeys);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        StringBuilder sql = new StringBuilder();
+        // Column changes come before new tables, whose foreign keys may reference an added column
+        for (List<String> section : List.of(dropForeignKeys, dropIndexes, dropTables,
+                alterTables, createTables, createIndexes, addForeignKeys)) {
+            for (String statement : section) {
+                sql.append(statement).append('\n');
+            }
+        }
+        return sql.toString();
+    }
+
+    // Columns are matched by name; type, nullability, identity and default changes alter a column,
+    // PRIMARY KEY and UNIQUE changes are kept apart so the dialect can drop and add them explicitly
+    private static TableChange diffColumns(TableView old, TableView table, SqlDialect dialect) {
+        TableChange change = new TableChange(old, table);
+        Map<String, Integer> oldColumns = new HashMap<>();
+        for (int i = 0; i < old.columnCount(); i++) {
+            oldColumns.put(old.columnName(i), i);
+            if (old.isPrimaryKey(i)) {
+                change.getPreviousPrimaryKey().add(old.columnName(i));
+            }
+        }
+
+        for (int i = 0; i < table.columnCount(); i++) {
+            String name = table.columnName(i);
+            if (table.isPrimaryKey(i)) {
+                change.getPrimaryKey().add(name);
+            }
+            Integer previous = oldColumns.remove(name);
+            if (previous == null) {
+                change.getAddedColumns().add(i);
+                if (table.isUnique(i)) {
+                    change.getAddedUniques().add(name);
+                }
+                continue;
+            }
+            if (!sameDefinition(old, previous, table, i, dialect)) {
+                change.getAlteredColumns().put(i, previous);
+            }
+            if (old.isUnique(previous) && !table.isUnique(i)) {
+                change.getDroppedUniques().add(name);
+            } else if (!old.isUnique(previous) && table.isUnique(i)) {
+                change.getAddedUniques().add(name);
+            }
+        }
+
+        // Whatever was not matched above no longer exists
+        for (int i = 0; i < old.columnCount(); i++) {
+            if (oldColumns.containsKey(old.columnName(i))) {
+                change.getDroppedColumns().add(i);
+            }
+        }
+        change.setPrimaryKeyChanged(!change.getPrimaryKey().equals(change.getPreviousPrimaryKey()));
+        return change;
+    }
+
+    private void diffIndexes(Table old, Table table, SqlDialect dialect,
+                             List<String> drops, List<String> creates) throws IOException {
+        Map<String, IndexDefinition> oldIndexes = new HashMap<>();
+        for (IndexDefinition index : nullSafe(old.getIndexes())) {
+            oldIndexes.put(index.getIndexName(), index);
+        }
+
+        for (IndexDefinition index : nullSafe(table.getIndexes())) {
+            IndexDefinition oldIndex = oldIndexes.remove(index.getIndexName());
+            if (oldIndex != null && oldIndex.equals(index)) {
+                continue;
+            }
+            if (oldIndex != null) {
+                drops.add(write(out -> dialect.writeDropIndex(table.getName(), oldIndex.getIndexName(), out)));
+            }
+            creates.add(sqlGeneratorService.generateCreateIndexSQL(table.getName(), index));
+        }
+
+        for (IndexDefinition index : oldIndexes.values()) {
+            drops.add(write(out -> dialect.writeDropIndex(table.getName(), index.getIndexName(), out)));
+        }
+    }
+
+    // dropped holds the keys of foreign keys already dropped along with a dropped table
+    private static void diffRelations(Table old, Table table, SqlDialect dialect, Set<String> dropped,
+                                      List<String> drops, List<String> adds) throws IOException {
+        Map<String, TableRelation> oldRelations = new HashMap<>();
+        for (TableRelation relation : nullSafe(old.getRelations())) {
+            oldRelations.put(relationKey(relation), relation);
+        }
+
+        for (TableRelation relation : nullSafe(table.getRelations())) {
+            if (oldRelations.remove(relationKey(relation)) == null) {
+                adds.add(write(out -> dialect.writeAddForeignKey(relation, out)));
+            }
+        }
+
+        for (TableRelation relation : oldRelations.values()) {
+            if (dropped.add(relationKey(relation))) {
+                drops.add(write(out -> dialect.writeDropForeignKey(relation, out)));
+            }
+        }
+    }
+
+    // Compares what the dialect would write, so a missing type or an alias of the same type is no change
+    private static boolean sameDefinition(TableView old, int previous, TableView table, int column, SqlDialect dialect) {
+        return dialect.columnType(old, previous).equals(dialect.columnType(table, column))
+                && old.isAutoIncrement(previous) == table.isAutoIncrement(column)
+                && old.isNullable(previous) == table.isNullable(column)
+                && Objects.equals(defaultOf(old, previous), defaultOf(table, column));
+    }
+
+    private static String defaultOf(TableView table, int column) {
+        String defaultValue = table.defaultValue(column);
+        return defaultValue != null && !defaultValue.isEmpty() ? defaultValue : null;
+    }
+
+    private interface Writer {
+        void write(Appendable out) throws IOException;
+    }
+
+    private static String write(Writer writer) throws IOException {
+        StringBuilder out = new StringBuilder();
+        writer.write(out);
+        return out.toString();
+    }
+
+    private static String relationKey(TableRelation relation) {
+        return relation.getSourceTable() + '\u0000' + relation.getSourceColumn() + '\u0000'
+                + relation.getTargetTable() + '\u0000' + relation.getTargetColumn();
+    }
+
+    // Keeps input order so the generated migration is deterministic
+    private static Map<String, Table> byName(List<Table> tables) {
+        Map<String, Table> byName = new LinkedHashMap<>();
+        for (Table table : nullSafe(tables)) {
+            byName.put(table.getName(), table);
+        }
+        return byName;
+    }
+
+    private static <T> List<T> nullSafe(List<T> list) {
+        return list != null ? list : Collections.emptyList();
+    }
+}
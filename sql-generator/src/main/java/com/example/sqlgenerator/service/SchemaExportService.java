@@ -0,0 +1,182 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dto.ExportResult;
+import com.example.sqlgenerator.io.ByteBufferPool;
+import com.example.sqlgenerator.io.Utf8Sink;
+import com.example.sqlgenerator.model.Table;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes generated scripts to disk instead of a response. Output goes through one pooled buffer
+ * per file into a FileChannel (optionally through gzip), so heap use does not depend on
+ * the size of the schema.
+ */
+@Service
+public class SchemaExportService {
+
+    private static final DateTimeFormatter RUN_NAME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private ByteBufferPool byteBufferPool;
+
+    @Autowired
+    private SeedDataService seedDataService;
+
+    @Value("${sql-generator.export.directory:export}")
+    private String exportDirectory;
+
+    // New timestamped directory under sql-generator.export.directory, so runs never overwrite each other
+    public ExportResult export(List<Table> tables, SqlDialect dialect, boolean perTable, boolean gzip) throws IOException {
+        return export(tables, dialect, perTable, gzip, newRunDirectory("export-"));
+    }
+
+    public ExportResult export(List<Table> tables, SqlDialect dialect, boolean perTable, boolean gzip,
+                               Path directory) throws IOException {
+        Files.createDirectories(directory);
+        String extension = gzip ? ".sql.gz" : ".sql";
+        List<String> files = new ArrayList<>();
+        long bytes = 0;
+
+        if (!perTable) {
+            Path file = newFile(directory, "schema", extension);
+            try (OutputStream out = open(file, gzip); Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                ddlScriptService.write(tables, dialect, sink);
+                sink.flush();
+            }
+            files.add(file.getFileName().toString());
+            return new ExportResult(directory.toAbsolutePath().toString(), files, Files.size(file));
+        }
+
+        // One file per table with its CREATE TABLE and indexes; foreign keys go to a
+        // separate file so the table files can be applied in any order
+        for (Table table : tables) {
+            Path file = newFile(directory, fileName(directory, table.getName()), extension);
+            try (OutputStream out = open(file, gzip); Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                ddlScriptService.writeTable(table, dialect, sink);
+                sink.flush();
+            }
+            files.add(file.getFileName().toString());
+            bytes += Files.size(file);
+        }
+
+        Path relations = newFile(directory, "_relations", extension);
+        try (OutputStream out = open(relations, gzip); Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+            ddlScriptService.writeRelations(tables, dialect, sink);
+            sink.flush();
+        }
+        files.add(relations.getFileName().toString());
+        bytes += Files.size(relations);
+
+        return new ExportResult(directory.toAbsolutePath().toString(), files, bytes);
+    }
+
+    /**
+     * Seed data as one script, or for CSV one file per table plus _load.sql with the BULK INSERT
+     * statements in load order. BULK INSERT cannot read gzip, so CSV files are never compressed.
+     */
+    public ExportResult exportSeed(SeedDataService.SeedPlan plan, boolean gzip) throws IOException {
+        return exportSeed(plan, gzip, newRunDirectory("seed-"));
+    }
+
+    public ExportResult exportSeed(SeedDataService.SeedPlan plan, boolean gzip, Path directory) throws IOException {
+        Files.createDirectories(directory);
+        List<String> files = new ArrayList<>();
+        long bytes = 0;
+
+        if (plan.getFormat() != SeedDataService.Format.CSV) {
+            Path file = newFile(directory, "seed", gzip ? ".sql.gz" : ".sql");
+            try (OutputStream out = open(file, gzip); Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                seedDataService.write(plan, sink);
+                sink.flush();
+            }
+            files.add(file.getFileName().toString());
+            return new ExportResult(directory.toAbsolutePath().toString(), files, Files.size(file));
+        }
+
+        Path load = newFile(directory, "_load", ".sql");
+        try (OutputStream loadOut = open(load, false); Utf8Sink loadSink = Utf8Sink.streaming(byteBufferPool, loadOut)) {
+            for (SeedDataService.TableSeed table : plan.getTables()) {
+                Path file = newFile(directory, fileName(directory, table.getName()), ".csv");
+                try (OutputStream out = open(file, false); Utf8Sink sink = Utf8Sink.streaming(byteBufferPool, out)) {
+                    seedDataService.writeCsv(plan, table, sink);
+                    sink.flush();
+                }
+                seedDataService.writeBulkInsert(plan, table, file, loadSink);
+                files.add(file.getFileName().toString());
+                bytes += Files.size(file);
+            }
+            loadSink.flush();
+        }
+        files.add(load.getFileName().toString());
+        bytes += Files.size(load);
+
+        return new ExportResult(directory.toAbsolutePath().toString(), files, bytes);
+    }
+
+    private Path newRunDirectory(String prefix) throws IOException {
+        Path root = Paths.get(exportDirectory);
+        Files.createDirectories(root);
+
+        String runName = prefix + LocalDateTime.now().format(RUN_NAME);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return Files.createDirectory(root.resolve(attempt == 1 ? runName : runName + "-" + attempt));
+            } catch (FileAlreadyExistsException e) {
+                // Two exports within the same millisecond
+            }
+        }
+    }
+
+    private OutputStream open(Path file, boolean gzip) throws IOException {
+        // The channel stream wraps our buffer's array for each write, so there is no extra copy
+        OutputStream out = Channels.newOutputStream(FileChannel.open(file, StandardOpenOption.WRITE));
+        return gzip ? new GZIPOutputStream(out, 8192) : out;
+    }
+
+    // Table names can clash once sanitized or on case-insensitive file systems
+    private Path newFile(Path directory, String baseName, String extension) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            Path file = directory.resolve(attempt == 1 ? baseName + extension : baseName + "_" + attempt + extension);
+            try {
+                return Files.createFile(file);
+            } catch (FileAlreadyExistsException e) {
+                // try the next suffix
+            }
+        }
+    }
+
+    private String fileName(Path directory, String tableName) {
+        String name = tableName == null ? "" : tableName.replaceAll("[^\\p{L}\\p{N}._-]", "_");
+        if (name.isEmpty() || name.startsWith(".")) {
+            name = "table" + name;
+        }
+        try {
+            directory.resolve(name);
+            return name;
+        } catch (InvalidPathException e) {
+            // The file system encoding (e.g. a POSIX locale) cannot represent the name
+            return name.replaceAll("[^A-Za-z0-9._-]", "_");
+        }
+    }
+}
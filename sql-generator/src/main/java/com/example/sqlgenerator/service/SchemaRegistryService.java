@@ -0,0 +1,293 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dto.SchemaDelta;
+import com.example.sqlgenerator.dto.SchemaVersionInfo;
+import com.example.sqlgenerator.dto.ValidationError;
+import com.example.sqlgenerator.entity.SchemaSnapshot;
+import com.example.sqlgenerator.exception.SchemaNotFoundException;
+import com.example.sqlgenerator.exception.SchemaValidationException;
+import com.example.sqlgenerator.exception.SchemaVersionConflictException;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.repository.SchemaSnapshotRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Versioned schemas stored in H2 through JPA. Each upload, full or delta, is validated and
+ * stored as a new immutable version holding the complete table list as JSON, unless its
+ * SHA-256 matches the latest version. Parsed versions are kept in a bounded LRU as CompactSchemas,
+ * so generating a hot version reads neither the database nor any JSON, and each cached version
+ * costs a fraction of its Table beans (about 30 MB instead of 180 MB for 60,000 tables).
+ * A delta must be based on the latest version; uploads that lose a race for a version number
+ * against another instance sharing the database end in a {@link SchemaVersionConflictException}.
+ */
+@Service
+public class SchemaRegistryService {
+
+    private static final Pattern SCHEMA_ID = Pattern.compile("[A-Za-z0-9_.-]{1,100}");
+
+    // Full uploads do not depend on the previous version, so a lost race is retried this often
+    private static final int SAVE_ATTEMPTS = 3;
+
+    @Autowired
+    private SchemaSnapshotRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TypeMapping typeMapping;
+
+    @Autowired
+    private SchemaValidator schemaValidator;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${sql-generator.registry.cache-size:256}")
+    private int cacheSize;
+
+    // Keyed by id@version; versions never change, so entries need no expiry
+    private final LinkedHashMap<String, CompactSchema> hot = new LinkedHashMap<>(16, 0.75f, true);
+
+    // Serializes uploads within this instance; the unique (schema_id, version) key guards against other instances
+    private final Object writeLock = new Object();
+
+    private long hits;
+    private long misses;
+
+    @PostConstruct
+    void init() {
+        FunctionCounter.builder("sql.registry.cache.requests", this, registry -> registry.counts()[0])
+                .tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("sql.registry.cache.requests", this, registry -> registry.counts()[1])
+                .tag("result", "miss").register(meterRegistry);
+        Gauge.builder("sql.registry.cache.size", this, SchemaRegistryService::cacheSize).register(meterRegistry);
+    }
+
+    public SchemaVersionInfo save(String schemaId, List<Table> tables) {
+        synchronized (writeLock) {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return store(schemaId, tables, null);
+                } catch (DataIntegrityViolationException e) {
+                    if (attempt == SAVE_ATTEMPTS) {
+                        throw new SchemaVersionConflictException(
+                                "Schema '" + schemaId + "' is being changed concurrently, try again");
+                    }
+                }
+            }
+        }
+    }
+
+    // A delta applied to an older version would silently undo the versions after it
+    public SchemaVersionInfo applyDelta(String schemaId, SchemaDelta delta) {
+        synchronized (writeLock) {
+            int latest = latestVersion(schemaId);
+            Integer baseVersion = delta.getBaseVersion();
+            if (baseVersion != null && baseVersion != latest) {
+                if (baseVersion < 1 || baseVersion > latest) {
+                    throw new SchemaNotFoundException("Schema '" + schemaId + "' has no version " + baseVersion);
+                }
+                throw new SchemaVersionConflictException("Version " + baseVersion + " of schema '" + schemaId
+                        + "' is not the latest, apply the delta to version " + latest);
+            }
+            try {
+                return store(schemaId, apply(tables(schemaId, latest), delta), latest);
+            } catch (DataIntegrityViolationException e) {
+                throw new SchemaVersionConflictException("Version " + latest + " of schema '" + schemaId
+                        + "' was changed concurrently, apply the delta to the new latest version");
+            }
+        }
+    }
+
+    public List<SchemaVersionInfo> versions(String schemaId) {
+        List<SchemaVersionInfo> versions = repository.findVersions(schemaId);
+        if (versions.isEmpty()) {
+            throw new SchemaNotFoundException("Schema '" + schemaId + "' does not exist");
+        }
+        return versions;
+    }
+
+    public int latestVersion(String schemaId) {
+        return repository.findLatestVersion(schemaId)
+                .orElseThrow(() -> new SchemaNotFoundException("Schema '" + schemaId + "' does not exist"));
+    }
+
+    // Stored JSON as uploaded, without parsing it
+    public String json(String schemaId, int version) {
+        return snapshot(schemaId, version).getTablesJson();
+    }
+
+    // Validated tables with resolved column types, shared and read-only
+    public CompactSchema schema(String schemaId, int version) {
+        String key = schemaId + "@" + version;
+        synchronized (this) {
+            CompactSchema schema = hot.get(key);
+            if (schema != null) {
+                hits++;
+                return schema;
+            }
+            misses++;
+        }
+
+        CompactSchema schema = CompactSchema.of(parse(json(schemaId, version)));
+        cache(key, schema);
+        return schema;
+    }
+
+    // A fresh copy of the stored tables, not cached
+    public List<Table> tables(String schemaId, int version) {
+        return parse(json(schemaId, version));
+    }
+
+    public synchronized void clearCache() {
+        hot.clear();
+    }
+
+    private static List<Table> apply(List<Table> base, SchemaDelta delta) {
+        // The merged schema is validated when stored, but merging itself needs every table
+        if (delta.getTables() != null) {
+            List<ValidationError> errors = new ArrayList<>();
+            for (int i = 0; i < delta.getTables().size(); i++) {
+                if (delta.getTables().get(i) == null) {
+                    errors.add(new ValidationError("NULL_ENTRY", "tables[" + i + "]", "tables[" + i + "] is null"));
+                }
+            }
+            if (!errors.isEmpty()) {
+                throw new SchemaValidationException(errors, errors.size());
+            }
+        }
+        List<Table> tables = new ArrayList<>(base);
+
+        if (delta.getRemoveTables() != null) {
+            Set<String> removed = new HashSet<>(delta.getRemoveTables());
+            tables.removeIf(table -> removed.contains(table.getName()));
+        }
+        if (delta.getTables() != null) {
+            Map<String, Integer> positions = new LinkedHashMap<>();
+            for (int i = 0; i < tables.size(); i++) {
+                positions.put(tables.get(i).getName(), i);
+            }
+            for (Table table : delta.getTables()) {
+                Integer position = positions.get(table.getName());
+                if (position != null) {
+                    tables.set(position, table);
+                } else {
+                    positions.put(table.getName(), tables.size());
+                    tables.add(table);
+                }
+            }
+        }
+        return tables;
+    }
+
+    private SchemaVersionInfo store(String schemaId, List<Table> tables, Integer baseVersion) {
+        if (schemaId == null || !SCHEMA_ID.matcher(schemaId).matches()) {
+            throw new IllegalArgumentException("Schema id must be 1 to 100 letters, digits, '_', '.' or '-'");
+        }
+        if (tables == null || tables.isEmpty()) {
+            throw new IllegalArgumentException("No tables provided");
+        }
+        schemaValidator.validate(tables);
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(tables);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+        String hash = sha256(json);
+
+        SchemaSnapshot latest = repository.findFirstBySchemaIdOrderByVersionDesc(schemaId).orElse(null);
+        if (latest != null && latest.getContentHash().equals(hash)) {
+            return info(latest, false);
+        }
+
+        SchemaSnapshot snapshot = new SchemaSnapshot();
+        snapshot.setSchemaId(schemaId);
+        snapshot.setVersion(latest != null ? latest.getVersion() + 1 : 1);
+        snapshot.setContentHash(hash);
+        snapshot.setBaseVersion(baseVersion);
+        snapshot.setTableCount(tables.size());
+        snapshot.setTablesJson(json);
+        snapshot.setCreatedAt(Instant.now().truncatedTo(ChronoUnit.MILLIS));
+        repository.save(snapshot);
+
+        // The uploaded objects are the caller's, the cache gets its own copy
+        cache(schemaId + "@" + snapshot.getVersion(), CompactSchema.of(parse(json)));
+        return info(snapshot, true);
+    }
+
+    private SchemaSnapshot snapshot(String schemaId, int version) {
+        return repository.findBySchemaIdAndVersion(schemaId, version)
+                .orElseThrow(() -> new SchemaNotFoundException("Schema '" + schemaId + "' has no version " + version));
+    }
+
+    private List<Table> parse(String json) {
+        try {
+            List<Table> tables = Collections.unmodifiableList(
+                    objectMapper.readValue(json, new TypeReference<List<Table>>() {}));
+            typeMapping.resolve(tables);
+            return tables;
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private synchronized void cache(String key, CompactSchema schema) {
+        hot.put(key, schema);
+        if (hot.size() > cacheSize) {
+            hot.remove(hot.keySet().iterator().next());
+        }
+    }
+
+    private synchronized int cacheSize() {
+        return hot.size();
+    }
+
+    private synchronized long[] counts() {
+        return new long[] {hits, misses};
+    }
+
+    private static SchemaVersionInfo info(SchemaSnapshot snapshot, boolean created) {
+        return new SchemaVersionInfo(snapshot.getSchemaId(), snapshot.getVersion(), snapshot.getContentHash(),
+                snapshot.getBaseVersion(), snapshot.getTableCount(), snapshot.getCreatedAt(), created);
+    }
+
+    private static String sha256(String json) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(json.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
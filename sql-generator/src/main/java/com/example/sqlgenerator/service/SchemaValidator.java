@@ -0,0 +1,421 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dto.ValidationError;
+import com.example.sqlgenerator.exception.SchemaValidationException;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.QueryPattern;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Checks a schema for what a database would reject: null entries, tables without columns,
+ * duplicate table, column and index names, relations, foreign keys or indexes naming a
+ * table or column that does not exist, and unique keys of a partitioned table that leave out
+ * its partition column. The
+ * first pass hashes every table's column names, the second looks each reference up there,
+ * so the cost is linear in the size of the schema. Names are compared exactly, the way the
+ * generators and TableDependencyOrder match them.
+ */
+@Component
+public class SchemaValidator {
+
+    // Details returned per request; the count in the message covers all of them
+    private static final int MAX_ERRORS = 100;
+
+    private static final Pattern IDENTIFIER = Pattern.compile("[\\p{L}_][\\p{L}\\p{N}_$]*");
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    @Value("${sql-generator.schema-validation.enabled:true}")
+    private boolean enabled;
+
+    public void validate(List<Table> tables) {
+        if (!enabled || tables == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Errors errors = new Errors();
+
+        Map<String, Set<String>> columnsByTable = new HashMap<>(capacity(tables.size()));
+        List<Set<String>> ownColumns = new ArrayList<>(tables.size());
+        for (int t = 0; t < tables.size(); t++) {
+            Table table = tables.get(t);
+            if (table == null) {
+                errors.add("NULL_ENTRY", "tables[" + t + "]", "tables[" + t + "] is null");
+                ownColumns.add(Set.of());
+                continue;
+            }
+            Set<String> names = checkColumns(table, t, errors);
+            ownColumns.add(names);
+            if (table.getName() != null && columnsByTable.putIfAbsent(table.getName(), names) != null) {
+                errors.add("DUPLICATE_TABLE", "tables[" + t + "].name",
+                        "Table '" + table.getName() + "' is defined more than once");
+            }
+        }
+
+        for (int t = 0; t < tables.size(); t++) {
+            Table table = tables.get(t);
+            if (table == null) {
+                continue;
+            }
+            checkTable(table, ownColumns.get(t), "tables[" + t + "]", errors);
+
+            List<TableRelation> relations = table.getRelations();
+            if (relations == null) {
+                continue;
+            }
+            for (int r = 0; r < relations.size(); r++) {
+                TableRelation relation = relations.get(r);
+                String path = "tables[" + t + "].relations[" + r + "]";
+                if (relation == null) {
+                    errors.add("NULL_ENTRY", path, path + " is null");
+                    continue;
+                }
+                checkReference(relation.getSourceTable(), relation.getSourceColumn(), columnsByTable,
+                        path + ".sourceTable", path + ".sourceColumn", errors);
+                checkReference(relation.getTargetTable(), relation.getTargetColumn(), columnsByTable,
+                        path + ".targetTable", path + ".targetColumn", errors);
+            }
+        }
+
+        metrics.record(GenerationMetrics.Stage.SCHEMA_CHECK, start);
+        errors.throwIfAny();
+    }
+
+    // The rules that need no other table, for input that arrives one table at a time
+    public void validateTable(Table table, int t) {
+        if (!enabled) {
+            return;
+        }
+        Errors errors = new Errors();
+        if (table == null) {
+            errors.add("NULL_ENTRY", "tables[" + t + "]", "tables[" + t + "] is null");
+        } else {
+            checkTable(table, checkColumns(table, t, errors), "tables[" + t + "]", errors);
+            List<TableRelation> relations = table.getRelations();
+            for (int r = 0; relations != null && r < relations.size(); r++) {
+                if (relations.get(r) == null) {
+                    String path = "tables[" + t + "].relations[" + r + "]";
+                    errors.add("NULL_ENTRY", path, path + " is null");
+                }
+            }
+        }
+        errors.throwIfAny();
+    }
+
+    // validate() plus the rules of one database: MySQL has no foreign keys to or from partitioned tables
+    public void validate(List<Table> tables, SqlDialect dialect) {
+        validate(tables);
+        if (!enabled || tables == null) {
+            return;
+        }
+        List<TableView> views = new ArrayList<>(tables.size());
+        for (Table table : tables) {
+            views.add(TableView.of(table));
+        }
+        checkDialect(views, dialect);
+    }
+
+    public void validate(CompactSchema schema, SqlDialect dialect) {
+        if (enabled) {
+            checkDialect(schema.getTables(), dialect);
+        }
+    }
+
+    // Same checks for parsed DDL, where references are ForeignKeyDefinitions of the owning table
+    public void validateDefinitions(List<TableDefinition> tables) {
+        if (!enabled || tables == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        Errors errors = new Errors();
+
+        Map<String, Set<String>> columnsByTable = new HashMap<>(capacity(tables.size()));
+        List<Set<String>> ownColumns = new ArrayList<>(tables.size());
+        for (int t = 0; t < tables.size(); t++) {
+            TableDefinition table = tables.get(t);
+            if (table == null) {
+                errors.add("NULL_ENTRY", "tables[" + t + "]", "tables[" + t + "] is null");
+                ownColumns.add(Set.of());
+                continue;
+            }
+            List<ColumnDefinition> columns = table.getColumns();
+            Set<String> names = new HashSet<>(capacity(columns != null ? columns.size() : 0));
+            if (columns == null || columns.isEmpty()) {
+                errors.add("NO_COLUMNS", "tables[" + t + "].columns", "Table '" + table.getTableName() + "' has no columns");
+            } else {
+                for (int c = 0; c < columns.size(); c++) {
+                    if (columns.get(c) == null) {
+                        errors.add("NULL_ENTRY", "tables[" + t + "].columns[" + c + "]",
+                                "tables[" + t + "].columns[" + c + "] is null");
+                        continue;
+                    }
+                    String name = columns.get(c).getName();
+                    if (name != null && !names.add(name)) {
+                        errors.add("DUPLICATE_COLUMN", "tables[" + t + "].columns[" + c + "].name",
+                                "Column '" + name + "' is defined twice in table '" + table.getTableName() + "'");
+                    }
+                }
+            }
+            ownColumns.add(names);
+            if (table.getTableName() != null && columnsByTable.putIfAbsent(table.getTableName(), names) != null) {
+                errors.add("DUPLICATE_TABLE", "tables[" + t + "].tableName",
+                        "Table '" + table.getTableName() + "' is defined more than once");
+            }
+        }
+
+        for (int t = 0; t < tables.size(); t++) {
+            TableDefinition table = tables.get(t);
+            if (table == null) {
+                continue;
+            }
+            checkIndexes(table.getTableName(), table.getIndexes(), ownColumns.get(t), "tables[" + t + "]", errors);
+
+            List<ForeignKeyDefinition> foreignKeys = table.getForeignKeys();
+            if (foreignKeys == null) {
+                continue;
+            }
+            for (int f = 0; f < foreignKeys.size(); f++) {
+                ForeignKeyDefinition fk = foreignKeys.get(f);
+                String path = "tables[" + t + "].foreignKeys[" + f + "]";
+                if (fk == null) {
+                    errors.add("NULL_ENTRY", path, path + " is null");
+                    continue;
+                }
+                if (!ownColumns.get(t).contains(fk.getColumnName())) {
+                    errors.add("UNKNOWN_COLUMN", path + ".columnName",
+                            "Foreign key column '" + fk.getColumnName() + "' does not exist in table '" + table.getTableName() + "'");
+                }
+                checkReference(fk.getReferenceTable(), fk.getReferenceColumn(), columnsByTable,
+                        path + ".referenceTable", path + ".referenceColumn", errors);
+            }
+        }
+
+        metrics.record(GenerationMetrics.Stage.SCHEMA_CHECK, start);
+        errors.throwIfAny();
+    }
+
+    private Set<String> checkColumns(Table table, int t, Errors errors) {
+        List<Column> columns = table.getColumns();
+        Set<String> names = new HashSet<>(capacity(columns != null ? columns.size() : 0));
+        if (columns == null || columns.isEmpty()) {
+            errors.add("NO_COLUMNS", "tables[" + t + "].columns", "Table '" + table.getName() + "' has no columns");
+            return names;
+        }
+        for (int c = 0; c < columns.size(); c++) {
+            if (columns.get(c) == null) {
+                errors.add("NULL_ENTRY", "tables[" + t + "].columns[" + c + "]",
+                        "tables[" + t + "].columns[" + c + "] is null");
+                continue;
+            }
+            String name = columns.get(c).getName();
+            if (name != null && !names.add(name)) {
+                errors.add("DUPLICATE_COLUMN", "tables[" + t + "].columns[" + c + "].name",
+                        "Column '" + name + "' is defined twice in table '" + table.getName() + "'");
+            }
+        }
+        return names;
+    }
+
+    private void checkTable(Table table, Set<String> columns, String path, Errors errors) {
+        checkIndexes(table.getName(), table.getIndexes(), columns, path, errors);
+        checkQueries(table.getName(), table.getQueries(), columns, path, errors);
+
+        // Expressions such as YEAR(created) are left to the database
+        PartitionDefinition partition = table.getPartition();
+        if (partition != null && partition.getColumn() != null
+                && IDENTIFIER.matcher(partition.getColumn()).matches()
+                && !columns.contains(partition.getColumn())) {
+            errors.add("UNKNOWN_COLUMN", path + ".partition.column",
+                    "Partition column '" + partition.getColumn() + "' does not exist in table '" + table.getName() + "'");
+        } else if (partition != null && columns.contains(partition.getColumn())) {
+            checkPartitionKeys(table, partition.getColumn(), path, errors);
+        }
+    }
+
+    // Unique keys are only enforced within a partition, so they all have to contain the partition column
+    private void checkPartitionKeys(Table table, String partitionColumn, String tablePath, Errors errors) {
+        boolean primaryKey = false;
+        boolean covered = false;
+        for (int c = 0; c < table.getColumns().size(); c++) {
+            Column column = table.getColumns().get(c);
+            if (column == null) {
+                continue;
+            }
+            boolean partitioning = partitionColumn.equals(column.getName());
+            if (column.isPrimaryKey()) {
+                primaryKey = true;
+                covered |= partitioning;
+            } else if (column.isUnique() && !partitioning) {
+                errors.add("PARTITION_KEY", tablePath + ".columns[" + c + "].unique",
+                        "Unique column '" + column.getName() + "' of partitioned table '" + table.getName()
+                                + "' does not include partition column '" + partitionColumn + "'");
+            }
+        }
+        if (primaryKey && !covered) {
+            errors.add("PARTITION_KEY", tablePath + ".partition.column",
+                    "Primary key of partitioned table '" + table.getName()
+                            + "' does not include partition column '" + partitionColumn + "'");
+        }
+        if (table.getIndexes() == null) {
+            return;
+        }
+        for (int i = 0; i < table.getIndexes().size(); i++) {
+            IndexDefinition index = table.getIndexes().get(i);
+            if (index != null && index.isUnique() && index.getColumnNames() != null
+                    && !index.getColumnNames().isEmpty() && !index.getColumnNames().contains(partitionColumn)) {
+                errors.add("PARTITION_KEY", tablePath + ".indexes[" + i + "].columnNames",
+                        "Unique index '" + index.getIndexName() + "' of partitioned table '" + table.getName()
+                                + "' does not include partition column '" + partitionColumn + "'");
+            }
+        }
+    }
+
+    private void checkDialect(List<? extends TableView> tables, SqlDialect dialect) {
+        if (!dialect.getName().equalsIgnoreCase("MySQL")) {
+            return;
+        }
+        Set<String> partitioned = new HashSet<>();
+        for (TableView table : tables) {
+            if (table.getPartition() != null) {
+                partitioned.add(table.getName());
+            }
+        }
+        if (partitioned.isEmpty()) {
+            return;
+        }
+        Errors errors = new Errors();
+        for (int t = 0; t < tables.size(); t++) {
+            List<TableRelation> relations = tables.get(t).getRelations();
+            if (relations == null) {
+                continue;
+            }
+            for (int r = 0; r < relations.size(); r++) {
+                TableRelation relation = relations.get(r);
+                String table = partitioned.contains(relation.getSourceTable()) ? relation.getSourceTable()
+                        : partitioned.contains(relation.getTargetTable()) ? relation.getTargetTable() : null;
+                if (table != null) {
+                    errors.add("PARTITIONED_FOREIGN_KEY", "tables[" + t + "].relations[" + r + "]",
+                            "MySQL has no foreign keys on partitioned tables, table '" + table + "' is partitioned");
+                }
+            }
+        }
+        errors.throwIfAny();
+    }
+
+    private void checkIndexes(String tableName, List<IndexDefinition> indexes, Set<String> columns,
+                              String tablePath, Errors errors) {
+        if (indexes == null) {
+            return;
+        }
+        Set<String> indexNames = new HashSet<>(capacity(indexes.size()));
+        for (int i = 0; i < indexes.size(); i++) {
+            IndexDefinition index = indexes.get(i);
+            String path = tablePath + ".indexes[" + i + "]";
+            if (index == null) {
+                errors.add("NULL_ENTRY", path, path + " is null");
+                continue;
+            }
+            if (index.getIndexName() != null && !indexNames.add(index.getIndexName())) {
+                errors.add("DUPLICATE_INDEX", path + ".indexName",
+                        "Index '" + index.getIndexName() + "' is defined twice on table '" + tableName + "'");
+            }
+            if (index.getColumnNames() == null || index.getColumnNames().isEmpty()) {
+                errors.add("EMPTY_INDEX", path + ".columnNames",
+                        "Index '" + index.getIndexName() + "' on table '" + tableName + "' has no columns");
+                continue;
+            }
+            for (int c = 0; c < index.getColumnNames().size(); c++) {
+                String column = index.getColumnNames().get(c);
+                if (!columns.contains(column)) {
+                    errors.add("UNKNOWN_COLUMN", path + ".columnNames[" + c + "]",
+                            "Index '" + index.getIndexName() + "' uses column '" + column
+                                    + "', which does not exist in table '" + tableName + "'");
+                }
+            }
+        }
+    }
+
+    private void checkQueries(String tableName, List<QueryPattern> queries, Set<String> columns,
+                              String tablePath, Errors errors) {
+        if (queries == null) {
+            return;
+        }
+        for (int q = 0; q < queries.size(); q++) {
+            QueryPattern query = queries.get(q);
+            String path = tablePath + ".queries[" + q + "]";
+            if (query == null) {
+                errors.add("NULL_ENTRY", path, path + " is null");
+                continue;
+            }
+            checkColumns(tableName, query.getWhere(), columns, path + ".where", errors);
+            checkColumns(tableName, query.getOrderBy(), columns, path + ".orderBy", errors);
+            checkColumns(tableName, query.getSelect(), columns, path + ".select", errors);
+        }
+    }
+
+    private void checkColumns(String tableName, List<String> names, Set<String> columns, String path, Errors errors) {
+        if (names == null) {
+            return;
+        }
+        for (int c = 0; c < names.size(); c++) {
+            if (!columns.contains(names.get(c))) {
+                errors.add("UNKNOWN_COLUMN", path + "[" + c + "]",
+                        "Query column '" + names.get(c) + "' does not exist in table '" + tableName + "'");
+            }
+        }
+    }
+
+    private void checkReference(String table, String column, Map<String, Set<String>> columnsByTable,
+                                String tablePath, String columnPath, Errors errors) {
+        Set<String> columns = table != null ? columnsByTable.get(table) : null;
+        if (columns == null) {
+            errors.add("UNKNOWN_TABLE", tablePath, "Table '" + table + "' does not exist");
+        } else if (!columns.contains(column)) {
+            errors.add("UNKNOWN_COLUMN", columnPath,
+                    "Column '" + column + "' does not exist in table '" + table + "'");
+        }
+    }
+
+    private static int capacity(int size) {
+        return Math.max(16, (int) (size / 0.75f) + 1);
+    }
+
+    private static class Errors {
+        private final List<ValidationError> details = new ArrayList<>();
+        private int count;
+
+        void add(String code, String path, String message) {
+            if (details.size() < MAX_ERRORS) {
+                details.add(new ValidationError(code, path, message));
+            }
+            count++;
+        }
+
+        void throwIfAny() {
+            if (count > 0) {
+                throw new SchemaValidationException(details, count);
+            }
+        }
+    }
+}
@@ -0,0 +1,639 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dto.SeedRequest;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import com.example.sqlgenerator.model.TableView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Generates rows for the tables of a schema: batched multi-row INSERT statements, PostgreSQL COPY
+ * blocks or CSV files for SQL Server's BULK INSERT. Every value is a function of the seed, the
+ * table and the row number, so nothing is kept per row and memory does not grow with the row count.
+ * Unique, primary key and auto-increment columns get the row number (or a value derived from it);
+ * a foreign key picks a row number of the target table and writes that row's key value. A unique
+ * foreign key takes the target row with its own row number, and the columns of a composite primary
+ * key count through their combinations like digits, so keys stay distinct as long as the row count
+ * allows it; plan() rejects row counts that do not.
+ */
+@Service
+public class SeedDataService {
+
+    public enum Format { INSERT, COPY, CSV }
+
+    // SQL Server rejects more than 1000 rows in one VALUES list
+    private static final int SQL_SERVER_MAX_ROWS_PER_INSERT = 1000;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2020, 1, 1, 0, 0);
+    private static final LocalDate EPOCH_DATE = EPOCH.toLocalDate();
+    private static final DateTimeFormatter TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final long TEN_YEARS_SECONDS = 10L * 365 * 24 * 3600;
+    private static final char[] ALPHANUMERIC = "abcdefghijklmnopqrstuvwxyz0123456789".toCharArray();
+
+    @Value("${sql-generator.seed.batch-size:1000}")
+    private int defaultBatchSize;
+
+    /**
+     * Tables in load order with a value generator per column. Its size depends on the schema only;
+     * throws IllegalArgumentException for options or schemas that cannot be seeded.
+     */
+    public SeedPlan plan(SeedRequest request, SqlDialect dialect) {
+        Format format = formatOf(request.getFormat(), dialect);
+        int batchSize = request.getBatchSize() != null ? request.getBatchSize() : defaultBatchSize;
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be at least 1");
+        }
+        if (format == Format.INSERT && isSqlServer(dialect)) {
+            batchSize = Math.min(batchSize, SQL_SERVER_MAX_ROWS_PER_INSERT);
+        }
+
+        List<Table> tables = request.getTables();
+        // Relations by the table they constrain, wherever they were filed
+        Map<String, List<TableRelation>> relationsBySource = new HashMap<>();
+        for (Table table : tables) {
+            if (table.getRelations() != null) {
+                for (TableRelation relation : table.getRelations()) {
+                    relationsBySource.computeIfAbsent(relation.getSourceTable(), k -> new ArrayList<>()).add(relation);
+                }
+            }
+        }
+        TableDependencyOrder<Table> order = TableDependencyOrder.of(tables, Table::getName, table -> {
+            List<String> targets = new ArrayList<>();
+            for (TableRelation relation : relationsBySource.getOrDefault(table.getName(), List.of())) {
+                targets.add(relation.getTargetTable());
+            }
+            return targets;
+        });
+
+        Map<String, TableSeed> byName = new HashMap<>(tables.size() * 2);
+        List<TableSeed> seeds = new ArrayList<>(tables.size());
+        for (Table table : order.ordered()) {
+            long rows = request.getRows();
+            if (request.getRowsPerTable() != null && request.getRowsPerTable().containsKey(table.getName())) {
+                rows = request.getRowsPerTable().get(table.getName());
+            }
+            if (rows < 0) {
+                throw new IllegalArgumentException("Row count for table '" + table.getName() + "' is negative");
+            }
+            TableSeed seed = new TableSeed(table, rows, mix(request.getSeed(), seeds.size()), dialect);
+            seeds.add(seed);
+            byName.putIfAbsent(table.getName(), seed);
+        }
+
+        // Foreign keys are linked once every table has its generators
+        for (TableSeed seed : seeds) {
+            for (TableRelation relation : relationsBySource.getOrDefault(seed.name, List.of())) {
+                ColumnSeed column = seed.column(relation.getSourceColumn());
+                TableSeed target = byName.get(relation.getTargetTable());
+                ColumnSeed targetColumn = target != null ? target.column(relation.getTargetColumn()) : null;
+                if (column == null || targetColumn == null) {
+                    continue;
+                }
+                column.target = target;
+                column.targetColumn = targetColumn;
+                // Only nullable columns can wait for a row of a table that is loaded later
+                column.deferred = order.isDeferred(seed.name, target.name);
+                if (!column.nullable && (target.rows == 0 || column.deferred)) {
+                    throw new IllegalArgumentException("Column '" + seed.name + "." + column.name + "' references table '"
+                            + target.name + "', which " + (target.rows == 0 ? "gets no rows" : "is in a foreign key cycle"));
+                }
+            }
+        }
+        for (TableSeed seed : seeds) {
+            seed.planKeys();
+        }
+        return new SeedPlan(seeds, dialect, format, batchSize);
+    }
+
+    // INSERT or COPY script for all tables in load order
+    public void write(SeedPlan plan, Appendable out) throws IOException {
+        if (plan.format == Format.CSV) {
+            throw new IllegalArgumentException("CSV output is one file per table, export it instead");
+        }
+        for (TableSeed table : plan.tables) {
+            if (table.rows == 0 || table.columns.length == 0) {
+                continue;
+            }
+            if (plan.format == Format.COPY) {
+                writeCopy(plan, table, out);
+            } else {
+                writeInserts(plan, table, out);
+            }
+            out.append('\n');
+        }
+    }
+
+    // One table as CSV for BULK INSERT: no header, '\n' row terminator, empty field for NULL
+    public void writeCsv(SeedPlan plan, TableSeed table, Appendable out) throws IOException {
+        SplittableRandom random = new SplittableRandom(table.randomSeed);
+        for (long row = 1; row <= table.rows; row++) {
+            for (int c = 0; c < table.columns.length; c++) {
+                if (c > 0) {
+                    out.append(',');
+                }
+                writeValue(plan, table.columns[c], row, random, out);
+            }
+            out.append('\n');
+        }
+    }
+
+    public void writeBulkInsert(SeedPlan plan, TableSeed table, Path csvFile, Appendable out) throws IOException {
+        out.append("BULK INSERT ").append(table.name)
+                .append(" FROM '").append(csvFile.toAbsolutePath().toString().replace("'", "''"))
+                .append("' WITH (FORMAT = 'CSV', CODEPAGE = '65001', ROWTERMINATOR = '0x0a', KEEPIDENTITY, KEEPNULLS, TABLOCK, BATCHSIZE = ")
+                .append(Integer.toString(plan.batchSize)).append(");\n");
+    }
+
+    private void writeInserts(SeedPlan plan, TableSeed table, Appendable out) throws IOException {
+        boolean identityInsert = table.identity && isSqlServer(plan.dialect);
+        if (identityInsert) {
+            out.append("SET IDENTITY_INSERT ").append(table.name).append(" ON;\n");
+        }
+
+        SplittableRandom random = new SplittableRandom(table.randomSeed);
+        for (long row = 1; row <= table.rows; row++) {
+            if ((row - 1) % plan.batchSize == 0) {
+                out.append("INSERT INTO ").append(table.name).append(" (");
+                writeColumnList(table, out);
+                out.append(") VALUES\n");
+            }
+            out.append('(');
+            for (int c = 0; c < table.columns.length; c++) {
+                if (c > 0) {
+                    out.append(", ");
+                }
+                writeValue(plan, table.columns[c], row, random, out);
+            }
+            out.append(row % plan.batchSize == 0 || row == table.rows ? ");\n" : "),\n");
+        }
+
+        if (identityInsert) {
+            out.append("SET IDENTITY_INSERT ").append(table.name).append(" OFF;\n");
+        }
+        if (isPostgres(plan.dialect)) {
+            writeSetval(table, out);
+        }
+    }
+
+    private void writeCopy(SeedPlan plan, TableSeed table, Appendable out) throws IOException {
+        SplittableRandom random = new SplittableRandom(table.randomSeed);
+        for (long row = 1; row <= table.rows; row++) {
+            if ((row - 1) % plan.batchSize == 0) {
+                out.append("COPY ").append(table.name).append(" (");
+                writeColumnList(table, out);
+                out.append(") FROM stdin;\n");
+            }
+            for (int c = 0; c < table.columns.length; c++) {
+                if (c > 0) {
+                    out.append('\t');
+                }
+                writeValue(plan, table.columns[c], row, random, out);
+            }
+            out.append('\n');
+            if (row % plan.batchSize == 0 || row == table.rows) {
+                out.append("\\.\n");
+            }
+        }
+
+        writeSetval(table, out);
+    }
+
+    // Explicit ids do not move PostgreSQL identity sequences forward
+    private void writeSetval(TableSeed table, Appendable out) throws IOException {
+        for (ColumnSeed column : table.columns) {
+            if (column.autoIncrement) {
+                out.append("SELECT setval(pg_get_serial_sequence('").append(table.name).append("', '")
+                        .append(column.name).append("'), ").append(Long.toString(table.rows)).append(");\n");
+            }
+        }
+    }
+
+    private void writeColumnList(TableSeed table, Appendable out) throws IOException {
+        for (int c = 0; c < table.columns.length; c++) {
+            if (c > 0) {
+                out.append(", ");
+            }
+            out.append(table.columns[c].name);
+        }
+    }
+
+    private void writeValue(SeedPlan plan, ColumnSeed column, long row, SplittableRandom random,
+                            Appendable out) throws IOException {
+        if (column.target != null) {
+            TableSeed target = column.target;
+            if (target.rows == 0 || column.deferred) {
+                writeNull(plan.format, out);
+                return;
+            }
+            long targetRow;
+            if (column.key) {
+                // A unique foreign key (one-to-one) walks the target rows instead of picking them
+                targetRow = column.keyRow(row);
+            } else if (target == column.table) {
+                // Self references only point back, so every row exists when it is referenced
+                targetRow = 1 + random.nextLong(row);
+            } else {
+                targetRow = 1 + random.nextLong(target.rows);
+            }
+            writeLiteral(plan, column.targetColumn.kind, column.targetColumn.keyValue(targetRow), out);
+        } else if (column.key) {
+            writeLiteral(plan, column.kind, column.keyValue(column.keyRow(row)), out);
+        } else if (column.kind == Kind.BINARY && column.nullable) {
+            writeNull(plan.format, out);
+        } else {
+            writeLiteral(plan, column.kind, column.randomValue(random), out);
+        }
+    }
+
+    private void writeNull(Format format, Appendable out) throws IOException {
+        if (format == Format.INSERT) {
+            out.append("NULL");
+        } else if (format == Format.COPY) {
+            out.append("\\N");
+        }
+        // CSV: an empty field, loaded as NULL with KEEPNULLS
+    }
+
+    private void writeLiteral(SeedPlan plan, Kind kind, String value, Appendable out) throws IOException {
+        if (kind == Kind.INTEGER || kind == Kind.DECIMAL) {
+            out.append(value);
+            return;
+        }
+        if (kind == Kind.BOOLEAN) {
+            boolean b = value.equals("1");
+            if (plan.format == Format.COPY) {
+                out.append(b ? 't' : 'f');
+            } else if (plan.format == Format.INSERT && isPostgres(plan.dialect)) {
+                out.append(b ? "TRUE" : "FALSE");
+            } else {
+                out.append(value);
+            }
+            return;
+        }
+
+        switch (plan.format) {
+            case INSERT -> {
+                out.append('\'');
+                for (int i = 0; i < value.length(); i++) {
+                    char ch = value.charAt(i);
+                    if (ch == '\'') {
+                        out.append("''");
+                    } else if (ch == '\\' && isMySql(plan.dialect)) {
+                        // Unless NO_BACKSLASH_ESCAPES is set, MySQL reads a backslash as an escape
+                        out.append("\\\\");
+                    } else {
+                        out.append(ch);
+                    }
+                }
+                out.append('\'');
+            }
+            case COPY -> {
+                for (int i = 0; i < value.length(); i++) {
+                    char ch = value.charAt(i);
+                    switch (ch) {
+                        case '\\' -> out.append("\\\\");
+                        case '\t' -> out.append("\\t");
+                        case '\n' -> out.append("\\n");
+                        case '\r' -> out.append("\\r");
+                        default -> out.append(ch);
+                    }
+                }
+            }
+            case CSV -> {
+                // Always quoted, so an empty string is not read as NULL
+                out.append('"');
+                appendEscaped(value, '"', "\"\"", out);
+                out.append('"');
+            }
+        }
+    }
+
+    private static void appendEscaped(String value, char quote, String escaped, Appendable out) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char ch = value.charAt(i);
+            if (ch == quote) {
+                out.append(escaped);
+            } else {
+                out.append(ch);
+            }
+        }
+    }
+
+    private static Format formatOf(String name, SqlDialect dialect) {
+        if (name == null || name.isBlank()) {
+            return isPostgres(dialect) ? Format.COPY : isSqlServer(dialect) ? Format.CSV : Format.INSERT;
+        }
+        Format format;
+        try {
+            format = Format.valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown seed format '" + name + "', expected insert, copy or csv");
+        }
+        if (format == Format.COPY && !isPostgres(dialect)) {
+            throw new IllegalArgumentException("COPY is only available for PostgreSQL");
+        }
+        return format;
+    }
+
+    private static boolean isPostgres(SqlDialect dialect) {
+        return dialect.getName().equalsIgnoreCase("PostgreSQL");
+    }
+
+    private static boolean isMySql(SqlDialect dialect) {
+        return dialect.getName().equalsIgnoreCase("MySQL");
+    }
+
+    private static boolean isSqlServer(SqlDialect dialect) {
+        return dialect.getName().equalsIgnoreCase("SQL Server");
+    }
+
+    // SplitMix64 finalizer, so neighbouring tables get unrelated random streams
+    private static long mix(long seed, int table) {
+        long z = seed + (table + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    enum Kind { INTEGER, DECIMAL, BOOLEAN, DATE, TIMESTAMP, TIME, UUID, BINARY, STRING }
+
+    public static final class SeedPlan {
+        private final List<TableSeed> tables;
+        private final SqlDialect dialect;
+        private final Format format;
+        private final int batchSize;
+
+        SeedPlan(List<TableSeed> tables, SqlDialect dialect, Format format, int batchSize) {
+            this.tables = tables;
+            this.dialect = dialect;
+            this.format = format;
+            this.batchSize = batchSize;
+        }
+
+        // In load order: referenced tables first
+        public List<TableSeed> getTables() {
+            return tables;
+        }
+
+        public Format getFormat() {
+            return format;
+        }
+    }
+
+    public static final class TableSeed {
+        private final String name;
+        private final long rows;
+        private final long randomSeed;
+        private final ColumnSeed[] columns;
+        private final boolean identity;
+
+        TableSeed(Table table, long rows, long randomSeed, SqlDialect dialect) {
+            this.name = table.getName();
+            this.rows = rows;
+            this.randomSeed = randomSeed;
+            TableView view = TableView.of(table);
+            List<Column> source = table.getColumns() != null ? table.getColumns() : List.of();
+            this.columns = new ColumnSeed[source.size()];
+            boolean anyIdentity = false;
+            for (int c = 0; c < columns.length; c++) {
+                columns[c] = new ColumnSeed(this, source.get(c), dialect.columnType(view, c));
+                anyIdentity |= columns[c].autoIncrement;
+            }
+            this.identity = anyIdentity;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // Checks that unique columns can stay distinct, and spreads composite primary keys over their columns
+        void planKeys() {
+            List<ColumnSeed> compositeKey = new ArrayList<>();
+            int primaryKeyColumns = 0;
+            for (ColumnSeed column : columns) {
+                if (column.primaryKey) {
+                    primaryKeyColumns++;
+                }
+            }
+            for (ColumnSeed column : columns) {
+                if (column.unique || (column.primaryKey && primaryKeyColumns == 1)) {
+                    long distinct = column.distinctValues();
+                    if (rows > distinct) {
+                        throw new IllegalArgumentException("Column '" + name + "." + column.name + "' is unique but can only get "
+                                + distinct + " distinct values" + (column.target != null ? " from table '" + column.target.name + "'" : "")
+                                + ", not " + rows);
+                    }
+                } else if (column.primaryKey) {
+                    compositeKey.add(column);
+                }
+            }
+            if (compositeKey.isEmpty()) {
+                return;
+            }
+
+            // Bounded columns are the low digits; the first unbounded one, if any, takes the rest
+            long divisor = 1;
+            ColumnSeed unbounded = null;
+            List<String> names = new ArrayList<>();
+            for (ColumnSeed column : compositeKey) {
+                names.add(column.name);
+                long distinct = column.distinctValues();
+                if (distinct == Long.MAX_VALUE) {
+                    if (unbounded == null) {
+                        unbounded = column;
+                    }
+                    continue;
+                }
+                column.keyDivisor = divisor;
+                column.keyRadix = distinct;
+                divisor = distinct > 0 && divisor <= Long.MAX_VALUE / distinct ? divisor * distinct : Long.MAX_VALUE;
+            }
+            if (unbounded != null) {
+                unbounded.keyDivisor = divisor;
+            } else if (rows > divisor) {
+                throw new IllegalArgumentException("Primary key (" + String.join(", ", names) + ") of table '" + name
+                        + "' can only get " + divisor + " distinct values, not " + rows);
+            }
+        }
+
+        ColumnSeed column(String columnName) {
+            for (ColumnSeed column : columns) {
+                if (Objects.equals(column.name, columnName)) {
+                    return column;
+                }
+            }
+            return null;
+        }
+    }
+
+    static final class ColumnSeed {
+        private final TableSeed table;
+        private final String name;
+        private final Kind kind;
+        private final int length;       // characters for STRING
+        private final int scale;        // fraction digits for DECIMAL
+        private final long range;       // exclusive bound of random INTEGER / DECIMAL integer part
+        private final boolean key;
+        private final boolean primaryKey;
+        private final boolean unique;   // distinct on its own, not only as part of the primary key
+        private final boolean autoIncrement;
+        private final boolean nullable;
+        private TableSeed target;
+        private ColumnSeed targetColumn;
+        private boolean deferred;
+        // keyRow() digit: (row - 1) / keyDivisor, modulo keyRadix unless it is 0
+        private long keyDivisor = 1;
+        private long keyRadix;
+
+        ColumnSeed(TableSeed table, Column column, String sqlType) {
+            this.table = table;
+            this.name = column.getName();
+            this.key = column.isPrimaryKey() || column.isUnique() || column.isAutoIncrement();
+            this.primaryKey = column.isPrimaryKey();
+            this.unique = column.isUnique() || column.isAutoIncrement();
+            this.autoIncrement = column.isAutoIncrement();
+            this.nullable = column.isNullable() && !column.isPrimaryKey();
+
+            String type = sqlType != null ? sqlType.trim().toUpperCase(Locale.ROOT) : "";
+            int open = type.indexOf('(');
+            String base = (open >= 0 ? type.substring(0, open) : type).trim();
+            int[] params = open >= 0 ? params(type.substring(open + 1)) : new int[0];
+            this.kind = kindOf(base);
+
+            this.length = kind == Kind.STRING && params.length > 0 && params[0] > 0 ? params[0] : 255;
+            this.scale = kind == Kind.DECIMAL ? (params.length > 1 ? params[1] : base.startsWith("DEC") || base.equals("NUMERIC") ? 0 : 2) : 0;
+            if (kind == Kind.DECIMAL && params.length > 0 && params[0] - scale < 7) {
+                this.range = (long) Math.pow(10, Math.max(0, params[0] - scale));
+            } else if (base.equals("TINYINT")) {
+                this.range = 128;
+            } else if (base.equals("SMALLINT")) {
+                this.range = 32768;
+            } else {
+                this.range = 1_000_000;
+            }
+        }
+
+        // Row number whose key value a key column writes for the given row
+        long keyRow(long row) {
+            long digit = (row - 1) / keyDivisor;
+            return (keyRadix > 0 ? digit % keyRadix : digit) + 1;
+        }
+
+        // How many distinct key values the column can take; NULLs written for it do not count
+        long distinctValues() {
+            if (target != null) {
+                return target.rows == 0 || deferred ? Long.MAX_VALUE : target.rows;
+            }
+            return switch (kind) {
+                case BOOLEAN -> 2;
+                case TIME -> 86_400;
+                default -> Long.MAX_VALUE;
+            };
+        }
+
+        // Distinct for distinct rows, as far as the column type allows
+        String keyValue(long row) {
+            return switch (kind) {
+                case INTEGER -> Long.toString(row);
+                case DECIMAL -> scale > 0 ? row + "." + "0".repeat(scale) : Long.toString(row);
+                case BOOLEAN -> row % 2 == 0 ? "0" : "1";
+                case DATE -> EPOCH_DATE.plusDays(row).toString();
+                case TIMESTAMP -> EPOCH.plusSeconds(row).format(TIMESTAMP);
+                case TIME -> LocalTime.ofSecondOfDay(row % 86_400).toString();
+                case UUID -> new UUID(table.randomSeed, row).toString();
+                case BINARY, STRING -> fit(name + "_" + row, Long.toString(row, 36));
+            };
+        }
+
+        String randomValue(SplittableRandom random) {
+            return switch (kind) {
+                case INTEGER -> Long.toString(random.nextLong(range));
+                case DECIMAL -> {
+                    String whole = Long.toString(random.nextLong(range));
+                    if (scale == 0) {
+                        yield whole;
+                    }
+                    StringBuilder value = new StringBuilder(whole).append('.');
+                    for (int i = 0; i < scale; i++) {
+                        value.append((char) ('0' + random.nextInt(10)));
+                    }
+                    yield value.toString();
+                }
+                case BOOLEAN -> random.nextBoolean() ? "1" : "0";
+                case DATE -> EPOCH_DATE.plusDays(random.nextInt(3650)).toString();
+                case TIMESTAMP -> EPOCH.plusSeconds(random.nextLong(TEN_YEARS_SECONDS)).format(TIMESTAMP);
+                case TIME -> LocalTime.ofSecondOfDay(random.nextInt(86_400)).toString();
+                case UUID -> new UUID(random.nextLong(), random.nextLong()).toString();
+                case BINARY, STRING -> {
+                    char[] suffix = new char[8];
+                    for (int i = 0; i < suffix.length; i++) {
+                        suffix[i] = ALPHANUMERIC[random.nextInt(ALPHANUMERIC.length)];
+                    }
+                    yield fit(name + "_" + new String(suffix), new String(suffix));
+                }
+            };
+        }
+
+        private String fit(String value, String fallback) {
+            if (value.length() <= length) {
+                return value;
+            }
+            return fallback.length() <= length ? fallback : fallback.substring(0, length);
+        }
+
+        private static Kind kindOf(String base) {
+            switch (base) {
+                case "INT", "INTEGER", "BIGINT", "SMALLINT", "TINYINT", "MEDIUMINT",
+                     "SERIAL", "BIGSERIAL", "SMALLSERIAL", "INT2", "INT4", "INT8":
+                    return Kind.INTEGER;
+                case "DECIMAL", "DEC", "NUMERIC", "FLOAT", "DOUBLE", "DOUBLE PRECISION", "REAL", "MONEY", "SMALLMONEY":
+                    return Kind.DECIMAL;
+                case "BOOLEAN", "BOOL", "BIT":
+                    return Kind.BOOLEAN;
+                case "DATE":
+                    return Kind.DATE;
+                case "DATETIME", "DATETIME2", "SMALLDATETIME", "TIMESTAMP", "TIMESTAMPTZ", "DATETIMEOFFSET":
+                    return Kind.TIMESTAMP;
+                case "TIME":
+                    return Kind.TIME;
+                case "UUID", "UNIQUEIDENTIFIER":
+                    return Kind.UUID;
+                case "BLOB", "LONGBLOB", "MEDIUMBLOB", "TINYBLOB", "BYTEA", "BINARY", "VARBINARY", "IMAGE":
+                    return Kind.BINARY;
+                default:
+                    return Kind.STRING;
+            }
+        }
+
+        private static int[] params(String inside) {
+            int close = inside.indexOf(')');
+            String[] parts = (close >= 0 ? inside.substring(0, close) : inside).split(",");
+            int[] values = new int[parts.length];
+            for (int i = 0; i < parts.length; i++) {
+                try {
+                    values[i] = Integer.parseInt(parts[i].trim());
+                } catch (NumberFormatException e) {
+                    values[i] = -1; // e.g. VARCHAR(MAX)
+                }
+            }
+            return values;
+        }
+    }
+}
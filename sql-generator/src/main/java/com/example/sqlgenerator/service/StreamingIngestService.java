@@ -0,0 +1,94 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates a script from a TableRequest JSON body while it is still being read. Each element
+ * of "tables" is bound and written on its own, so only one table's object graph is live at a
+ * time; what stays behind per table is its relations, for the ALTER TABLE block at the end.
+ */
+@Service
+public class StreamingIngestService {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SqlDialectRegistry dialectRegistry;
+
+    @Autowired
+    private DdlScriptService ddlScriptService;
+
+    @Autowired
+    private GenerationMetrics metrics;
+
+    // dialectName wins over the body's "dialect", which only counts when it comes before "tables"
+    public int generate(InputStream json, String dialectName, Appendable out) throws IOException {
+        SqlDialect dialect = dialectName != null ? dialectRegistry.resolve(dialectName) : null;
+        List<TableRelation> relations = new ArrayList<>();
+        int count = 0;
+        long columns = 0;
+        long start = System.nanoTime();
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(json)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.getCurrentName();
+                JsonToken value = parser.nextToken();
+
+                if (field.equals("dialect") && dialect == null && count == 0) {
+                    dialect = dialectRegistry.resolve(parser.getValueAsString());
+                } else if (field.equals("tables") && value != JsonToken.VALUE_NULL) {
+                    expect(value, JsonToken.START_ARRAY, parser);
+                    if (dialect == null) {
+                        dialect = dialectRegistry.resolve(null);
+                    }
+
+                    while (parser.nextToken() != JsonToken.END_ARRAY) {
+                        Table table = objectMapper.readValue(parser, Table.class);
+                        // One-off schemas would only churn DdlCache, so they bypass it
+                        ddlScriptService.writeTable(table, dialect, false, out);
+                        count++;
+                        columns += table.getColumns() != null ? table.getColumns().size() : 0;
+
+                        if (table.getRelations() != null) {
+                            relations.addAll(table.getRelations());
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+
+        // Binding and writing interleave here, so the whole read counts as create_tables
+        start = metrics.record(GenerationMetrics.Stage.CREATE_TABLES, start);
+        metrics.recordRequest(count, columns);
+
+        if (dialect != null) {
+            dialect.writeRelations(relations, out);
+        }
+        metrics.record(GenerationMetrics.Stage.RELATIONS, start);
+        return count;
+    }
+
+    private void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual
+                    + " at " + parser.getCurrentLocation());
+        }
+    }
+}
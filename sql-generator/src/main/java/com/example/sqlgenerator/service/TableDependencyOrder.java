@@ -0,0 +1,157 @@
+package com.example.sqlgenerator.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Creation order for a schema's tables, computed from their foreign-key references with
+ * Tarjan's strongly connected components in O(tables + references). Components are found
+ * referenced-first, which is already a valid creation order, so no separate sort pass is
+ * needed. Only references between two different tables of the same component (a cycle)
+ * have to be added with ALTER TABLE after everything exists.
+ */
+public final class TableDependencyOrder<T> {
+
+    private final List<T> ordered;
+    private final Map<String, Integer> componentOf;
+    private final List<List<String>> cycles;
+
+    private TableDependencyOrder(List<T> ordered, Map<String, Integer> componentOf, List<List<String>> cycles) {
+        this.ordered = ordered;
+        this.componentOf = componentOf;
+        this.cycles = cycles;
+    }
+
+    // referencesOf returns the names of the tables a table points to; unknown names are ignored
+    public static <T> TableDependencyOrder<T> of(List<T> tables, Function<T, String> nameOf,
+                                                 Function<T, ? extends Collection<String>> referencesOf) {
+        int n = tables.size();
+        Map<String, Integer> indexOf = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            indexOf.putIfAbsent(nameOf.apply(tables.get(i)), i);
+        }
+
+        int[][] edges = new int[n][];
+        for (int i = 0; i < n; i++) {
+            Collection<String> references = referencesOf.apply(tables.get(i));
+            int[] targets = new int[references == null ? 0 : references.size()];
+            int count = 0;
+            if (references != null) {
+                for (String reference : references) {
+                    Integer target = indexOf.get(reference);
+                    if (target != null && target != i) {
+                        targets[count++] = target;
+                    }
+                }
+            }
+            edges[i] = count == targets.length ? targets : Arrays.copyOf(targets, count);
+        }
+
+        // Iterative Tarjan, so deep reference chains cannot overflow the call stack
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] component = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callStack = new int[n];
+        int[] nextEdge = new int[n];
+        Arrays.fill(index, -1);
+
+        List<T> ordered = new ArrayList<>(n);
+        List<List<String>> cycles = new ArrayList<>();
+        int counter = 0;
+        int components = 0;
+        int sp = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            int cp = 0;
+            index[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+            callStack[cp] = root;
+            nextEdge[cp++] = 0;
+
+            while (cp > 0) {
+                int v = callStack[cp - 1];
+                if (nextEdge[cp - 1] < edges[v].length) {
+                    int w = edges[v][nextEdge[cp - 1]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        callStack[cp] = w;
+                        nextEdge[cp++] = 0;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                    continue;
+                }
+
+                cp--;
+                if (cp > 0) {
+                    int parent = callStack[cp - 1];
+                    low[parent] = Math.min(low[parent], low[v]);
+                }
+                if (low[v] != index[v]) {
+                    continue;
+                }
+
+                // v is the root of a component: everything above it on the stack belongs to it
+                int start = sp;
+                do {
+                    start--;
+                    onStack[stack[start]] = false;
+                    component[stack[start]] = components;
+                } while (stack[start] != v);
+
+                // Keep input order inside a component
+                int[] members = Arrays.copyOfRange(stack, start, sp);
+                Arrays.sort(members);
+                sp = start;
+                components++;
+
+                for (int member : members) {
+                    ordered.add(tables.get(member));
+                }
+                if (members.length > 1) {
+                    List<String> cycle = new ArrayList<>(members.length);
+                    for (int member : members) {
+                        cycle.add(nameOf.apply(tables.get(member)));
+                    }
+                    cycles.add(cycle);
+                }
+            }
+        }
+
+        Map<String, Integer> componentOf = new HashMap<>(n * 2);
+        indexOf.forEach((name, i) -> componentOf.put(name, component[i]));
+        return new TableDependencyOrder<>(ordered, componentOf, cycles);
+    }
+
+    // Every table appears after the tables it references, unless both are in the same cycle
+    public List<T> ordered() {
+        return ordered;
+    }
+
+    // Table names of each cycle, in input order
+    public List<List<String>> cycles() {
+        return cycles;
+    }
+
+    // True when the reference cannot be inlined in the source's CREATE TABLE
+    public boolean isDeferred(String sourceTable, String targetTable) {
+        if (sourceTable == null || sourceTable.equals(targetTable)) {
+            return false;
+        }
+        Integer source = componentOf.get(sourceTable);
+        return source != null && source.equals(componentOf.get(targetTable));
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.sqlgenerator;
+
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.QueryPattern;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableRelation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Schema building blocks shared by the tests. Columns keep the model's defaults (nullable, no keys)
+ * unless the name says otherwise: notNull() and primaryKey() columns are NOT NULL.
+ */
+public final class SchemaFixtures {
+
+	private SchemaFixtures() {
+	}
+
+	// Columns are a mutable list, so tests can add to a copy of a schema
+	public static Table table(String name, Column... columns) {
+		Table table = new Table();
+		table.setName(name);
+		table.setColumns(new ArrayList<>(List.of(columns)));
+		return table;
+	}
+
+	// Integer columns, the first one the primary key
+	public static Table keyedTable(String name, String... columns) {
+		Table table = table(name, columns(columns));
+		table.getColumns().set(0, primaryKey(columns[0], "entier"));
+		return table;
+	}
+
+	public static Column[] columns(String... names) {
+		return Arrays.stream(names).map(name -> column(name, "entier")).toArray(Column[]::new);
+	}
+
+	public static Column column(String name, String type) {
+		return column(name, type, c -> { });
+	}
+
+	// A null type is left unset, for columns whose type is resolved elsewhere
+	public static Column column(String name, String type, Consumer<Column> customizer) {
+		Column column = new Column();
+		column.setName(name);
+		if (type != null) {
+			column.setType(type);
+		}
+		customizer.accept(column);
+		return column;
+	}
+
+	public static Column notNull(String name, String type) {
+		return notNull(name, type, c -> { });
+	}
+
+	public static Column notNull(String name, String type, Consumer<Column> customizer) {
+		return column(name, type, c -> {
+			c.setNullable(false);
+			customizer.accept(c);
+		});
+	}
+
+	public static Column primaryKey(String name, String type) {
+		return notNull(name, type, c -> c.setPrimaryKey(true));
+	}
+
+	public static TableRelation relation(String source, String column, String target) {
+		return relation(source, column, target, "id");
+	}
+
+	public static TableRelation relation(String source, String sourceColumn, String target, String targetColumn) {
+		TableRelation relation = new TableRelation();
+		relation.setSourceTable(source);
+		relation.setSourceColumn(sourceColumn);
+		relation.setTargetTable(target);
+		relation.setTargetColumn(targetColumn);
+		relation.setRelationType("ManyToOne");
+		return relation;
+	}
+
+	public static IndexDefinition index(String name, String... columns) {
+		IndexDefinition index = new IndexDefinition();
+		index.setIndexName(name);
+		index.setColumnNames(List.of(columns));
+		return index;
+	}
+
+	public static QueryPattern query(String name, List<String> where, List<String> orderBy) {
+		QueryPattern query = new QueryPattern();
+		query.setName(name);
+		query.setWhere(where);
+		query.setOrderBy(orderBy);
+		return query;
+	}
+
+	public static ForeignKeyDefinition foreignKey(String column, String referenceTable, String referenceColumn) {
+		ForeignKeyDefinition foreignKey = new ForeignKeyDefinition();
+		foreignKey.setColumnName(column);
+		foreignKey.setReferenceTable(referenceTable);
+		foreignKey.setReferenceColumn(referenceColumn);
+		return foreignKey;
+	}
+
+	// Dialects only know logical types, so the others are configured like in application.properties
+	public static TypeMappingProperties properties() {
+		TypeMappingProperties properties = new TypeMappingProperties();
+		properties.getTypes().put("bigint", Map.of("mysql", "BIGINT", "postgresql", "BIGINT",
+				"sqlserver", "BIGINT", "sqlite", "INTEGER"));
+		properties.getTypes().put("email", Map.of("sqlserver", "NVARCHAR(320)"));
+		properties.getTypes().put("flag", Map.of("mysql", "BOOLEAN", "postgresql", "BOOLEAN", "sqlserver", "BIT"));
+		return properties;
+	}
+}
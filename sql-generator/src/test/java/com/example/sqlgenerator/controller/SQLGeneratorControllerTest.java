@@ -0,0 +1,81 @@
+package com.example.sqlgenerator.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Error responses as a client sees them, through message conversion and the request body advices
+@SpringBootTest
+@AutoConfigureMockMvc
+class SQLGeneratorControllerTest {
+
+	private static final String SQL_SERVER_LIST_PARTITION = """
+			{"dialect": "SQL Server",
+			 "tables": [{"name": "events",
+			             "columns": [{"name": "region", "type": "texte", "primaryKey": true}],
+			             "partition": {"type": "LIST", "column": "region",
+			                           "partitions": [{"name": "p_eu", "values": ["'eu'"]}]}}]}
+			""";
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Test
+	void nullTableIsASchemaError() throws Exception {
+		for (String endpoint : new String[] {"/generate", "/generate/simple", "/generate/stream"}) {
+			mockMvc.perform(post("/api/sql" + endpoint).contentType(MediaType.APPLICATION_JSON)
+							.content("{\"tables\": [null]}"))
+					.andExpect(status().isBadRequest())
+					.andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+					.andExpect(content().string(containsString("NULL_ENTRY tables[0]: tables[0] is null")));
+		}
+
+		mockMvc.perform(post("/api/sql/indexes").contentType(MediaType.APPLICATION_JSON)
+						.content("{\"tables\": [{\"name\": \"users\", \"columns\": [null]}]}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.details[0].code").value("NULL_ENTRY"))
+				.andExpect(jsonPath("$.details[0].path").value("tables[0].columns[0]"));
+	}
+
+	@Test
+	void jsonClientsGetAnErrorResponse() throws Exception {
+		mockMvc.perform(post("/api/sql/generate").contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.APPLICATION_JSON).content("{\"tables\": [null]}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid schema"))
+				.andExpect(jsonPath("$.details[0].code").value("NULL_ENTRY"));
+
+		mockMvc.perform(post("/api/sql/generate").contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.APPLICATION_JSON).content(SQL_SERVER_LIST_PARTITION))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.error").value("Invalid request"))
+				.andExpect(jsonPath("$.message").value("SQL Server only supports RANGE partitioning (table events)"));
+
+		mockMvc.perform(post("/api/sql/generate/simple").contentType(MediaType.APPLICATION_JSON)
+						.accept(MediaType.APPLICATION_JSON).content("{\"tables\": []}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(jsonPath("$.message").value("No tables provided"));
+	}
+
+	@Test
+	void otherClientsKeepPlainTextErrors() throws Exception {
+		mockMvc.perform(post("/api/sql/generate").contentType(MediaType.APPLICATION_JSON)
+						.content(SQL_SERVER_LIST_PARTITION))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_PLAIN))
+				.andExpect(content().string("Error: SQL Server only supports RANGE partitioning (table events)"));
+
+		mockMvc.perform(post("/api/sql/diff").contentType(MediaType.APPLICATION_JSON).content("{}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(content().string("Error: Both previous and current schemas are required"));
+	}
+}
@@ -0,0 +1,185 @@
+package com.example.sqlgenerator.dialect;
+
+import com.example.sqlgenerator.model.PartitionBound;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.example.sqlgenerator.SchemaFixtures.column;
+import static com.example.sqlgenerator.SchemaFixtures.primaryKey;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PartitioningTest {
+
+	private final TypeMapping typeMapping = new TypeMapping(new TypeMappingProperties());
+	private final SqlDialect mysql = new MySQLDialect(typeMapping);
+	private final SqlDialect postgres = new PostgreSQLDialect(typeMapping);
+	private final SqlDialect sqlServer = new SQLServerDialect(typeMapping);
+	private final SqlDialect sqlite = new SQLiteDialect(typeMapping);
+
+	@Test
+	void mysqlRange() throws Exception {
+		assertEquals("""
+				CREATE TABLE events (
+				  id INT NOT NULL,
+				  region INT NOT NULL,
+				  label VARCHAR(255),
+				  PRIMARY KEY (id, region)
+				)
+				PARTITION BY RANGE (region) (
+				  PARTITION p_low VALUES LESS THAN (100),
+				  PARTITION p1 VALUES LESS THAN (MAXVALUE)
+				);""", create(mysql, range()));
+	}
+
+	@Test
+	void mysqlList() throws Exception {
+		assertEquals("""
+				CREATE TABLE events (
+				  id INT NOT NULL,
+				  region INT NOT NULL,
+				  label VARCHAR(255),
+				  PRIMARY KEY (id, region)
+				)
+				PARTITION BY LIST (region) (
+				  PARTITION p_eu VALUES IN (1, 2),
+				  PARTITION p_us VALUES IN (3)
+				);""", create(mysql, list()));
+	}
+
+	@Test
+	void mysqlHash() throws Exception {
+		assertEquals("""
+				CREATE TABLE events (
+				  id INT NOT NULL,
+				  region INT NOT NULL,
+				  label VARCHAR(255),
+				  PRIMARY KEY (id, region)
+				)
+				PARTITION BY HASH (region) PARTITIONS 4;""", create(mysql, hash()));
+	}
+
+	@Test
+	void postgresRange() throws Exception {
+		assertEquals("""
+				CREATE TABLE events (
+				  id INTEGER NOT NULL,
+				  region INTEGER NOT NULL,
+				  label VARCHAR(255),
+				  PRIMARY KEY (id, region)
+				) PARTITION BY RANGE (region);
+				CREATE TABLE events_p_low PARTITION OF events FOR VALUES FROM (MINVALUE) TO (100);
+				CREATE TABLE events_p1 PARTITION OF events FOR VALUES FROM (100) TO (MAXVALUE);""",
+				create(postgres, range()));
+	}
+
+	@Test
+	void postgresList() throws Exception {
+		assertEquals("""
+				CREATE TABLE events (
+				  id INTEGER NOT NULL,
+				  region INTEGER NOT NULL,
+				  label VARCHAR(255),
+				  PRIMARY KEY (id, region)
+				) PARTITION BY LIST (region);
+				CREATE TABLE events_p_eu PARTITION OF events FOR VALUES IN (1, 2);
+				CREATE TABLE events_p_us PARTITION OF events FOR VALUES IN (3);""", create(postgres, list()));
+	}
+
+	@Test
+	void postgresHash() throws Exception {
+		assertEquals("""
+				CREATE TABLE events (
+				  id INTEGER NOT NULL,
+				  region INTEGER NOT NULL,
+				  label VARCHAR(255),
+				  PRIMARY KEY (id, region)
+				) PARTITION BY HASH (region);
+				CREATE TABLE events_p0 PARTITION OF events FOR VALUES WITH (MODULUS 4, REMAINDER 0);
+				CREATE TABLE events_p1 PARTITION OF events FOR VALUES WITH (MODULUS 4, REMAINDER 1);
+				CREATE TABLE events_p2 PARTITION OF events FOR VALUES WITH (MODULUS 4, REMAINDER 2);
+				CREATE TABLE events_p3 PARTITION OF events FOR VALUES WITH (MODULUS 4, REMAINDER 3);""",
+				create(postgres, hash()));
+	}
+
+	@Test
+	void sqlServerRangeOnly() throws Exception {
+		assertEquals("""
+				CREATE PARTITION FUNCTION pf_events (INT) AS RANGE RIGHT FOR VALUES (100);
+				CREATE PARTITION SCHEME ps_events AS PARTITION pf_events ALL TO ([PRIMARY]);
+				CREATE TABLE events (
+				  id INT NOT NULL,
+				  region INT NOT NULL,
+				  label NVARCHAR(255),
+				  PRIMARY KEY (id, region)
+				) ON ps_events(region);""", create(sqlServer, range()));
+
+		assertThrows(IllegalArgumentException.class, () -> create(sqlServer, list()));
+		assertThrows(IllegalArgumentException.class, () -> create(sqlServer, hash()));
+	}
+
+	@Test
+	void sqliteHasNoPartitioning() {
+		assertThrows(IllegalArgumentException.class, () -> create(sqlite, range()));
+	}
+
+	@Test
+	void incompleteDefinitionsAreRejected() {
+		Table noColumn = range();
+		noColumn.getPartition().setColumn(" ");
+		Table noBounds = list();
+		noBounds.getPartition().setPartitions(List.of());
+		Table noCount = hash();
+		noCount.getPartition().setCount(0);
+		Table unknown = hash();
+		unknown.getPartition().setType("KEY");
+
+		for (Table table : List.of(noColumn, noBounds, noCount, unknown)) {
+			assertThrows(IllegalArgumentException.class, () -> create(mysql, table));
+			assertThrows(IllegalArgumentException.class, () -> create(postgres, table));
+		}
+	}
+
+	private static String create(SqlDialect dialect, Table table) throws Exception {
+		StringBuilder sql = new StringBuilder();
+		dialect.writeCreateTable(table, sql);
+		return sql.toString();
+	}
+
+	private static Table range() {
+		return events("RANGE", null, bound("p_low", "100"), bound(null, "MAXVALUE"));
+	}
+
+	private static Table list() {
+		return events("LIST", null, bound("p_eu", "1", "2"), bound("p_us", "3"));
+	}
+
+	private static Table hash() {
+		return events("HASH", 4);
+	}
+
+	// The partition column is part of the primary key, as all three databases require
+	private static Table events(String type, Integer count, PartitionBound... bounds) {
+		PartitionDefinition partition = new PartitionDefinition();
+		partition.setType(type);
+		partition.setColumn("region");
+		partition.setCount(count);
+		partition.setPartitions(bounds.length > 0 ? List.of(bounds) : null);
+
+		Table table = table("events", primaryKey("id", "entier"), primaryKey("region", "entier"),
+				column("label", "texte"));
+		table.setPartition(partition);
+		return table;
+	}
+
+	private static PartitionBound bound(String name, String... values) {
+		PartitionBound bound = new PartitionBound();
+		bound.setName(name);
+		bound.setValues(List.of(values));
+		return bound;
+	}
+}
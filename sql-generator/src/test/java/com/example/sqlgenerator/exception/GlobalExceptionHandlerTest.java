@@ -0,0 +1,99 @@
+package com.example.sqlgenerator.exception;
+
+import com.example.sqlgenerator.dto.ErrorResponse;
+import com.example.sqlgenerator.dto.ValidationError;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.method.HandlerMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GlobalExceptionHandlerTest {
+
+	private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+	private final SchemaValidationException exception = new SchemaValidationException(List.of(
+			new ValidationError("NO_COLUMNS", "tables[0].columns", "Table 'users' has no columns"),
+			new ValidationError("UNKNOWN_TABLE", "tables[1].relations[0].targetTable", "Table 'shops' does not exist")), 2);
+
+	@Test
+	void textEndpointGetsPlainText() {
+		ResponseEntity<?> response = handler.handleSchemaValidationException(exception, handler("text"), request(null));
+
+		assertEquals(400, response.getStatusCode().value());
+		assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(response.getHeaders().getContentType()));
+		assertEquals("""
+				Error: 2 schema errors, first: Table 'users' has no columns
+				NO_COLUMNS tables[0].columns: Table 'users' has no columns
+				UNKNOWN_TABLE tables[1].relations[0].targetTable: Table 'shops' does not exist
+				""", response.getBody());
+	}
+
+	@Test
+	void jsonEndpointGetsErrorResponse() {
+		ResponseEntity<?> response = handler.handleSchemaValidationException(exception, handler("json"), request("text/plain"));
+
+		assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+		ErrorResponse body = assertInstanceOf(ErrorResponse.class, response.getBody());
+		assertEquals(2, body.getDetails().size());
+	}
+
+	@Test
+	void endpointProducingBothFollowsTheAcceptHeader() {
+		for (String accept : new String[] {null, "*/*", "text/plain", "text/*, application/json;q=0.5"}) {
+			ResponseEntity<?> response = handler.handleSchemaValidationException(exception, handler("both"), request(accept));
+			assertTrue(MediaType.TEXT_PLAIN.isCompatibleWith(response.getHeaders().getContentType()), accept);
+		}
+		for (String accept : new String[] {"application/json", "application/*", "text/plain;q=0.1, application/json"}) {
+			ResponseEntity<?> response = handler.handleSchemaValidationException(exception, handler("both"), request(accept));
+			assertInstanceOf(ErrorResponse.class, response.getBody(), accept);
+		}
+
+		InvalidRequestException invalid = new InvalidRequestException("No tables provided");
+		assertEquals("Error: No tables provided",
+				handler.handleInvalidRequestException(invalid, handler("both"), request(null)).getBody());
+		ErrorResponse body = assertInstanceOf(ErrorResponse.class,
+				handler.handleInvalidRequestException(invalid, handler("both"), request("application/json")).getBody());
+		assertEquals("No tables provided", body.getMessage());
+	}
+
+	private static MockHttpServletRequest request(String accept) {
+		MockHttpServletRequest request = new MockHttpServletRequest("POST", "/");
+		if (accept != null) {
+			request.addHeader("Accept", accept);
+		}
+		return request;
+	}
+
+	private static HandlerMethod handler(String method) {
+		try {
+			return new HandlerMethod(new Endpoints(), Endpoints.class.getDeclaredMethod(method));
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	static class Endpoints {
+
+		@PostMapping(value = "/text", produces = MediaType.TEXT_PLAIN_VALUE)
+		String text() {
+			return "";
+		}
+
+		@PostMapping(value = "/json", produces = MediaType.APPLICATION_JSON_VALUE)
+		String json() {
+			return "";
+		}
+
+		@PostMapping(value = "/both", produces = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_JSON_VALUE})
+		String both() {
+			return "";
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.sqlgenerator.io;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class Utf8SinkTest {
+
+	// Small enough that every multi-byte sequence lands on a buffer boundary somewhere
+	private static final int BUFFER_SIZE = 8;
+
+	private SimpleMeterRegistry meterRegistry;
+	private ByteBufferPool pool;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		pool = new ByteBufferPool();
+		ReflectionTestUtils.setField(pool, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(pool, "bufferSize", BUFFER_SIZE);
+		ReflectionTestUtils.setField(pool, "poolSize", 64);
+		ReflectionTestUtils.invokeMethod(pool, "init");
+	}
+
+	@Test
+	void bmpText() throws IOException {
+		assertEncodes("CREATE TABLE café (prix DECIMAL) -- € ü ß 日本語");
+	}
+
+	@Test
+	void supplementaryCharacters() throws IOException {
+		assertEncodes("emoji 😀 and 𝄞 clef, 😀😀");
+	}
+
+	@Test
+	void loneSurrogatesAreReplacedLikeString() throws IOException {
+		assertEncodes("high \uD83D alone");
+		assertEncodes("low \uDE00 alone");
+		assertEncodes("two highs \uD83D😀");
+		assertEncodes("reversed \uDE00\uD83D");
+		assertEncodes("trailing high \uD83D");
+	}
+
+	@Test
+	void surrogatePairSplitAcrossAppendCalls() throws IOException {
+		String text = "a😀b";
+		try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+			sink.append(text, 0, 2);
+			sink.append(text, 2, 4);
+			assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), bytes(sink));
+		}
+
+		try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+			sink.append('\uD83D');
+			sink.append('\uDE00');
+			assertArrayEquals("😀".getBytes(StandardCharsets.UTF_8), bytes(sink));
+		}
+	}
+
+	@Test
+	void everySplitOfMixedTextAcrossBuffersAndCalls() throws IOException {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			String text = randomText(random, random.nextInt(60));
+			byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+
+			try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+				appendInChunks(sink, text, random);
+				assertArrayEquals(expected, bytes(sink), text);
+				assertEquals(expected.length, sink.size());
+			}
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (Utf8Sink sink = Utf8Sink.streaming(pool, out)) {
+				appendInChunks(sink, text, random);
+				sink.flush();
+				assertEquals(expected.length, sink.size());
+			}
+			assertArrayEquals(expected, out.toByteArray(), text);
+		}
+	}
+
+	@Test
+	void streamingSinkDrainsEveryFullBuffer() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (Utf8Sink sink = Utf8Sink.streaming(pool, out)) {
+			sink.append("0123456789");
+			assertEquals(BUFFER_SIZE, out.size());
+			sink.flush();
+			assertEquals(10, out.size());
+		}
+	}
+
+	@Test
+	void closeReturnsEveryBufferToThePool() throws IOException {
+		try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+			sink.append("x".repeat(BUFFER_SIZE * 5 + 1));
+		}
+		assertEquals(6.0, idle());
+		assertEquals(6.0, poolCount("miss"));
+
+		// A second sink of the same size is served entirely from the pool
+		try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+			sink.append("x".repeat(BUFFER_SIZE * 5 + 1));
+		}
+		assertEquals(6.0, idle());
+		assertEquals(6.0, poolCount("hit"));
+	}
+
+	@Test
+	void closeTwiceReleasesOnce() throws IOException {
+		Utf8Sink sink = Utf8Sink.buffered(pool);
+		sink.append("abc");
+		sink.close();
+		sink.close();
+		assertEquals(1.0, idle());
+	}
+
+	private void assertEncodes(String text) throws IOException {
+		byte[] expected = text.getBytes(StandardCharsets.UTF_8);
+		try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+			sink.append(text);
+			assertArrayEquals(expected, bytes(sink), text);
+			assertEquals(expected.length, sink.size());
+		}
+		try (Utf8Sink sink = Utf8Sink.buffered(pool)) {
+			for (int i = 0; i < text.length(); i++) {
+				sink.append(text.charAt(i));
+			}
+			assertArrayEquals(expected, bytes(sink), text);
+		}
+	}
+
+	private static void appendInChunks(Utf8Sink sink, String text, Random random) throws IOException {
+		int start = 0;
+		while (start < text.length()) {
+			int end = Math.min(text.length(), start + 1 + random.nextInt(5));
+			if (random.nextBoolean()) {
+				sink.append(text, start, end);
+			} else {
+				sink.append(text.subSequence(start, end));
+			}
+			start = end;
+		}
+	}
+
+	// ASCII, 2- and 3-byte BMP, supplementary pairs and lone surrogates
+	private static String randomText(Random random, int length) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < length; i++) {
+			switch (random.nextInt(6)) {
+				case 0, 1 -> text.append((char) (0x20 + random.nextInt(0x5F)));
+				case 2 -> text.append((char) (0x80 + random.nextInt(0x780)));
+				case 3 -> text.append((char) (0x800 + random.nextInt(0xD000)));
+				case 4 -> text.appendCodePoint(0x10000 + random.nextInt(0x100000));
+				default -> text.append((char) (0xD800 + random.nextInt(0x800)));
+			}
+		}
+		return text.toString();
+	}
+
+	private static byte[] bytes(Utf8Sink sink) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		sink.writeTo(out);
+		return out.toByteArray();
+	}
+
+	private double idle() {
+		return meterRegistry.get("sql.buffer.pool.idle").gauge().value();
+	}
+
+	private double poolCount(String result) {
+		return meterRegistry.get("sql.buffer.pool").tag("result", result).counter().count();
+	}
+}
@@ -0,0 +1,201 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.model.PartitionBound;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.StorageOptions;
+import com.example.sqlgenerator.model.Table;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.example.sqlgenerator.SchemaFixtures.column;
+import static com.example.sqlgenerator.SchemaFixtures.primaryKey;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DdlCacheTest {
+
+	private final TypeMapping typeMapping = new TypeMapping(new TypeMappingProperties());
+	private final SqlDialect mysql = new MySQLDialect(typeMapping);
+	private final SqlDialect postgres = new PostgreSQLDialect(typeMapping);
+
+	private SimpleMeterRegistry meterRegistry;
+	private DdlCache cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = cache(10, Duration.ofHours(1));
+	}
+
+	@Test
+	void repeatedTableIsServedFromTheCache() throws Exception {
+		Table table = labelled("users");
+
+		assertEquals(direct(mysql, table), cached(mysql, table));
+		assertEquals(direct(mysql, table), cached(mysql, table));
+
+		assertEquals(1.0, requests("hit"));
+		assertEquals(1.0, requests("miss"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void dialectIsPartOfTheKey() throws Exception {
+		Table table = labelled("users");
+
+		assertEquals(direct(mysql, table), cached(mysql, table));
+		assertEquals(direct(postgres, table), cached(postgres, table));
+
+		assertEquals(2.0, requests("miss"));
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvicted() throws Exception {
+		cache = cache(2, Duration.ofHours(1));
+		Table a = labelled("a");
+		Table b = labelled("b");
+		Table c = labelled("c");
+
+		cached(mysql, a);
+		cached(mysql, b);
+		cached(mysql, a); // a is now the most recently used
+		cached(mysql, c); // evicts b
+
+		assertEquals(2, cache.size());
+		assertEquals(1.0, meterRegistry.get("sql.ddl.cache.evictions").functionCounter().count());
+		cached(mysql, a);
+		assertEquals(2.0, requests("hit"));
+		cached(mysql, b);
+		assertEquals(4.0, requests("miss"));
+	}
+
+	@Test
+	void expiredEntryIsGeneratedAgain() throws Exception {
+		cache = cache(10, Duration.ofMillis(20));
+		Table table = labelled("users");
+
+		cached(mysql, table);
+		Thread.sleep(40);
+		assertEquals(direct(mysql, table), cached(mysql, table));
+
+		assertEquals(0.0, requests("hit"));
+		assertEquals(2.0, requests("miss"));
+		assertEquals(1, cache.size());
+	}
+
+	@Test
+	void disabledCacheGeneratesEveryTime() throws Exception {
+		ReflectionTestUtils.setField(cache, "enabled", false);
+		Table table = labelled("users");
+
+		assertEquals(direct(mysql, table), cached(mysql, table));
+
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void keyChangesWithEveryStorageOption() {
+		assertKeyChanges(table -> table.setStorage(new StorageOptions()));
+		assertKeyChanges(table -> storage(table).setEngine("MyISAM"));
+		assertKeyChanges(table -> storage(table).setEngine(""));
+		assertKeyChanges(table -> storage(table).setRowFormat("DYNAMIC"));
+		assertKeyChanges(table -> storage(table).setTablespace("fast"));
+		assertKeyChanges(table -> storage(table).setFillFactor(70));
+		assertKeyChanges(table -> storage(table).setClusteredPrimaryKey(true));
+	}
+
+	@Test
+	void keyChangesWithEveryPartitionField() {
+		assertKeyChanges(table -> table.getPartition().setType("LIST"));
+		assertKeyChanges(table -> table.getPartition().setColumn("created"));
+		assertKeyChanges(table -> table.getPartition().setCount(4));
+		assertKeyChanges(table -> table.getPartition().getPartitions().get(0).setName("p_low"));
+		assertKeyChanges(table -> table.getPartition().getPartitions().get(0).setValues(List.of("200")));
+		assertKeyChanges(table -> table.getPartition().getPartitions().get(0).setValues(List.of("100", "MAXVALUE")));
+		assertKeyChanges(table -> table.setPartition(null));
+	}
+
+	@Test
+	void keyTellsNullFromEmptyValues() {
+		assertKeyChanges(table -> table.getColumns().get(1).setDefaultValue(""));
+		assertKeyChanges(table -> table.getColumns().get(1).setDefaultValue("'a'"));
+		assertKeyChanges(table -> table.getColumns().get(1).setNullable(false));
+		assertKeyChanges(table -> table.getColumns().get(1).setUnique(true));
+	}
+
+	// Cached DDL for the changed table must be generated again, not served from the original's entry
+	private void assertKeyChanges(Consumer<Table> change) {
+		Table original = partitioned();
+		Table changed = partitioned();
+		change.accept(changed);
+		assertNotEquals(DdlCache.key(mysql, original), DdlCache.key(mysql, changed));
+		assertEquals(DdlCache.key(mysql, original), DdlCache.key(mysql, partitioned()));
+	}
+
+	private DdlCache cache(int maxEntries, Duration ttl) {
+		meterRegistry = new SimpleMeterRegistry();
+		DdlCache cache = new DdlCache();
+		ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(cache, "enabled", true);
+		ReflectionTestUtils.setField(cache, "maxEntries", maxEntries);
+		ReflectionTestUtils.setField(cache, "ttl", ttl);
+		cache.init();
+		return cache;
+	}
+
+	private double requests(String result) {
+		return meterRegistry.get("sql.ddl.cache.requests").tag("result", result).functionCounter().count();
+	}
+
+	private String cached(SqlDialect dialect, Table table) throws Exception {
+		StringBuilder out = new StringBuilder();
+		cache.writeCreateTable(dialect, table, out);
+		return out.toString();
+	}
+
+	private static String direct(SqlDialect dialect, Table table) throws Exception {
+		StringBuilder out = new StringBuilder();
+		dialect.writeCreateTable(table, out);
+		assertTrue(out.length() > 0);
+		return out.toString();
+	}
+
+	private static StorageOptions storage(Table table) {
+		if (table.getStorage() == null) {
+			table.setStorage(new StorageOptions());
+		}
+		return table.getStorage();
+	}
+
+	private static Table labelled(String name) {
+		return table(name, primaryKey("id", "entier"), column("label", "texte"));
+	}
+
+	private static Table partitioned() {
+		Table table = labelled("events");
+		PartitionBound low = new PartitionBound();
+		low.setName("p0");
+		low.setValues(List.of("100"));
+		PartitionBound rest = new PartitionBound();
+		rest.setName("pmax");
+		rest.setValues(List.of("MAXVALUE"));
+		PartitionDefinition partition = new PartitionDefinition();
+		partition.setType("RANGE");
+		partition.setColumn("id");
+		partition.setPartitions(List.of(low, rest));
+		table.setPartition(partition);
+		return table;
+	}
+}
@@ -0,0 +1,197 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.parser.SQLParserService;
+import com.example.sqlgenerator.parser.ast.ColumnNode;
+import com.example.sqlgenerator.parser.ast.ForeignKeyNode;
+import com.example.sqlgenerator.parser.ast.IndexNode;
+import com.example.sqlgenerator.parser.ast.TableNode;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static com.example.sqlgenerator.SchemaFixtures.foreignKey;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DdlEmitterTest {
+
+	private SimpleMeterRegistry meterRegistry;
+	private SQLParserService parserService;
+	private DdlEmitter emitter;
+
+	@BeforeEach
+	void setUp() {
+		TypeMappingProperties properties = new TypeMappingProperties();
+		properties.getTypes().put("decimal", Map.of("generic", "DECIMAL(10,2)"));
+		properties.getTypes().put("counter", Map.of("generic", "INT UNSIGNED"));
+		TypeMapping typeMapping = new TypeMapping(properties);
+
+		meterRegistry = new SimpleMeterRegistry();
+		GenerationMetrics metrics = new GenerationMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", meterRegistry);
+		metrics.init();
+
+		SQLGeneratorService sqlGeneratorService = new SQLGeneratorService();
+		ReflectionTestUtils.setField(sqlGeneratorService, "typeMapping", typeMapping);
+		ReflectionTestUtils.setField(sqlGeneratorService, "metrics", metrics);
+		sqlGeneratorService.init();
+
+		emitter = new DdlEmitter();
+		ReflectionTestUtils.setField(emitter, "typeMapping", typeMapping);
+		ReflectionTestUtils.setField(emitter, "sqlGeneratorService", sqlGeneratorService);
+
+		parserService = new SQLParserService();
+		ReflectionTestUtils.setField(parserService, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(parserService, "metrics", metrics);
+		ReflectionTestUtils.setField(parserService, "poolSize", 2);
+		ReflectionTestUtils.invokeMethod(parserService, "init");
+	}
+
+	@Test
+	void everyTypeRoundTrips() {
+		TableDefinition table = table("measures",
+				column("a", "entier", c -> { }),
+				column("b", "texte", c -> { }),
+				column("c", "date", c -> { }),
+				column("d", "decimal", c -> { }),
+				column("e", "counter", c -> { }),
+				// Not a logical type, written as declared
+				column("f", "BIGINT", c -> { }));
+
+		TableNode parsed = roundTrip(table);
+
+		assertEquals(List.of("INT", "VARCHAR(255)", "DATE", "DECIMAL(10,2)", "INT UNSIGNED", "BIGINT"),
+				parsed.columns().stream().map(ColumnNode::type).toList());
+	}
+
+	@Test
+	void constraintsRoundTrip() {
+		TableDefinition table = table("orders",
+				column("id", "entier", c -> { c.setPrimaryKey(true); c.setAutoIncrement(true); }),
+				column("code", "texte", c -> { c.setNullable(false); c.setUnique(true); }),
+				column("created_at", "date", c -> { c.setNullable(false); c.setDefaultValue("now"); }),
+				column("user_id", "entier", c -> { }));
+		table.getForeignKeys().add(foreignKey("user_id", "users", "id"));
+		table.getIndexes().add(index("idx_orders_user", false, "user_id"));
+		table.getIndexes().add(index(null, true, "code", "created_at"));
+
+		TableNode parsed = roundTrip(table);
+
+		ColumnNode id = parsed.columns().get(0);
+		assertTrue(id.primaryKey());
+		assertTrue(id.autoIncrement());
+		ColumnNode code = parsed.columns().get(1);
+		assertTrue(code.notNull());
+		assertTrue(code.unique());
+		ColumnNode createdAt = parsed.columns().get(2);
+		assertTrue(createdAt.notNull());
+		assertEquals("CURRENT_TIMESTAMP", createdAt.defaultValue());
+		ColumnNode userId = parsed.columns().get(3);
+		assertFalse(userId.notNull() || userId.primaryKey() || userId.unique() || userId.autoIncrement());
+		assertNull(userId.defaultValue());
+
+		ForeignKeyNode foreignKey = parsed.foreignKeys().get(0);
+		assertEquals(List.of("user_id", "users", "id"),
+				List.of(foreignKey.column(), foreignKey.referenceTable(), foreignKey.referenceColumn()));
+
+		assertEquals(List.of(
+						new IndexNode("idx_orders_user", "orders", List.of("user_id"), false),
+						new IndexNode("uq_orders_code_created_at", "orders", List.of("code", "created_at"), true)),
+				parsed.indexes());
+	}
+
+	@Test
+	void keywordsAndOddNamesAreQuoted() {
+		TableDefinition table = table("table",
+				column("key", "entier", c -> { }),
+				column("Default", "entier", c -> { }),
+				column("order-id", "entier", c -> { }),
+				column("index", "entier", c -> { }));
+		table.getIndexes().add(index("unique", false, "key", "order-id"));
+
+		String sql = emitter.createTable(table);
+		TableNode parsed = parserService.parseTable(sql);
+
+		assertTrue(sql.startsWith("CREATE TABLE `table`"), sql);
+		assertEquals("table", parsed.name());
+		assertEquals(List.of("key", "Default", "order-id", "index"),
+				parsed.columns().stream().map(ColumnNode::name).toList());
+		assertEquals(List.of("key", "order-id"), parsed.indexes().get(0).columns());
+	}
+
+	@Test
+	void inputOutsideTheGrammarIsRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> emitter.createTable(table("t", column("a", "VARCHAR(max)", c -> { }))));
+		assertThrows(IllegalArgumentException.class,
+				() -> emitter.createTable(table("t", column("a", "KEY", c -> { }))));
+		assertThrows(IllegalArgumentException.class,
+				() -> emitter.createTable(table("t", column("a`b", "entier", c -> { }))));
+		assertThrows(IllegalArgumentException.class, () -> emitter.createTable(table("t")));
+	}
+
+	@Test
+	void sampledValidationParsesTheOutput() {
+		JavaCCSQLGeneratorService service = new JavaCCSQLGeneratorService();
+		ReflectionTestUtils.setField(service, "sqlParserService", parserService);
+		ReflectionTestUtils.setField(service, "ddlEmitter", emitter);
+		ReflectionTestUtils.setField(service, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.invokeMethod(service, "init");
+		TableDefinition table = table("users", column("id", "entier", c -> c.setPrimaryKey(true)));
+
+		ReflectionTestUtils.setField(service, "validationSampleRate", 1.0);
+		service.generateSQL(table);
+		ReflectionTestUtils.setField(service, "validationSampleRate", 0.0);
+		service.generateSQL(table);
+
+		assertEquals(1, meterRegistry.get("sql.generate.javacc").tag("validation", "parsed").timer().count());
+		assertEquals(1, meterRegistry.get("sql.generate.javacc").tag("validation", "skipped").timer().count());
+	}
+
+	private TableNode roundTrip(TableDefinition table) {
+		TableNode parsed = parserService.parseTable(emitter.createTable(table));
+		assertEquals(table.getTableName(), parsed.name());
+		assertEquals(table.getColumns().stream().map(ColumnDefinition::getName).toList(),
+				parsed.columns().stream().map(ColumnNode::name).toList());
+		return parsed;
+	}
+
+	private static TableDefinition table(String name, ColumnDefinition... columns) {
+		TableDefinition table = new TableDefinition();
+		table.setTableName(name);
+		table.setColumns(new ArrayList<>(List.of(columns)));
+		table.setForeignKeys(new ArrayList<>());
+		table.setIndexes(new ArrayList<>());
+		return table;
+	}
+
+	private static ColumnDefinition column(String name, String type, Consumer<ColumnDefinition> customizer) {
+		ColumnDefinition column = new ColumnDefinition();
+		column.setName(name);
+		column.setType(type);
+		customizer.accept(column);
+		return column;
+	}
+
+	private static IndexDefinition index(String name, boolean unique, String... columns) {
+		IndexDefinition index = new IndexDefinition();
+		index.setIndexName(name);
+		index.setUnique(unique);
+		index.setColumnNames(List.of(columns));
+		return index;
+	}
+}
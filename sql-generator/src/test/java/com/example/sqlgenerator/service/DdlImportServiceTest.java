@@ -0,0 +1,179 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.exception.SQLParseException;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.ForeignKeyDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.parser.SQLParserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DdlImportServiceTest {
+
+	private DdlImportService importService;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		GenerationMetrics metrics = new GenerationMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", meterRegistry);
+		metrics.init();
+
+		SQLParserService parserService = new SQLParserService();
+		ReflectionTestUtils.setField(parserService, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(parserService, "metrics", metrics);
+		ReflectionTestUtils.setField(parserService, "poolSize", 2);
+		ReflectionTestUtils.invokeMethod(parserService, "init");
+
+		importService = new DdlImportService();
+		ReflectionTestUtils.setField(importService, "sqlParserService", parserService);
+	}
+
+	@Test
+	void scriptMixesAllStatementForms() {
+		List<TableDefinition> tables = importDdl("""
+				-- dump header
+				DROP TABLE IF EXISTS orders, users;
+				CREATE TABLE users (id INT PRIMARY KEY, email VARCHAR(255));
+				/* orders reference users */
+				CREATE TABLE orders (id INT PRIMARY KEY, user_id INT);
+				CREATE INDEX idx_orders_user ON orders (user_id);
+				ALTER TABLE orders ADD CONSTRAINT fk_orders_users FOREIGN KEY (user_id) REFERENCES users(id);
+				;
+				""");
+
+		assertEquals(List.of("users", "orders"), tables.stream().map(TableDefinition::getTableName).toList());
+		TableDefinition orders = tables.get(1);
+		assertEquals("idx_orders_user", orders.getIndexes().get(0).getIndexName());
+		assertEquals(List.of("user_id"), orders.getIndexes().get(0).getColumnNames());
+		assertEquals("users", orders.getForeignKeys().get(0).getReferenceTable());
+		assertTrue(tables.get(0).getIndexes().isEmpty());
+		assertTrue(tables.get(0).getForeignKeys().isEmpty());
+	}
+
+	@Test
+	void createTableColumnsAndConstraints() {
+		TableDefinition table = importDdl("""
+				CREATE TABLE IF NOT EXISTS `accounts` (
+				  id INT NOT NULL AUTO_INCREMENT,
+				  tenant_id INT NOT NULL,
+				  "email" VARCHAR(320) NOT NULL UNIQUE,
+				  balance DECIMAL(10,2) DEFAULT -1.5,
+				  created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+				  note TEXT NULL,
+				  PRIMARY KEY (id, tenant_id),
+				  UNIQUE KEY uq_accounts_note (note),
+				  KEY (created_at),
+				  CONSTRAINT fk_accounts_tenants FOREIGN KEY (tenant_id) REFERENCES tenants(id) ON DELETE CASCADE
+				) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+				""").get(0);
+
+		assertEquals("accounts", table.getTableName());
+		List<ColumnDefinition> columns = table.getColumns();
+		assertEquals(6, columns.size());
+
+		ColumnDefinition id = columns.get(0);
+		assertTrue(id.isPrimaryKey());
+		assertTrue(id.isAutoIncrement());
+		assertFalse(id.isNullable());
+		// Table-level PRIMARY KEY marks every listed column
+		assertTrue(columns.get(1).isPrimaryKey());
+
+		ColumnDefinition email = columns.get(2);
+		assertEquals("email", email.getName());
+		assertEquals("VARCHAR(320)", email.getType());
+		assertTrue(email.isUnique());
+
+		assertEquals("DECIMAL(10,2)", columns.get(3).getType());
+		assertEquals("-1.5", columns.get(3).getDefaultValue());
+		assertEquals("CURRENT_TIMESTAMP", columns.get(4).getDefaultValue());
+		assertTrue(columns.get(5).isNullable());
+		assertNull(columns.get(5).getDefaultValue());
+
+		List<IndexDefinition> indexes = table.getIndexes();
+		assertEquals("uq_accounts_note", indexes.get(0).getIndexName());
+		assertTrue(indexes.get(0).isUnique());
+		assertEquals("idx_accounts_created_at", indexes.get(1).getIndexName());
+		assertFalse(indexes.get(1).isUnique());
+
+		ForeignKeyDefinition foreignKey = table.getForeignKeys().get(0);
+		assertEquals("tenant_id", foreignKey.getColumnName());
+		assertEquals("tenants", foreignKey.getReferenceTable());
+		assertEquals("id", foreignKey.getReferenceColumn());
+	}
+
+	@Test
+	void identityColumnsOfEachDialect() {
+		List<ColumnDefinition> columns = importDdl("""
+				CREATE TABLE t (
+				  a INT IDENTITY(1,1),
+				  b INTEGER GENERATED BY DEFAULT AS IDENTITY,
+				  c INTEGER PRIMARY KEY AUTOINCREMENT
+				);
+				""").get(0).getColumns();
+
+		assertTrue(columns.stream().allMatch(ColumnDefinition::isAutoIncrement));
+	}
+
+	@Test
+	void alterTableAttachesForeignKeysToTheirTable() {
+		List<TableDefinition> tables = importDdl("""
+				CREATE TABLE orders (id INT, user_id INT);
+				ALTER TABLE orders ADD FOREIGN KEY (user_id) REFERENCES users(id);
+				ALTER TABLE payments ADD CONSTRAINT fk_payments_orders FOREIGN KEY (order_id) REFERENCES orders(id);
+				""");
+
+		// payments is not created by the script, so its foreign key has nowhere to go
+		assertEquals(1, tables.size());
+		assertEquals(1, tables.get(0).getForeignKeys().size());
+		assertEquals("user_id", tables.get(0).getForeignKeys().get(0).getColumnName());
+	}
+
+	@Test
+	void dropTableProducesNoTables() {
+		assertTrue(importDdl("DROP TABLE users;\nDROP TABLE IF EXISTS a, b;").isEmpty());
+	}
+
+	@Test
+	void syntaxErrorReportsLineAndColumn() {
+		SQLParseException e = assertThrows(SQLParseException.class, () -> importDdl("""
+				CREATE TABLE users (
+				  id INT PRIMARY KEY,
+				  name VARCHAR(255) NOT NUL
+				);
+				"""));
+
+		assertTrue(e.getMessage().contains("line 3, column 25"), e.getMessage());
+	}
+
+	@Test
+	void lexicalErrorReportsLineAndColumn() {
+		SQLParseException e = assertThrows(SQLParseException.class,
+				() -> importDdl("CREATE TABLE users (\n  id INT @\n);"));
+
+		assertTrue(e.getMessage().contains("line 2, column 10"), e.getMessage());
+	}
+
+	@Test
+	void parserIsReusableAfterAnError() {
+		assertThrows(SQLParseException.class, () -> importDdl("CREATE TABLE"));
+
+		assertEquals("users", importDdl("CREATE TABLE users (id INT);").get(0).getTableName());
+	}
+
+	private List<TableDefinition> importDdl(String ddl) {
+		return importService.importDdl(new StringReader(ddl));
+	}
+}
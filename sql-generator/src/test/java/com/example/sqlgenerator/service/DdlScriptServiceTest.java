@@ -0,0 +1,185 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.SQLServerDialect;
+import com.example.sqlgenerator.dialect.SQLiteDialect;
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.model.CompactTable;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.QueryPattern;
+import com.example.sqlgenerator.model.Table;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.example.sqlgenerator.SchemaFixtures.column;
+import static com.example.sqlgenerator.SchemaFixtures.primaryKey;
+import static com.example.sqlgenerator.SchemaFixtures.relation;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DdlScriptServiceTest {
+
+	private final TypeMapping typeMapping = new TypeMapping(new TypeMappingProperties());
+	private final List<SqlDialect> dialects = List.of(new MySQLDialect(typeMapping),
+			new PostgreSQLDialect(typeMapping), new SQLServerDialect(typeMapping), new SQLiteDialect(typeMapping));
+
+	private ForkJoinPool pool;
+	private DdlScriptService scriptService;
+	private IndexAdvisor indexAdvisor;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		GenerationMetrics metrics = new GenerationMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", meterRegistry);
+		metrics.init();
+
+		SQLGeneratorService sqlGeneratorService = new SQLGeneratorService();
+		ReflectionTestUtils.setField(sqlGeneratorService, "typeMapping", typeMapping);
+		ReflectionTestUtils.setField(sqlGeneratorService, "metrics", metrics);
+		sqlGeneratorService.init();
+
+		DdlCache ddlCache = new DdlCache();
+		ReflectionTestUtils.setField(ddlCache, "meterRegistry", meterRegistry);
+		ReflectionTestUtils.setField(ddlCache, "enabled", true);
+		ReflectionTestUtils.setField(ddlCache, "maxEntries", 100);
+		ReflectionTestUtils.setField(ddlCache, "ttl", Duration.ofHours(1));
+		ddlCache.init();
+
+		pool = new ForkJoinPool(2);
+		scriptService = new DdlScriptService();
+		ReflectionTestUtils.setField(scriptService, "ddlCache", ddlCache);
+		ReflectionTestUtils.setField(scriptService, "sqlGeneratorService", sqlGeneratorService);
+		ReflectionTestUtils.setField(scriptService, "metrics", metrics);
+		ReflectionTestUtils.setField(scriptService, "tableGenerationPool", pool);
+		ReflectionTestUtils.setField(scriptService, "parallelMinTables", 2000);
+
+		indexAdvisor = new IndexAdvisor();
+		ReflectionTestUtils.setField(indexAdvisor, "sqlGeneratorService", sqlGeneratorService);
+		ReflectionTestUtils.setField(indexAdvisor, "metrics", metrics);
+	}
+
+	@AfterEach
+	void tearDown() {
+		pool.shutdown();
+	}
+
+	@Test
+	void compactSchemaWritesTheSameScript() throws Exception {
+		List<Table> tables = schema();
+		typeMapping.resolve(tables);
+		CompactSchema schema = CompactSchema.of(tables);
+
+		for (SqlDialect dialect : dialects) {
+			for (boolean ordered : new boolean[] {false, true}) {
+				StringBuilder expected = new StringBuilder();
+				scriptService.write(tables, dialect, false, ordered, expected);
+				StringBuilder actual = new StringBuilder();
+				scriptService.write(schema, dialect, ordered, actual);
+				assertEquals(expected.toString(), actual.toString(), dialect.getName() + " ordered=" + ordered);
+			}
+		}
+	}
+
+	@Test
+	void compactSchemaGetsTheSameIndexPlan() throws Exception {
+		List<Table> tables = schema();
+		typeMapping.resolve(tables);
+		CompactSchema schema = CompactSchema.of(tables);
+
+		for (SqlDialect dialect : dialects) {
+			StringBuilder expected = new StringBuilder();
+			indexAdvisor.write(indexAdvisor.plan(tables, dialect), expected);
+			StringBuilder actual = new StringBuilder();
+			indexAdvisor.write(indexAdvisor.plan(schema, dialect), actual);
+			assertTrue(actual.indexOf("CREATE INDEX") >= 0, actual.toString());
+			assertEquals(expected.toString(), actual.toString(), dialect.getName());
+		}
+	}
+
+	@Test
+	void compactSchemaSharesRepeatedStrings() {
+		// Parsed JSON gives every table its own copies of "id", "entier", "created_at", ...
+		List<Table> tables = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			tables.add(table("t" + i,
+					primaryKey(new String("id"), new String("entier")),
+					column(new String("created_at"), new String("date")),
+					column(new String("label"), new String("texte"))));
+		}
+
+		CompactSchema schema = CompactSchema.of(tables);
+
+		CompactTable first = schema.getTables().get(0);
+		CompactTable last = schema.getTables().get(499);
+		assertSame(first.columnName(1), last.columnName(1));
+		assertSame(first.columnType(0), last.columnType(0));
+		// 500 table names, 3 column names and 3 types instead of 3,500 strings
+		assertEquals(506, schema.getDistinctStrings());
+	}
+
+	@Test
+	void tableWithoutColumnsIsRejected() {
+		Table table = table("empty");
+		assertThrows(IllegalArgumentException.class, () -> CompactSchema.of(List.of(table)));
+		table.setColumns(null);
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> scriptService.generate(List.of(table), dialects.get(0)));
+		assertEquals("Table empty has no columns", e.getMessage());
+	}
+
+	// users <- orders <- order_items, plus a cycle between authors and books
+	private static List<Table> schema() {
+		Table users = table("users",
+				primaryKey("id", "entier"),
+				column("email", "texte"),
+				column("created_at", "date"));
+		users.getColumns().get(1).setUnique(true);
+		users.getColumns().get(1).setNullable(false);
+		users.getColumns().get(2).setDefaultValue("now");
+		Table orders = table("orders",
+				primaryKey("id", "entier"),
+				column("user_id", "entier"),
+				column("status", "texte"),
+				column("placed_at", "date"));
+		orders.getColumns().get(0).setAutoIncrement(true);
+		orders.setRelations(List.of(relation("orders", "user_id", "users")));
+		QueryPattern recent = new QueryPattern();
+		recent.setName("recent orders");
+		recent.setWhere(List.of("status"));
+		recent.setOrderBy(List.of("placed_at"));
+		orders.setQueries(List.of(recent));
+		Table items = table("order_items",
+				primaryKey("id", "entier"),
+				column("order_id", "entier"));
+		items.setRelations(List.of(relation("order_items", "order_id", "orders")));
+		IndexDefinition index = new IndexDefinition();
+		index.setIndexName("idx_order_items_order");
+		index.setColumnNames(List.of("order_id"));
+		items.setIndexes(List.of(index));
+		Table authors = table("authors",
+				primaryKey("id", "entier"),
+				column("favorite_book_id", "entier"));
+		authors.setRelations(List.of(relation("authors", "favorite_book_id", "books")));
+		Table books = table("books",
+				primaryKey("id", "entier"),
+				column("author_id", "entier"));
+		books.setRelations(List.of(relation("books", "author_id", "authors")));
+		return List.of(items, orders, users, authors, books);
+	}
+}
@@ -0,0 +1,104 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.dto.DryRunResult;
+import com.example.sqlgenerator.model.Table;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Generated DDL has to run on H2 in the dialect's compatibility mode
+@SpringBootTest
+class DryRunServiceTest {
+
+	private static final String SCHEMA = """
+			[
+			  {"name": "customers",
+			   "columns": [{"name": "id", "type": "entier", "primaryKey": true, "autoIncrement": true},
+			               {"name": "email", "type": "texte", "nullable": false, "unique": true},
+			               {"name": "country", "type": "texte"}],
+			   "indexes": [{"indexName": "ix_customers_country", "columnNames": ["country"]}],
+			   "storage": {"fillFactor": 90}},
+			  {"name": "orders",
+			   "columns": [{"name": "id", "type": "entier", "primaryKey": true},
+			               {"name": "customer_id", "type": "entier", "nullable": false},
+			               {"name": "created", "type": "date"},
+			               {"name": "note", "type": "texte", "defaultValue": "'n/a'"}],
+			   "relations": [{"sourceTable": "orders", "sourceColumn": "customer_id",
+			                  "targetTable": "customers", "targetColumn": "id"}],
+			   "queries": [{"name": "recent", "where": ["customer_id"], "orderBy": ["created"]}],
+			   "partition": {"type": "RANGE", "column": "id",
+			                 "partitions": [{"name": "p0", "values": ["1000"]}, {"name": "pmax", "values": ["MAXVALUE"]}]}}
+			]
+			""";
+
+	@Autowired
+	private DryRunService dryRunService;
+
+	@Autowired
+	private SqlDialectRegistry dialectRegistry;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@ParameterizedTest
+	@ValueSource(strings = {"MySQL", "PostgreSQL", "SQL Server"})
+	void generatedScriptRuns(String dialect) throws Exception {
+		for (boolean ordered : new boolean[] {false, true}) {
+			DryRunResult result = dryRunService.run(schema(), dialectRegistry.resolve(dialect), ordered, true);
+
+			for (DryRunResult.StatementResult statement : result.getStatements()) {
+				assertNull(statement.getError(), () -> dialect + ", line " + statement.getLine() + ": " + statement.getSql());
+				assertNotNull(statement.getMillis(), statement.getSql());
+			}
+			assertEquals(0, result.getFailureCount());
+		}
+	}
+
+	@Test
+	void everyFailureIsReportedWithItsLine() throws Exception {
+		String script = """
+				CREATE TABLE a (id INT PRIMARY KEY);
+				-- comment; not a statement
+				CREATE TABLE a (id INT);
+
+				CREATE TABLE b (
+				  id INT,
+				  label VARCHAR(20) DEFAULT 'x;y'
+				);
+				ALTER TABLE b ADD CONSTRAINT fk_b_c FOREIGN KEY (id) REFERENCES c(id);
+				""";
+
+		DryRunResult result = dryRunService.run(script, dialectRegistry.resolve("PostgreSQL"));
+
+		assertEquals(4, result.getStatementCount());
+		assertEquals(2, result.getFailureCount());
+		List<DryRunResult.StatementResult> statements = result.getStatements();
+		assertEquals(List.of(1, 3, 5, 9), statements.stream().map(DryRunResult.StatementResult::getLine).toList());
+		assertNull(statements.get(0).getError());
+		assertNotNull(statements.get(1).getError());
+		assertNull(statements.get(2).getError());
+		assertNotNull(statements.get(3).getError());
+	}
+
+	@Test
+	void sqliteIsRejected() {
+		assertThrows(IllegalArgumentException.class,
+				() -> dryRunService.run("CREATE TABLE a (id INTEGER);", dialectRegistry.resolve("SQLite")));
+	}
+
+	private List<Table> schema() throws Exception {
+		return objectMapper.readValue(SCHEMA, new TypeReference<List<Table>>() {});
+	}
+}
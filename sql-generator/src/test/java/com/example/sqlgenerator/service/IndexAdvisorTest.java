@@ -0,0 +1,146 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.dto.IndexPlan;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.Table;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static com.example.sqlgenerator.SchemaFixtures.index;
+import static com.example.sqlgenerator.SchemaFixtures.keyedTable;
+import static com.example.sqlgenerator.SchemaFixtures.query;
+import static com.example.sqlgenerator.SchemaFixtures.relation;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndexAdvisorTest {
+
+	private final TypeMapping typeMapping = new TypeMapping(new TypeMappingProperties());
+	private final SqlDialect mysql = new MySQLDialect(typeMapping);
+	private final SqlDialect postgres = new PostgreSQLDialect(typeMapping);
+
+	private IndexAdvisor indexAdvisor;
+
+	@BeforeEach
+	void setUp() {
+		GenerationMetrics metrics = new GenerationMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+		metrics.init();
+
+		SQLGeneratorService sqlGeneratorService = new SQLGeneratorService();
+		ReflectionTestUtils.setField(sqlGeneratorService, "typeMapping", typeMapping);
+		ReflectionTestUtils.setField(sqlGeneratorService, "metrics", metrics);
+		sqlGeneratorService.init();
+
+		indexAdvisor = new IndexAdvisor();
+		ReflectionTestUtils.setField(indexAdvisor, "sqlGeneratorService", sqlGeneratorService);
+		ReflectionTestUtils.setField(indexAdvisor, "metrics", metrics);
+	}
+
+	@Test
+	void foreignKeysAreIndexedExceptOnMySql() {
+		Table orders = keyedTable("orders", "id", "user_id", "shop_id");
+		orders.setRelations(List.of(relation("orders", "user_id", "users"), relation("orders", "shop_id", "shops")));
+		// An index that starts with the column already serves the foreign key
+		orders.setIndexes(List.of(index("idx_orders_shop_created", "shop_id", "id")));
+		List<Table> tables = List.of(keyedTable("users", "id"), keyedTable("shops", "id"), orders);
+
+		IndexPlan plan = indexAdvisor.plan(tables, postgres);
+		assertEquals(List.of("orders idx_orders_user_id (user_id): foreign key to users(id)"), advised(plan));
+		assertTrue(plan.getIndexes().get(0).getSql().startsWith("CREATE INDEX idx_orders_user_id ON orders"),
+				plan.getIndexes().get(0).getSql());
+
+		// InnoDB indexes foreign keys itself
+		assertEquals(List.of(), advised(indexAdvisor.plan(tables, mysql)));
+	}
+
+	@Test
+	void candidatesCoveredByAnotherIndexAreDropped() {
+		Table orders = keyedTable("orders", "id", "user_id", "status", "placed_at");
+		orders.setRelations(List.of(relation("orders", "user_id", "users")));
+		orders.setQueries(List.of(
+				query("by_status", List.of("status"), List.of()),
+				query("recent_by_status", List.of("status"), List.of("placed_at")),
+				query("by_user", List.of("user_id"), List.of("placed_at")),
+				query("by_id", List.of("id"), List.of())));
+
+		IndexPlan plan = indexAdvisor.plan(List.of(keyedTable("users", "id"), orders), postgres);
+
+		// The foreign key and by_status are prefixes of the query indexes, by_id of the primary key
+		assertEquals(List.of(
+						"orders idx_orders_status_placed_at (status, placed_at): query recent_by_status",
+						"orders idx_orders_user_id_placed_at (user_id, placed_at): query by_user"),
+				advised(plan));
+		assertEquals(List.of(), plan.getRedundant());
+	}
+
+	@Test
+	void declaredIndexesCoveredByOthersAreRedundant() {
+		Table orders = keyedTable("orders", "id", "status", "placed_at", "code");
+		IndexDefinition uniqueCode = index("uq_orders_code", "code");
+		uniqueCode.setUnique(true);
+		orders.setIndexes(List.of(
+				index("idx_orders_status", "status"),
+				index("idx_orders_status_placed", "status", "placed_at"),
+				index("idx_orders_id", "id"),
+				index("idx_orders_placed", "placed_at"),
+				index("idx_orders_placed_again", "placed_at"),
+				uniqueCode,
+				index("idx_orders_code_status", "code", "status")));
+
+		IndexPlan plan = indexAdvisor.plan(List.of(orders), postgres);
+
+		// Unique indexes enforce a constraint and are kept even when covered
+		assertEquals(List.of(
+						"idx_orders_status (status) covered by idx_orders_status_placed",
+						"idx_orders_id (id) covered by PRIMARY KEY",
+						"idx_orders_placed_again (placed_at) covered by idx_orders_placed"),
+				plan.getRedundant().stream().map(index -> index.getIndexName() + " (" + String.join(", ", index.getColumns())
+						+ ") covered by " + index.getCoveredBy()).toList());
+		assertEquals(List.of(), advised(plan));
+	}
+
+	@Test
+	void indexNamesAreUniqueAcrossTheSchema() {
+		// PostgreSQL would reject a second relation named idx_orders_user_id even on another table
+		Table audit = keyedTable("audit", "id", "user_id");
+		audit.setIndexes(List.of(index("idx_orders_user_id", "user_id")));
+		Table orders = keyedTable("orders", "id", "user_id");
+		orders.setRelations(List.of(relation("orders", "user_id", "users")));
+
+		IndexPlan plan = indexAdvisor.plan(List.of(keyedTable("users", "id"), audit, orders), postgres);
+
+		assertEquals(List.of("orders idx_orders_user_id_2 (user_id): foreign key to users(id)"), advised(plan));
+	}
+
+	@Test
+	void numberedNamesStayWithinTheLimit() {
+		String tableName = "t".repeat(40);
+		String columnName = "c".repeat(18);
+		String name = "idx_" + tableName + "_" + columnName;
+		assertEquals(63, name.length());
+		Table other = keyedTable("other", "id", columnName);
+		other.setIndexes(List.of(index(name, columnName)));
+		Table table = keyedTable(tableName, "id", columnName);
+		table.setRelations(List.of(relation(tableName, columnName, "other")));
+
+		IndexPlan plan = indexAdvisor.plan(List.of(other, table), postgres);
+
+		String advisedName = plan.getIndexes().get(0).getIndex().getIndexName();
+		assertEquals(name.substring(0, 61) + "_2", advisedName);
+	}
+
+	private static List<String> advised(IndexPlan plan) {
+		return plan.getIndexes().stream().map(index -> index.getTable() + " " + index.getIndex().getIndexName()
+				+ " (" + String.join(", ", index.getIndex().getColumnNames()) + "): " + index.getReason()).toList();
+	}
+}
@@ -0,0 +1,118 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.SqlDialectRegistry;
+import com.example.sqlgenerator.exception.SchemaValidationException;
+import com.example.sqlgenerator.model.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.sqlgenerator.SchemaFixtures.keyedTable;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// The reactive routes are served by their own servlet, so they are tested on a running server
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ReactiveGenerationServiceTest {
+
+	@Autowired
+	private ReactiveGenerationService reactiveGenerationService;
+
+	@Autowired
+	private SqlDialectRegistry dialectRegistry;
+
+	@Autowired
+	private WebTestClient webTestClient;
+
+	@Test
+	void fragmentsAreOnlyGeneratedOnDemand() {
+		AtomicInteger pulled = new AtomicInteger();
+		Flux<Table> tables = Flux.just(keyedTable("users", "id"), keyedTable("orders", "id", "user_id"))
+				.doOnNext(table -> pulled.incrementAndGet());
+
+		StepVerifier.create(generate(tables, "PostgreSQL"), 0)
+				.expectSubscription()
+				.then(() -> assertEquals(0, pulled.get()))
+				.thenRequest(1)
+				.assertNext(buffer -> assertTrue(text(buffer).contains("CREATE TABLE users"), text(buffer)))
+				.then(() -> assertEquals(1, pulled.get()))
+				.thenRequest(1)
+				.assertNext(buffer -> assertTrue(text(buffer).contains("CREATE TABLE orders"), text(buffer)))
+				.then(() -> assertEquals(2, pulled.get()))
+				.thenRequest(1)
+				.verifyComplete();
+	}
+
+	@Test
+	void badTableEndsTheStreamWithAnError() {
+		Table duplicate = keyedTable("orders", "id", "total", "total");
+		Flux<Table> tables = Flux.just(keyedTable("users", "id"), duplicate, keyedTable("shops", "id"));
+
+		StepVerifier.create(generate(tables, "MySQL"))
+				.assertNext(buffer -> assertTrue(text(buffer).contains("CREATE TABLE users"), text(buffer)))
+				.expectErrorSatisfies(e -> {
+					assertTrue(e instanceof SchemaValidationException, e.toString());
+					assertEquals("DUPLICATE_COLUMN tables[1].columns[2].name",
+							((SchemaValidationException) e).getErrors().get(0).getCode() + " "
+									+ ((SchemaValidationException) e).getErrors().get(0).getPath());
+				})
+				.verify();
+
+		StepVerifier.create(generate(Flux.just(table("users")), "MySQL"))
+				.expectErrorMatches(e -> e instanceof SchemaValidationException
+						&& ((SchemaValidationException) e).getErrors().get(0).getCode().equals("NO_COLUMNS"))
+				.verify();
+	}
+
+	@Test
+	void endpointStreamsOneFragmentPerLine() {
+		String body = webTestClient.post().uri("/api/reactive/sql/generate?dialect=PostgreSQL")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.bodyValue(String.join("\n",
+						"{\"name\": \"users\", \"columns\": [{\"name\": \"id\", \"type\": \"entier\", \"primaryKey\": true}]}",
+						"{\"name\": \"orders\", \"columns\": [{\"name\": \"id\", \"type\": \"entier\", \"primaryKey\": true},"
+								+ " {\"name\": \"user_id\", \"type\": \"entier\"}], \"relations\": [{\"sourceTable\": \"orders\","
+								+ " \"sourceColumn\": \"user_id\", \"targetTable\": \"users\", \"targetColumn\": \"id\","
+								+ " \"relationType\": \"ManyToOne\"}]}"))
+				.exchange()
+				.expectStatus().isOk()
+				.expectHeader().contentTypeCompatibleWith(MediaType.TEXT_PLAIN)
+				.expectBody(String.class)
+				.returnResult().getResponseBody();
+
+		assertTrue(body.indexOf("CREATE TABLE users") < body.indexOf("CREATE TABLE orders"), body);
+		assertTrue(body.indexOf("CREATE TABLE orders") < body.indexOf("FOREIGN KEY"), body);
+	}
+
+	@Test
+	void badFirstLineIsABadRequest() {
+		// Nothing was written yet, so the client still gets a status for it
+		webTestClient.post().uri("/api/reactive/sql/generate?dialect=PostgreSQL")
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.bodyValue("{\"name\": \"users\", \"columns\": []}")
+				.exchange()
+				.expectStatus().isBadRequest()
+				.expectBody(String.class)
+				.value(error -> assertTrue(error.contains("NO_COLUMNS tables[0].columns: Table 'users' has no columns"), error));
+	}
+
+	private Flux<DataBuffer> generate(Flux<Table> tables, String dialect) {
+		SqlDialect sqlDialect = dialectRegistry.resolve(dialect);
+		return reactiveGenerationService.generate(tables, sqlDialect, DefaultDataBufferFactory.sharedInstance);
+	}
+
+	private static String text(DataBuffer buffer) {
+		return buffer.toString(StandardCharsets.UTF_8);
+	}
+}
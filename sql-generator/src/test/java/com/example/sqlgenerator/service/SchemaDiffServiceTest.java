@@ -0,0 +1,337 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.SQLServerDialect;
+import com.example.sqlgenerator.dialect.SQLiteDialect;
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.model.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.sqlgenerator.SchemaFixtures.column;
+import static com.example.sqlgenerator.SchemaFixtures.index;
+import static com.example.sqlgenerator.SchemaFixtures.notNull;
+import static com.example.sqlgenerator.SchemaFixtures.primaryKey;
+import static com.example.sqlgenerator.SchemaFixtures.properties;
+import static com.example.sqlgenerator.SchemaFixtures.relation;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaDiffServiceTest {
+
+	private final TypeMapping typeMapping = new TypeMapping(properties());
+	private final SqlDialect mysql = new MySQLDialect(typeMapping);
+	private final SqlDialect postgres = new PostgreSQLDialect(typeMapping);
+	private final SqlDialect sqlServer = new SQLServerDialect(typeMapping);
+	private final SqlDialect sqlite = new SQLiteDialect(typeMapping);
+
+	private SchemaDiffService diffService;
+
+	@BeforeEach
+	void setUp() {
+		diffService = new SchemaDiffService();
+		ReflectionTestUtils.setField(diffService, "sqlGeneratorService", new SQLGeneratorService());
+	}
+
+	@Test
+	void identicalSchemasProduceNothing() {
+		assertEquals("", diffService.diff(List.of(users()), List.of(users()), mysql));
+	}
+
+	@Test
+	void addedColumnIsWrittenWithoutKeys() {
+		Table current = users();
+		current.getColumns().add(column("age", "entier"));
+
+		assertEquals("ALTER TABLE users\n  ADD COLUMN age INT;\n",
+				diffService.diff(List.of(users()), List.of(current), mysql));
+	}
+
+	@Test
+	void droppedColumn() {
+		Table current = users();
+		current.getColumns().remove(1);
+
+		assertEquals("ALTER TABLE users\n  DROP COLUMN email;\n",
+				diffService.diff(List.of(users()), List.of(current), mysql));
+	}
+
+	@Test
+	void widenedAutoIncrementIdKeepsAutoIncrement() {
+		Table current = users();
+		current.getColumns().get(0).setType("bigint");
+
+		assertEquals("ALTER TABLE users\n  MODIFY COLUMN id BIGINT NOT NULL AUTO_INCREMENT;\n",
+				diffService.diff(List.of(users()), List.of(current), mysql));
+	}
+
+	@Test
+	void unchangedUniqueIsNotAddedAgain() {
+		Table current = users();
+		current.getColumns().get(1).setDefaultValue("'none'");
+
+		String sql = diffService.diff(List.of(users()), List.of(current), mysql);
+
+		assertEquals("ALTER TABLE users\n  MODIFY COLUMN email VARCHAR(255) NOT NULL DEFAULT 'none';\n", sql);
+		assertFalse(sql.contains("UNIQUE"));
+	}
+
+	@Test
+	void uniqueChangesAreExplicit() {
+		Table current = users();
+		current.getColumns().get(1).setUnique(false);
+		current.getColumns().add(notNull("login", "texte", c -> c.setUnique(true)));
+
+		assertEquals("ALTER TABLE users\n  DROP INDEX email,\n  ADD COLUMN login VARCHAR(255) NOT NULL,\n"
+						+ "  ADD UNIQUE (login);\n",
+				diffService.diff(List.of(users()), List.of(current), mysql));
+	}
+
+	@Test
+	void primaryKeyChangeDropsAndAddsTheKey() {
+		Table current = users();
+		current.getColumns().get(0).setAutoIncrement(false);
+		current.getColumns().get(1).setPrimaryKey(true);
+
+		assertEquals("ALTER TABLE users\n  DROP PRIMARY KEY,\n  MODIFY COLUMN id INT NOT NULL,\n"
+						+ "  ADD PRIMARY KEY (id, email);\n",
+				diffService.diff(List.of(users()), List.of(current), mysql));
+	}
+
+	@Test
+	void addedAutoIncrementKeyIsOneStatement() {
+		Table previous = table("events", notNull("name", "texte"));
+		Table current = table("events",
+				notNull("name", "texte"),
+				notNull("id", "entier", c -> { c.setPrimaryKey(true); c.setAutoIncrement(true); }));
+
+		assertEquals("ALTER TABLE events\n  ADD COLUMN id INT NOT NULL AUTO_INCREMENT,\n  ADD PRIMARY KEY (id);\n",
+				diffService.diff(List.of(previous), List.of(current), mysql));
+	}
+
+	@Test
+	void missingTypeIsNotAChange() {
+		// A column without "type" in the request never has its setter called
+		Table previous = table("users", notNull("email", null));
+		Table current = table("users", notNull("email", null));
+
+		assertEquals("", diffService.diff(List.of(previous), List.of(current), mysql));
+
+		current.getColumns().get(0).setType("entier");
+		assertEquals("ALTER TABLE users\n  MODIFY COLUMN email INT NOT NULL;\n",
+				diffService.diff(List.of(previous), List.of(current), mysql));
+	}
+
+	@Test
+	void indexesAreDroppedChangedAndCreated() {
+		Table previous = users();
+		previous.setIndexes(new ArrayList<>(List.of(index("idx_email", "email"), index("idx_old", "id"))));
+		Table current = users();
+		current.setIndexes(new ArrayList<>(List.of(index("idx_email", "email", "id"), index("idx_new", "id"))));
+
+		assertEquals("DROP INDEX idx_email ON users;\nDROP INDEX idx_old ON users;\n"
+						+ "CREATE INDEX idx_email ON users(email, id);\nCREATE INDEX idx_new ON users(id);\n",
+				diffService.diff(List.of(previous), List.of(current), mysql));
+		assertTrue(diffService.diff(List.of(previous), List.of(current), postgres)
+				.startsWith("DROP INDEX idx_email;\nDROP INDEX idx_old;\n"));
+	}
+
+	@Test
+	void foreignKeysAreDroppedAndAdded() {
+		Table previous = orders();
+		previous.setRelations(new ArrayList<>(List.of(relation("orders", "user_id", "users", "id"))));
+		Table current = orders();
+		current.setRelations(new ArrayList<>(List.of(relation("orders", "user_id", "accounts", "id"))));
+
+		assertEquals("ALTER TABLE orders DROP FOREIGN KEY fk_orders_users;\n"
+						+ "ALTER TABLE orders ADD CONSTRAINT fk_orders_accounts FOREIGN KEY (user_id) REFERENCES accounts(id);\n",
+				diffService.diff(List.of(previous), List.of(current), mysql));
+		assertTrue(diffService.diff(List.of(previous), List.of(current), postgres)
+				.startsWith("ALTER TABLE orders DROP CONSTRAINT fk_orders_users;\n"));
+	}
+
+	@Test
+	void statementsAreOrderedSoNothingIsStillReferenced() {
+		Table previousUsers = users();
+		previousUsers.setIndexes(new ArrayList<>(List.of(index("idx_email", "email"))));
+		Table previousOrders = orders();
+		previousOrders.setRelations(new ArrayList<>(List.of(relation("orders", "user_id", "users", "id"))));
+
+		Table legacy = table("legacy", primaryKey("id", "entier"));
+
+		Table currentUsers = users();
+		currentUsers.getColumns().add(column("age", "entier"));
+		currentUsers.setIndexes(new ArrayList<>(List.of(index("idx_age", "age"))));
+		Table payments = table("payments",
+				primaryKey("id", "entier"),
+				notNull("user_id", "entier"));
+		payments.setRelations(new ArrayList<>(List.of(relation("payments", "user_id", "users", "id"))));
+
+		String sql = diffService.diff(List.of(previousUsers, previousOrders, legacy),
+				List.of(currentUsers, orders(), payments), mysql);
+
+		int dropForeignKey = sql.indexOf("DROP FOREIGN KEY fk_orders_users");
+		int dropIndex = sql.indexOf("DROP INDEX idx_email");
+		int dropTable = sql.indexOf("DROP TABLE IF EXISTS legacy");
+		int alterTable = sql.indexOf("ADD COLUMN age");
+		int createTable = sql.indexOf("CREATE TABLE payments");
+		int createIndex = sql.indexOf("CREATE INDEX idx_age");
+		assertTrue(dropForeignKey >= 0);
+		assertTrue(dropForeignKey < dropIndex, sql);
+		assertTrue(dropIndex < dropTable, sql);
+		assertTrue(dropTable < alterTable, sql);
+		assertTrue(alterTable < createTable, sql);
+		assertTrue(createTable < createIndex, sql);
+		// The new table's foreign key is part of its CREATE TABLE
+		assertTrue(sql.contains("CONSTRAINT fk_payments_users FOREIGN KEY (user_id) REFERENCES users(id)\n);"), sql);
+		assertFalse(sql.contains("ADD CONSTRAINT"), sql);
+	}
+
+	@Test
+	void relatedTablesAreDroppedReferencingFirst() {
+		Table orders = orders();
+		orders.setRelations(new ArrayList<>(List.of(relation("orders", "user_id", "users", "id"))));
+		Table x = table("x", primaryKey("id", "entier"));
+
+		for (SqlDialect dialect : List.of(mysql, postgres)) {
+			String sql = diffService.diff(List.of(users(), orders), List.of(x), dialect);
+
+			// Dropping orders drops its foreign key with it
+			assertTrue(sql.startsWith("DROP TABLE IF EXISTS orders;\nDROP TABLE IF EXISTS users;\nCREATE TABLE x ("), sql);
+			assertFalse(sql.contains("CONSTRAINT"), sql);
+		}
+	}
+
+	@Test
+	void foreignKeysIntoDroppedTablesAreDroppedFirst() {
+		// Filed under the dropped table, but declared on orders, which stays
+		Table previousUsers = users();
+		previousUsers.setRelations(new ArrayList<>(List.of(relation("orders", "user_id", "users", "id"))));
+
+		assertEquals("ALTER TABLE orders DROP CONSTRAINT fk_orders_users;\nDROP TABLE IF EXISTS users;\n",
+				diffService.diff(List.of(previousUsers, orders()), List.of(orders()), postgres));
+	}
+
+	@Test
+	void droppedCycleLosesItsForeignKeysFirst() {
+		Table authors = table("authors",
+				primaryKey("id", "entier"),
+				notNull("book_id", "entier"));
+		authors.setRelations(new ArrayList<>(List.of(relation("authors", "book_id", "books", "id"))));
+		Table books = table("books",
+				primaryKey("id", "entier"),
+				notNull("author_id", "entier"));
+		books.setRelations(new ArrayList<>(List.of(relation("books", "author_id", "authors", "id"))));
+
+		assertEquals("ALTER TABLE authors DROP CONSTRAINT fk_authors_books;\n"
+						+ "ALTER TABLE books DROP CONSTRAINT fk_books_authors;\n"
+						+ "DROP TABLE IF EXISTS books;\nDROP TABLE IF EXISTS authors;\n",
+				diffService.diff(List.of(authors, books), List.of(), postgres));
+	}
+
+	@Test
+	void newTablesAreCreatedReferencedFirstWithInlineForeignKeys() {
+		Table orders = orders();
+		orders.setRelations(new ArrayList<>(List.of(relation("orders", "user_id", "users", "id"))));
+
+		// SQLite cannot add a foreign key to an existing table, only declare it in CREATE TABLE
+		String sql = diffService.diff(List.of(), List.of(orders, users()), sqlite);
+		assertTrue(sql.indexOf("CREATE TABLE users") < sql.indexOf("CREATE TABLE orders"), sql);
+		assertTrue(sql.contains("FOREIGN KEY (user_id) REFERENCES users(id)"), sql);
+
+		sql = diffService.diff(List.of(users()), List.of(users(), orders), sqlite);
+		assertTrue(sql.startsWith("CREATE TABLE orders ("), sql);
+		assertTrue(sql.contains("FOREIGN KEY (user_id) REFERENCES users(id)"), sql);
+	}
+
+	@Test
+	void postgresAltersEachAttribute() {
+		Table current = users();
+		current.getColumns().get(0).setType("bigint");
+		current.getColumns().get(1).setNullable(true);
+		current.getColumns().get(1).setUnique(false);
+		current.getColumns().get(1).setDefaultValue("'none'");
+
+		assertEquals("ALTER TABLE users\n"
+						+ "  DROP CONSTRAINT users_email_key,\n"
+						+ "  ALTER COLUMN id TYPE BIGINT USING id::BIGINT,\n"
+						+ "  ALTER COLUMN email DROP NOT NULL,\n"
+						+ "  ALTER COLUMN email SET DEFAULT 'none';\n",
+				diffService.diff(List.of(users()), List.of(current), postgres));
+	}
+
+	@Test
+	void postgresIdentityChanges() {
+		Table current = users();
+		current.getColumns().get(0).setAutoIncrement(false);
+
+		assertEquals("ALTER TABLE users\n  ALTER COLUMN id DROP IDENTITY;\n",
+				diffService.diff(List.of(users()), List.of(current), postgres));
+		assertEquals("ALTER TABLE users\n  ALTER COLUMN id ADD GENERATED BY DEFAULT AS IDENTITY;\n",
+				diffService.diff(List.of(current), List.of(users()), postgres));
+	}
+
+	@Test
+	void sqlServerRebuildsKeysAroundAlterColumn() {
+		Table current = users();
+		current.getColumns().get(1).setType("email");
+
+		String sql = diffService.diff(List.of(users()), List.of(current), sqlServer);
+
+		int dropUnique = sql.indexOf("DECLARE @uq_users_email sysname");
+		int alter = sql.indexOf("ALTER TABLE users ALTER COLUMN email NVARCHAR(320) NOT NULL;");
+		int addUnique = sql.indexOf("ALTER TABLE users ADD UNIQUE (email);");
+		assertTrue(dropUnique >= 0, sql);
+		assertTrue(dropUnique < alter, sql);
+		assertTrue(alter < addUnique, sql);
+		assertFalse(sql.contains("PRIMARY KEY"), sql);
+	}
+
+	@Test
+	void sqlServerRejectsIdentityChanges() {
+		Table current = users();
+		current.getColumns().get(0).setAutoIncrement(false);
+
+		assertThrows(IllegalArgumentException.class,
+				() -> diffService.diff(List.of(users()), List.of(current), sqlServer));
+	}
+
+	@Test
+	void sqliteOnlyAddsAndDropsPlainColumns() {
+		Table added = users();
+		added.getColumns().add(column("age", "entier"));
+		assertEquals("ALTER TABLE users ADD COLUMN age INTEGER;\n",
+				diffService.diff(List.of(users()), List.of(added), sqlite));
+
+		Table widened = users();
+		widened.getColumns().get(0).setType("texte");
+		assertThrows(IllegalArgumentException.class,
+				() -> diffService.diff(List.of(users()), List.of(widened), sqlite));
+
+		Table notNull = users();
+		notNull.getColumns().add(notNull("age", "entier"));
+		assertThrows(IllegalArgumentException.class,
+				() -> diffService.diff(List.of(users()), List.of(notNull), sqlite));
+	}
+
+	private static Table users() {
+		return table("users",
+				notNull("id", "entier", c -> { c.setPrimaryKey(true); c.setAutoIncrement(true); }),
+				notNull("email", "texte", c -> c.setUnique(true)));
+	}
+
+	private static Table orders() {
+		return table("orders",
+				primaryKey("id", "entier"),
+				notNull("user_id", "entier"));
+	}
+}
@@ -0,0 +1,196 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.controller.SchemaRegistryController;
+import com.example.sqlgenerator.dto.SchemaDelta;
+import com.example.sqlgenerator.dto.SchemaVersionInfo;
+import com.example.sqlgenerator.entity.SchemaSnapshot;
+import com.example.sqlgenerator.exception.SchemaNotFoundException;
+import com.example.sqlgenerator.exception.SchemaValidationException;
+import com.example.sqlgenerator.exception.SchemaVersionConflictException;
+import com.example.sqlgenerator.model.CompactSchema;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.repository.SchemaSnapshotRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.sqlgenerator.SchemaFixtures.keyedTable;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+// Runs against the in-memory H2 of src/test/resources/config/application.properties
+@SpringBootTest
+class SchemaRegistryServiceTest {
+
+	@Autowired
+	private SchemaRegistryService registry;
+
+	@Autowired
+	private SchemaRegistryController controller;
+
+	@Autowired
+	private SchemaSnapshotRepository repository;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.setField(registry, "repository", repository);
+		ReflectionTestUtils.setField(registry, "cacheSize", 256);
+		registry.clearCache();
+	}
+
+	@Test
+	void identicalUploadsShareAVersion() {
+		SchemaVersionInfo first = registry.save("save", List.of(keyedTable("users", "id")));
+		SchemaVersionInfo same = registry.save("save", List.of(keyedTable("users", "id")));
+		SchemaVersionInfo changed = registry.save("save", List.of(keyedTable("users", "id", "email")));
+
+		assertTrue(first.isCreated());
+		assertEquals(1, first.getVersion());
+		assertFalse(same.isCreated());
+		assertEquals(1, same.getVersion());
+		assertEquals(first.getContentHash(), same.getContentHash());
+		assertTrue(changed.isCreated());
+		assertEquals(2, changed.getVersion());
+		assertEquals(List.of(1, 2), registry.versions("save").stream().map(SchemaVersionInfo::getVersion).toList());
+		assertThrows(IllegalArgumentException.class, () -> registry.save("bad id", List.of(keyedTable("users", "id"))));
+	}
+
+	@Test
+	void deltaReplacesAppendsAndRemovesTables() {
+		registry.save("delta", List.of(keyedTable("users", "id"), keyedTable("orders", "id"), keyedTable("audit", "id")));
+
+		SchemaVersionInfo info = registry.applyDelta("delta",
+				delta(1, List.of(keyedTable("orders", "id", "total"), keyedTable("shops", "id")), List.of("audit")));
+
+		assertEquals(2, info.getVersion());
+		assertEquals(1, info.getBaseVersion());
+		List<Table> tables = registry.tables("delta", 2);
+		assertEquals(List.of("users", "orders", "shops"), tables.stream().map(Table::getName).toList());
+		assertEquals(2, tables.get(1).getColumns().size());
+
+		// Without a base version the delta goes on top of the latest one
+		assertEquals(3, registry.applyDelta("delta", delta(null, null, List.of("shops"))).getVersion());
+		assertEquals(List.of("users", "orders"), registry.tables("delta", 3).stream().map(Table::getName).toList());
+	}
+
+	@Test
+	void nullTableInADeltaIsASchemaError() {
+		registry.save("nulls", List.of(keyedTable("users", "id")));
+
+		SchemaValidationException e = assertThrows(SchemaValidationException.class,
+				() -> registry.applyDelta("nulls", delta(1, Arrays.asList(keyedTable("orders", "id"), null), null)));
+		assertEquals("NULL_ENTRY tables[1]", e.getErrors().get(0).getCode() + " " + e.getErrors().get(0).getPath());
+		assertEquals(1, registry.latestVersion("nulls"));
+	}
+
+	@Test
+	void deltaOnAnOlderVersionIsAConflict() {
+		registry.save("stale", List.of(keyedTable("users", "id")));
+		registry.applyDelta("stale", delta(1, List.of(keyedTable("orders", "id")), null));
+
+		// Applied to version 1, this would drop the orders table added by version 2
+		SchemaVersionConflictException e = assertThrows(SchemaVersionConflictException.class,
+				() -> registry.applyDelta("stale", delta(1, List.of(keyedTable("shops", "id")), null)));
+		assertEquals("Version 1 of schema 'stale' is not the latest, apply the delta to version 2", e.getMessage());
+		assertThrows(SchemaNotFoundException.class,
+				() -> registry.applyDelta("stale", delta(5, List.of(keyedTable("shops", "id")), null)));
+		assertEquals(2, registry.latestVersion("stale"));
+	}
+
+	@Test
+	void versionTakenByAnotherInstance() {
+		registry.save("race", List.of(keyedTable("users", "id")));
+		// Every save loses the race for the next version number, as if another instance got there first
+		AtomicInteger attempts = new AtomicInteger();
+		SchemaSnapshotRepository racing = mock(SchemaSnapshotRepository.class, delegatesTo(repository));
+		doAnswer(invocation -> {
+			attempts.incrementAndGet();
+			throw new DataIntegrityViolationException("duplicate key (schema_id, version)");
+		}).when(racing).save(any(SchemaSnapshot.class));
+		ReflectionTestUtils.setField(registry, "repository", racing);
+
+		assertThrows(SchemaVersionConflictException.class,
+				() -> registry.save("race", List.of(keyedTable("users", "id", "email"))));
+		assertEquals(3, attempts.get());
+		assertThrows(SchemaVersionConflictException.class,
+				() -> registry.applyDelta("race", delta(null, List.of(keyedTable("orders", "id")), null)));
+
+		// A full upload is retried, so losing once is not visible to the client
+		attempts.set(0);
+		doAnswer(invocation -> {
+			if (attempts.incrementAndGet() == 1) {
+				throw new DataIntegrityViolationException("duplicate key (schema_id, version)");
+			}
+			return repository.save(invocation.getArgument(0));
+		}).when(racing).save(any(SchemaSnapshot.class));
+		assertEquals(2, registry.save("race", List.of(keyedTable("users", "id", "email"))).getVersion());
+	}
+
+	@Test
+	void latestResolvesToTheNewestVersion() {
+		registry.save("latest", List.of(keyedTable("users", "id")));
+		registry.save("latest", List.of(keyedTable("users", "id", "email")));
+
+		assertEquals(2, registry.latestVersion("latest"));
+		ResponseEntity<String> response = controller.tables("latest", "latest");
+		assertEquals(registry.json("latest", 2), response.getBody());
+		assertThrows(SchemaNotFoundException.class, () -> controller.tables("latest", "newest"));
+		assertThrows(SchemaNotFoundException.class, () -> registry.latestVersion("missing"));
+	}
+
+	@Test
+	void leastRecentlyUsedVersionIsEvicted() {
+		ReflectionTestUtils.setField(registry, "cacheSize", 2);
+		registry.clearCache();
+		registry.save("lru", List.of(keyedTable("t1", "id")));
+		registry.save("lru", List.of(keyedTable("t2", "id")));
+		double misses = count("miss");
+
+		// Saving caches the new version, reading version 1 makes version 2 the least recently used
+		CompactSchema first = registry.schema("lru", 1);
+		assertSame(first, registry.schema("lru", 1));
+		registry.save("lru", List.of(keyedTable("t3", "id")));
+		assertEquals(misses, count("miss"));
+		assertEquals(2, meterRegistry.get("sql.registry.cache.size").gauge().value());
+
+		// Version 2 was evicted by version 3; reading it again evicts version 1
+		registry.schema("lru", 2);
+		assertEquals(misses + 1, count("miss"));
+		CompactSchema reread = registry.schema("lru", 1);
+		assertEquals(misses + 2, count("miss"));
+		assertNotSame(first, reread);
+		assertEquals("t1", reread.getTables().get(0).getName());
+	}
+
+	private double count(String result) {
+		return meterRegistry.get("sql.registry.cache.requests").tag("result", result).functionCounter().count();
+	}
+
+	private static SchemaDelta delta(Integer baseVersion, List<Table> tables, List<String> removeTables) {
+		SchemaDelta delta = new SchemaDelta();
+		delta.setBaseVersion(baseVersion);
+		delta.setTables(tables);
+		delta.setRemoveTables(removeTables);
+		return delta;
+	}
+}
@@ -0,0 +1,253 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dialect.TypeMappingProperties;
+import com.example.sqlgenerator.dto.ValidationError;
+import com.example.sqlgenerator.exception.SchemaValidationException;
+import com.example.sqlgenerator.model.ColumnDefinition;
+import com.example.sqlgenerator.model.IndexDefinition;
+import com.example.sqlgenerator.model.PartitionDefinition;
+import com.example.sqlgenerator.model.QueryPattern;
+import com.example.sqlgenerator.model.Table;
+import com.example.sqlgenerator.model.TableDefinition;
+import com.example.sqlgenerator.model.TableRelation;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.sqlgenerator.SchemaFixtures.column;
+import static com.example.sqlgenerator.SchemaFixtures.columns;
+import static com.example.sqlgenerator.SchemaFixtures.foreignKey;
+import static com.example.sqlgenerator.SchemaFixtures.index;
+import static com.example.sqlgenerator.SchemaFixtures.relation;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SchemaValidatorTest {
+
+	private SchemaValidator validator;
+
+	@BeforeEach
+	void setUp() {
+		GenerationMetrics metrics = new GenerationMetrics();
+		ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+		metrics.init();
+
+		validator = new SchemaValidator();
+		ReflectionTestUtils.setField(validator, "metrics", metrics);
+		ReflectionTestUtils.setField(validator, "enabled", true);
+	}
+
+	@Test
+	void validSchemaPasses() {
+		Table orders = table("orders", columns("id", "user_id"));
+		orders.setRelations(List.of(relation("orders", "user_id", "users", "id")));
+		orders.setIndexes(List.of(index("idx_orders_user", "user_id")));
+		validator.validate(List.of(table("users", columns("id")), orders));
+	}
+
+	@Test
+	void nullEntries() {
+		Table users = table("users", columns("id"));
+		users.setColumns(Arrays.asList(column("id", "entier"), null));
+		users.setRelations(Arrays.asList((TableRelation) null));
+		users.setIndexes(Arrays.asList((IndexDefinition) null));
+		users.setQueries(Arrays.asList((QueryPattern) null));
+
+		assertErrors(Arrays.asList(users, null),
+				"NULL_ENTRY tables[0].columns[1]",
+				"NULL_ENTRY tables[1]",
+				"NULL_ENTRY tables[0].indexes[0]",
+				"NULL_ENTRY tables[0].queries[0]",
+				"NULL_ENTRY tables[0].relations[0]");
+	}
+
+	@Test
+	void tablesWithoutColumns() {
+		Table missing = table("missing");
+		missing.setColumns(null);
+
+		assertErrors(List.of(table("empty"), missing),
+				"NO_COLUMNS tables[0].columns",
+				"NO_COLUMNS tables[1].columns");
+	}
+
+	@Test
+	void duplicateNames() {
+		Table users = table("users", columns("id", "email", "id"));
+		users.setIndexes(List.of(index("idx_email", "email"), index("idx_email", "id")));
+
+		assertErrors(List.of(users, table("users", columns("id"))),
+				"DUPLICATE_COLUMN tables[0].columns[2].name",
+				"DUPLICATE_TABLE tables[1].name",
+				"DUPLICATE_INDEX tables[0].indexes[1].indexName");
+	}
+
+	@Test
+	void indexWithoutColumns() {
+		Table users = table("users", columns("id"));
+		users.setIndexes(List.of(index("idx_none")));
+
+		assertErrors(List.of(users), "EMPTY_INDEX tables[0].indexes[0].columnNames");
+	}
+
+	@Test
+	void unknownTablesAndColumns() {
+		Table orders = table("orders", columns("id", "user_id"));
+		orders.setRelations(List.of(
+				relation("orders", "user_id", "users", "uid"),
+				relation("orders", "customer_id", "customers", "id")));
+		orders.setIndexes(List.of(index("idx_orders_total", "total")));
+		QueryPattern query = new QueryPattern();
+		query.setWhere(List.of("status"));
+		orders.setQueries(List.of(query));
+		PartitionDefinition partition = new PartitionDefinition();
+		partition.setType("HASH");
+		partition.setColumn("region");
+		orders.setPartition(partition);
+
+		assertErrors(List.of(table("users", columns("id")), orders),
+				"UNKNOWN_COLUMN tables[1].indexes[0].columnNames[0]",
+				"UNKNOWN_COLUMN tables[1].queries[0].where[0]",
+				"UNKNOWN_COLUMN tables[1].partition.column",
+				"UNKNOWN_COLUMN tables[1].relations[0].targetColumn",
+				"UNKNOWN_COLUMN tables[1].relations[1].sourceColumn",
+				"UNKNOWN_TABLE tables[1].relations[1].targetTable");
+	}
+
+	@Test
+	void partitionExpressionsAreLeftToTheDatabase() {
+		Table events = table("events", columns("id", "created"));
+		PartitionDefinition partition = new PartitionDefinition();
+		partition.setType("RANGE");
+		partition.setColumn("YEAR(created)");
+		events.setPartition(partition);
+
+		validator.validate(List.of(events));
+	}
+
+	@Test
+	void partitionedTableKeysIncludeThePartitionColumn() {
+		Table events = table("events", columns("id", "region", "code", "slug"));
+		events.getColumns().get(0).setPrimaryKey(true);
+		events.getColumns().get(2).setUnique(true);
+		IndexDefinition covered = index("uq_events_slug_region", "slug", "region");
+		covered.setUnique(true);
+		IndexDefinition uncovered = index("uq_events_slug", "slug");
+		uncovered.setUnique(true);
+		events.setIndexes(List.of(covered, uncovered, index("idx_events_slug", "slug")));
+		events.setPartition(partition("region"));
+
+		assertErrors(List.of(events),
+				"PARTITION_KEY tables[0].columns[2].unique",
+				"PARTITION_KEY tables[0].partition.column",
+				"PARTITION_KEY tables[0].indexes[1].columnNames");
+
+		events.getColumns().get(1).setPrimaryKey(true);
+		events.getColumns().get(2).setUnique(false);
+		events.setIndexes(List.of(covered));
+		validator.validate(List.of(events));
+	}
+
+	@Test
+	void mysqlHasNoForeignKeysOnPartitionedTables() {
+		Table events = table("events", columns("id", "user_id"));
+		events.getColumns().get(0).setPrimaryKey(true);
+		events.setPartition(partition("id"));
+		events.setRelations(List.of(relation("events", "user_id", "users", "id")));
+		Table alerts = table("alerts", columns("id", "event_id"));
+		alerts.setRelations(List.of(relation("alerts", "event_id", "events", "id")));
+		List<Table> tables = List.of(table("users", columns("id")), events, alerts);
+		TypeMapping typeMapping = new TypeMapping(new TypeMappingProperties());
+
+		SchemaValidationException e = assertThrows(SchemaValidationException.class,
+				() -> validator.validate(tables, new MySQLDialect(typeMapping)));
+		assertEquals(List.of("PARTITIONED_FOREIGN_KEY tables[1].relations[0]", "PARTITIONED_FOREIGN_KEY tables[2].relations[0]"),
+				codes(e));
+		validator.validate(tables, new PostgreSQLDialect(typeMapping));
+		validator.validate(tables);
+	}
+
+	@Test
+	void detailsAreCappedButCounted() {
+		List<Table> tables = new ArrayList<>();
+		for (int i = 0; i < 150; i++) {
+			tables.add(table("t" + i));
+		}
+
+		SchemaValidationException e = assertThrows(SchemaValidationException.class, () -> validator.validate(tables));
+		assertEquals(150, e.getErrorCount());
+		assertEquals(100, e.getErrors().size());
+		assertEquals("150 schema errors, first: Table 't0' has no columns", e.getMessage());
+	}
+
+	@Test
+	void disabledValidationAcceptsAnything() {
+		ReflectionTestUtils.setField(validator, "enabled", false);
+		validator.validate(Arrays.asList(table("empty"), null));
+	}
+
+	@Test
+	void parsedDefinitions() {
+		TableDefinition orders = definition("orders", "id", "user_id");
+		orders.setForeignKeys(Arrays.asList(
+				foreignKey("user_id", "users", "id"),
+				foreignKey("shop_id", "shops", "id"),
+				null));
+		TableDefinition empty = definition("empty");
+
+		SchemaValidationException e = assertThrows(SchemaValidationException.class,
+				() -> validator.validateDefinitions(Arrays.asList(definition("users", "id"), orders, empty, null)));
+		assertEquals(List.of(
+						"NO_COLUMNS tables[2].columns",
+						"NULL_ENTRY tables[3]",
+						"UNKNOWN_COLUMN tables[1].foreignKeys[1].columnName",
+						"UNKNOWN_TABLE tables[1].foreignKeys[1].referenceTable",
+						"NULL_ENTRY tables[1].foreignKeys[2]"),
+				codes(e));
+	}
+
+	private void assertErrors(List<Table> tables, String... expected) {
+		SchemaValidationException e = assertThrows(SchemaValidationException.class, () -> validator.validate(tables));
+		assertEquals(List.of(expected), codes(e));
+		assertEquals(expected.length, e.getErrorCount());
+	}
+
+	private static List<String> codes(SchemaValidationException e) {
+		return e.getErrors().stream().map(SchemaValidatorTest::code).toList();
+	}
+
+	private static String code(ValidationError error) {
+		return error.getCode() + " " + error.getPath();
+	}
+
+	private static PartitionDefinition partition(String column) {
+		PartitionDefinition partition = new PartitionDefinition();
+		partition.setType("HASH");
+		partition.setColumn(column);
+		partition.setCount(4);
+		return partition;
+	}
+
+	private static TableDefinition definition(String name, String... columns) {
+		TableDefinition table = new TableDefinition();
+		table.setTableName(name);
+		List<ColumnDefinition> definitions = new ArrayList<>();
+		for (String column : columns) {
+			ColumnDefinition definition = new ColumnDefinition();
+			definition.setName(column);
+			definition.setType("entier");
+			definitions.add(definition);
+		}
+		table.setColumns(definitions);
+		return table;
+	}
+}
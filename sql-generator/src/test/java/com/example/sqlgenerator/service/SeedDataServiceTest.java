@@ -0,0 +1,263 @@
+package com.example.sqlgenerator.service;
+
+import com.example.sqlgenerator.dialect.MySQLDialect;
+import com.example.sqlgenerator.dialect.PostgreSQLDialect;
+import com.example.sqlgenerator.dialect.SQLServerDialect;
+import com.example.sqlgenerator.dialect.SqlDialect;
+import com.example.sqlgenerator.dialect.TypeMapping;
+import com.example.sqlgenerator.dto.SeedRequest;
+import com.example.sqlgenerator.model.Column;
+import com.example.sqlgenerator.model.Table;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.example.sqlgenerator.SchemaFixtures.column;
+import static com.example.sqlgenerator.SchemaFixtures.properties;
+import static com.example.sqlgenerator.SchemaFixtures.relation;
+import static com.example.sqlgenerator.SchemaFixtures.table;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeedDataServiceTest {
+
+	private final TypeMapping typeMapping = new TypeMapping(properties());
+	private final SqlDialect mysql = new MySQLDialect(typeMapping);
+	private final SqlDialect postgres = new PostgreSQLDialect(typeMapping);
+	private final SqlDialect sqlServer = new SQLServerDialect(typeMapping);
+
+	private SeedDataService seedDataService;
+
+	@BeforeEach
+	void setUp() {
+		seedDataService = new SeedDataService();
+		ReflectionTestUtils.setField(seedDataService, "defaultBatchSize", 1000);
+	}
+
+	@Test
+	void foreignKeysPointAtExistingRows() throws Exception {
+		Table orders = table("orders", column("id", "entier", c -> c.setPrimaryKey(true)),
+				column("user_id", "entier", c -> c.setNullable(false)));
+		orders.setRelations(List.of(relation("orders", "user_id", "users")));
+		SeedRequest request = request(List.of(orders, users()), 50);
+		request.setRowsPerTable(Map.of("users", 7L));
+
+		String sql = insert(request, mysql);
+
+		// Referenced tables are loaded first
+		assertTrue(sql.indexOf("INSERT INTO users") < sql.indexOf("INSERT INTO orders"), sql);
+		List<List<String>> rows = rows(sql, "orders");
+		assertEquals(50, rows.size());
+		for (List<String> row : rows) {
+			long userId = Long.parseLong(row.get(1));
+			assertTrue(userId >= 1 && userId <= 7, row.toString());
+		}
+	}
+
+	@Test
+	void oneToOneForeignKeysAreDistinct() throws Exception {
+		Table profiles = table("profiles", column("id", "entier", c -> c.setPrimaryKey(true)),
+				column("user_id", "entier", c -> { c.setUnique(true); c.setNullable(false); }));
+		profiles.setRelations(List.of(relation("profiles", "user_id", "users")));
+		SeedRequest request = request(List.of(users(), profiles), 5);
+
+		Set<String> userIds = new HashSet<>();
+		for (List<String> row : rows(insert(request, mysql), "profiles")) {
+			userIds.add(row.get(1));
+		}
+		assertEquals(Set.of("1", "2", "3", "4", "5"), userIds);
+
+		request.setRowsPerTable(Map.of("profiles", 6L));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> seedDataService.plan(request, mysql));
+		assertEquals("Column 'profiles.user_id' is unique but can only get 5 distinct values from table 'users', not 6",
+				e.getMessage());
+	}
+
+	@Test
+	void joinTableKeysAreDistinctPairs() throws Exception {
+		Table roles = table("roles", column("id", "entier", c -> c.setPrimaryKey(true)));
+		Table userRoles = table("user_roles", column("user_id", "entier", c -> c.setPrimaryKey(true)),
+				column("role_id", "entier", c -> c.setPrimaryKey(true)));
+		userRoles.setRelations(List.of(relation("user_roles", "user_id", "users"),
+				relation("user_roles", "role_id", "roles")));
+		SeedRequest request = request(List.of(users(), roles, userRoles), 12);
+		request.setRowsPerTable(Map.of("users", 4L, "roles", 3L));
+
+		Set<List<String>> pairs = new HashSet<>(rows(insert(request, mysql), "user_roles"));
+		assertEquals(12, pairs.size());
+		for (List<String> pair : pairs) {
+			assertTrue(Long.parseLong(pair.get(0)) <= 4 && Long.parseLong(pair.get(1)) <= 3, pair.toString());
+		}
+
+		request.setRowsPerTable(Map.of("users", 4L, "roles", 3L, "user_roles", 13L));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> seedDataService.plan(request, mysql));
+		assertEquals("Primary key (user_id, role_id) of table 'user_roles' can only get 12 distinct values, not 13",
+				e.getMessage());
+	}
+
+	@Test
+	void compositeKeyWithAPlainColumnCountsOnIt() throws Exception {
+		Table lines = table("order_lines", column("order_id", "entier", c -> c.setPrimaryKey(true)),
+				column("line_no", "entier", c -> c.setPrimaryKey(true)));
+		lines.setRelations(List.of(relation("order_lines", "order_id", "users")));
+		SeedRequest request = request(List.of(users(), lines), 7);
+		request.setRowsPerTable(Map.of("users", 3L));
+
+		assertEquals(List.of(List.of("1", "1"), List.of("2", "1"), List.of("3", "1"), List.of("1", "2"),
+						List.of("2", "2"), List.of("3", "2"), List.of("1", "3")),
+				rows(insert(request, mysql), "order_lines"));
+	}
+
+	@Test
+	void uniqueBooleanHasTwoValues() throws Exception {
+		Table flags = table("flags", column("active", "flag", c -> c.setUnique(true)));
+
+		assertEquals(List.of(List.of("1"), List.of("0")), rows(insert(request(List.of(flags), 2), mysql), "flags"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> seedDataService.plan(request(List.of(flags), 3), mysql));
+		assertEquals("Column 'flags.active' is unique but can only get 2 distinct values, not 3", e.getMessage());
+	}
+
+	@Test
+	void postgresInsertsMoveIdentitySequences() throws Exception {
+		String setval = "SELECT setval(pg_get_serial_sequence('users', 'id'), 3);\n\n";
+
+		SeedRequest request = request(List.of(users()), 3);
+		request.setFormat("insert");
+		assertTrue(write(request, postgres).endsWith(setval));
+		request.setFormat("copy");
+		assertTrue(write(request, postgres).endsWith(setval));
+		assertFalse(insert(request(List.of(users()), 3), mysql).contains("setval"));
+	}
+
+	@Test
+	void insertBatchesSplitAtTheBatchSize() throws Exception {
+		SeedRequest request = request(List.of(table("t", column("id", "entier", c -> c.setPrimaryKey(true)))), 6);
+		request.setBatchSize(3);
+
+		assertEquals("""
+				INSERT INTO t (id) VALUES
+				(1),
+				(2),
+				(3);
+				INSERT INTO t (id) VALUES
+				(4),
+				(5),
+				(6);
+
+				""", insert(request, mysql));
+
+		request.setRows(7);
+		String sql = insert(request, mysql);
+		assertEquals(3, count(sql, "INSERT INTO"));
+		assertTrue(sql.endsWith("VALUES\n(7);\n\n"), sql);
+
+		request.setRows(1);
+		assertEquals("INSERT INTO t (id) VALUES\n(1);\n\n", insert(request, mysql));
+	}
+
+	@Test
+	void copyBlocksAndSqlServerInsertsAreBatched() throws Exception {
+		SeedRequest request = request(List.of(table("t", column("id", "entier", c -> c.setPrimaryKey(true)))), 6);
+		request.setBatchSize(3);
+		request.setFormat("copy");
+
+		assertEquals("""
+				COPY t (id) FROM stdin;
+				1
+				2
+				3
+				\\.
+				COPY t (id) FROM stdin;
+				4
+				5
+				6
+				\\.
+
+				""", write(request, postgres));
+
+		// At most 1000 rows per VALUES list, whatever the batch size
+		request.setFormat("insert");
+		request.setBatchSize(5000);
+		request.setRows(1001);
+		String sql = write(request, sqlServer);
+		assertEquals(2, count(sql, "INSERT INTO"));
+		assertTrue(sql.contains("(1000);\nINSERT INTO t (id) VALUES\n(1001);"), sql);
+	}
+
+	@Test
+	void valuesAreEscapedForEachFormat() throws Exception {
+		SeedRequest request = request(List.of(table("notes",
+				column("it's", "texte", c -> c.setUnique(true)),
+				column("a\tb\\c", "texte", c -> c.setUnique(true)),
+				column("say \"hi\"", "texte", c -> c.setUnique(true)))), 1);
+
+		// MySQL reads backslashes in string literals as escapes, PostgreSQL does not
+		assertTrue(insert(request, mysql).contains("('it''s_1', 'a\tb\\\\c_1', 'say \"hi\"_1')"));
+		assertTrue(insert(request, postgres).contains("('it''s_1', 'a\tb\\c_1', 'say \"hi\"_1')"));
+
+		request.setFormat("copy");
+		assertTrue(write(request, postgres).contains("\nit's_1\ta\\tb\\\\c_1\tsay \"hi\"_1\n"));
+
+		request.setFormat("csv");
+		SeedDataService.SeedPlan plan = seedDataService.plan(request, sqlServer);
+		StringBuilder csv = new StringBuilder();
+		seedDataService.writeCsv(plan, plan.getTables().get(0), csv);
+		assertEquals("\"it's_1\",\"a\tb\\c_1\",\"say \"\"hi\"\"_1\"\n", csv.toString());
+	}
+
+	private String insert(SeedRequest request, SqlDialect dialect) throws Exception {
+		request.setFormat("insert");
+		return write(request, dialect);
+	}
+
+	private String write(SeedRequest request, SqlDialect dialect) throws Exception {
+		StringBuilder sql = new StringBuilder();
+		seedDataService.write(seedDataService.plan(request, dialect), sql);
+		return sql.toString();
+	}
+
+	// Values of the INSERT rows of one table; only for values without ", " in them
+	private static List<List<String>> rows(String sql, String table) {
+		List<List<String>> rows = new ArrayList<>();
+		String current = null;
+		for (String line : sql.split("\n")) {
+			if (line.startsWith("INSERT INTO ")) {
+				current = line.substring("INSERT INTO ".length(), line.indexOf(' ', "INSERT INTO ".length()));
+			} else if (line.startsWith("(") && table.equals(current)) {
+				String values = line.substring(1, line.length() - 2);
+				rows.add(List.of(values.split(", ")));
+			}
+		}
+		return rows;
+	}
+
+	private static int count(String text, String part) {
+		int count = 0;
+		for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1)) {
+			count++;
+		}
+		return count;
+	}
+
+	private static SeedRequest request(List<Table> tables, long rows) {
+		SeedRequest request = new SeedRequest();
+		request.setTables(tables);
+		request.setRows(rows);
+		return request;
+	}
+
+	private static Table users() {
+		return table("users", column("id", "entier", c -> { c.setPrimaryKey(true); c.setAutoIncrement(true); }));
+	}
+}
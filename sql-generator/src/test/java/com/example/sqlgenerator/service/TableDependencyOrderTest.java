@@ -0,0 +1,99 @@
+package com.example.sqlgenerator.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TableDependencyOrderTest {
+
+	@Test
+	void chainIsCreatedReferencedFirst() {
+		TableDependencyOrder<String> order = order(Map.of(
+				"items", List.of("orders"),
+				"orders", List.of("users"),
+				"users", List.of()), "items", "orders", "users");
+
+		assertEquals(List.of("users", "orders", "items"), order.ordered());
+		assertTrue(order.cycles().isEmpty());
+		assertFalse(order.isDeferred("items", "orders"));
+		assertFalse(order.isDeferred("orders", "users"));
+	}
+
+	@Test
+	void twoCycleIsReportedAndDeferred() {
+		TableDependencyOrder<String> order = order(Map.of(
+				"a", List.of("b"),
+				"b", List.of("a"),
+				"c", List.of("a")), "c", "b", "a");
+
+		// Members of a cycle keep input order, and the cycle comes before what references it
+		assertEquals(List.of("b", "a", "c"), order.ordered());
+		assertEquals(List.of(List.of("b", "a")), order.cycles());
+		assertTrue(order.isDeferred("a", "b"));
+		assertTrue(order.isDeferred("b", "a"));
+		assertFalse(order.isDeferred("c", "a"));
+	}
+
+	@Test
+	void selfReferenceIsNeitherACycleNorDeferred() {
+		TableDependencyOrder<String> order = order(Map.of(
+				"employees", List.of("employees", "departments"),
+				"departments", List.of()), "employees", "departments");
+
+		assertEquals(List.of("departments", "employees"), order.ordered());
+		assertTrue(order.cycles().isEmpty());
+		assertFalse(order.isDeferred("employees", "employees"));
+	}
+
+	@Test
+	void disconnectedComponentsKeepInputOrder() {
+		TableDependencyOrder<String> order = order(Map.of(
+				"x", List.of(),
+				"b", List.of("a"),
+				"a", List.of(),
+				"y", List.of("x")), "x", "b", "a", "y");
+
+		assertEquals(List.of("x", "a", "b", "y"), order.ordered());
+		assertTrue(order.cycles().isEmpty());
+		assertFalse(order.isDeferred("x", "a"));
+	}
+
+	@Test
+	void unknownReferencesAreIgnored() {
+		TableDependencyOrder<String> order = order(Map.of(
+				"orders", List.of("missing"),
+				"users", List.of()), "orders", "users");
+
+		assertEquals(List.of("orders", "users"), order.ordered());
+		assertFalse(order.isDeferred("orders", "missing"));
+		assertFalse(order.isDeferred(null, "users"));
+	}
+
+	@Test
+	void deepChainDoesNotOverflowTheStack() {
+		int depth = 100_000;
+		Map<String, List<String>> references = new LinkedHashMap<>();
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < depth; i++) {
+			names.add("t" + i);
+			references.put("t" + i, i + 1 < depth ? List.of("t" + (i + 1)) : List.of());
+		}
+
+		List<String> ordered = TableDependencyOrder.of(names, name -> name, references::get).ordered();
+
+		assertEquals(depth, ordered.size());
+		assertEquals("t" + (depth - 1), ordered.get(0));
+		assertEquals("t0", ordered.get(depth - 1));
+	}
+
+	private static TableDependencyOrder<String> order(Map<String, List<String>> references, String... tables) {
+		return TableDependencyOrder.of(List.of(tables), name -> name, references::get);
+	}
+}